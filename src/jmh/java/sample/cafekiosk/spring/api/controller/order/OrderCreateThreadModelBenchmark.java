@@ -0,0 +1,161 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.config.VirtualThreads;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * POST /api/v1/orders/new 를 높은 동시성으로 호출해서 platform thread / virtual thread 처리량을 비교한다.
+ * 1. 쿼리마다 DB_LATENCY_MILLIS 만큼 지연을 넣는다. (네트워크 너머 DB 흉내)
+ *    메일 지연은 넣지 않는다. -> 주문 API 는 MailSendClient 를 부르지 않고, 메일은 outbox worker 가 요청 밖에서 보낸다.
+ * 2. platform: Tomcat 스레드 TOMCAT_THREADS 개 < 커넥션 풀 POOL_SIZE 개 -> 스레드가 먼저 바닥난다.
+ *    virtual: 요청마다 virtual thread -> 커넥션 풀이 상한이 된다.
+ * 한 번(op)에 요청 REQUEST_COUNT 건을 CONCURRENCY 개씩 동시에 보낸다. (ms/op 가 작을수록 처리량이 높다.)
+ * virtual 은 JDK 21 이상에서만 실행할 수 있다. (./gradlew -PvirtualThreads jmh)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderCreateThreadModelBenchmark {
+
+    private static final int REQUEST_COUNT = 1_000;
+    private static final int CONCURRENCY = 200;
+    private static final int TOMCAT_THREADS = 20;
+    private static final int POOL_SIZE = 40;
+    private static final long DB_LATENCY_MILLIS = 5;
+
+    @Param({"platform", "virtual"})
+    private String threadModel;
+
+    private ServletWebServerApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtualThreads = "virtual".equals(threadModel);
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("virtual thread 는 JDK 21 이상에서만 비교할 수 있습니다.");
+        }
+
+        context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(CafeKioskApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "cafekiosk.virtual-threads.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=warn")
+                .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(new DbLatencyInjector()))
+                .run();
+
+        context.getBean(ProductRepository.class).save(Product.builder()
+                .productNumber("001")
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build());
+
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + context.getWebServer().getPort() + "/api/v1/orders/new"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productNumbers\":[\"001\"]}"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createOrders() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger successCount = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUEST_COUNT];
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            inFlight.acquire();
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, throwable) -> {
+                        if (throwable == null && response.statusCode() == 200) {
+                            successCount.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(throwable -> null).join();
+
+        if (successCount.get() != REQUEST_COUNT) {
+            throw new IllegalStateException("실패한 주문 요청이 있습니다. " + successCount.get() + "/" + REQUEST_COUNT);
+        }
+        return successCount.get();
+    }
+
+    /**
+     * DataSource 를 감싸서 prepareStatement 마다 DB_LATENCY_MILLIS 만큼 잠든다. (커넥션을 쥔 채로 대기)
+     */
+    private static class DbLatencyInjector implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return withLatency(super.getConnection());
+                }
+            };
+        }
+
+        private static Connection withLatency(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            Thread.sleep(DB_LATENCY_MILLIS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.mail.response.MailHistoryResponse;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메일 전송 이력 저장소 비교 (jpa = 내장 H2 MailSendHistory / mapped-log = 로컬 memory-mapped 로그)
+ * 미리 받는 사람 1,000명에게 10만 건을 기록해둔다.
+ * recordAll : outbox worker 처럼 100건씩 기록 (ops/s x 100 = 초당 기록 수)
+ * findAllByToEmail : 임의의 받는 사람 한 명의 하루치 이력 조회 (받는 사람당 약 100건)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class MailHistorySinkBenchmark {
+
+    private static final int PRELOAD_COUNT = 100_000;
+    private static final int RECIPIENT_COUNT = 1_000;
+    private static final int BATCH_SIZE = 100;
+    private static final String CONTENT = "주문하신 상품의 재고가 부족합니다. ".repeat(8);
+
+    @Param({"jpa", "mapped-log"})
+    private String mode;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private MailHistorySink sink;
+    private List<MailHistoryRecord> batch;
+    private LocalDateTime startDateTime;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mail-history-benchmark");
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "cafekiosk.mail.history.mode=" + mode,
+                        "cafekiosk.mail.history.directory=" + directory)
+                .run();
+        sink = context.getBean(MailHistorySinks.class).current();
+
+        startDateTime = LocalDateTime.now().minusMinutes(1);
+        List<MailHistoryRecord> records = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < PRELOAD_COUNT; i++) {
+            records.add(createRecord("to" + (i % RECIPIENT_COUNT) + "@cafekiosk.com", "재고 부족 알림 " + i));
+            if (records.size() == BATCH_SIZE) {
+                sink.recordAll(records);
+                records.clear();
+            }
+        }
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(createRecord("to" + (i % RECIPIENT_COUNT) + "@cafekiosk.com", "재고 부족 알림"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void recordAll() {
+        sink.recordAll(batch);
+    }
+
+    @Benchmark
+    public List<MailHistoryResponse> findAllByToEmail() {
+        String toEmail = "to" + ThreadLocalRandom.current().nextInt(RECIPIENT_COUNT) + "@cafekiosk.com";
+        return sink.findAllByToEmail(toEmail, startDateTime, startDateTime.plusDays(1));
+    }
+
+    private static MailHistoryRecord createRecord(String toEmail, String subject) {
+        return MailHistoryRecord.builder()
+                .fromEmail("no-reply@cafekiosk.com")
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(CONTENT)
+                .sentDateTime(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * outbox 에 쌓인 메일 100건을 worker 가 모두 보낼 때까지 걸리는 시간 (ms/op x 10 = 메일 1,000건당 초)
+ * FakeMailSendClient 는 20~40ms 지연, 20% 실패 -> 실패한 메일은 backoff 없이 다음 drain 에서 재시도한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MailOutboxDrainBenchmark {
+
+    private static final int MAIL_COUNT = 100;
+
+    private ConfigurableApplicationContext context;
+    private MailService mailService;
+    private MailOutboxWorker mailOutboxWorker;
+    private MailOutboxRepository mailOutboxRepository;
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "cafekiosk.mail.fake.enabled=true",
+                        "cafekiosk.mail.fake.latency=20ms",
+                        "cafekiosk.mail.fake.jitter=20ms",
+                        "cafekiosk.mail.fake.failure-rate=0.2",
+                        "cafekiosk.mail.outbox.max-attempts=50",
+                        "cafekiosk.mail.outbox.initial-backoff=0s",
+                        "cafekiosk.mail.outbox.poll-interval-millis=3600000")
+                .run();
+
+        mailService = context.getBean(MailService.class);
+        mailOutboxWorker = context.getBean(MailOutboxWorker.class);
+        mailOutboxRepository = context.getBean(MailOutboxRepository.class);
+        mailSendHistoryRepository = context.getBean(MailSendHistoryRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        mailOutboxRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long enqueueAndDrain() {
+        for (int i = 0; i < MAIL_COUNT; i++) {
+            mailService.enqueueMail("from@cafekiosk.com", "to" + i + "@cafekiosk.com", "제목", "내용");
+        }
+        while (mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING) > 0) {
+            mailOutboxWorker.drain();
+        }
+        return mailOutboxRepository.countByStatus(MailOutboxStatus.SENT);
+    }
+}
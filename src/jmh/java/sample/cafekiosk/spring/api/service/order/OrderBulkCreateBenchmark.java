@@ -0,0 +1,97 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 같은 주문 500건을 등록하는 시간 (single: createOrder 500번 / bulk: createOrders 1번, 내장 H2)
+ * -> bulk 는 상품/재고 조회와 재고 차감이 한 번씩이고 insert 가 JDBC batch 로 나간다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderBulkCreateBenchmark {
+
+    private static final int ORDER_COUNT = 500;
+
+    @Param({"single", "bulk"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private List<OrderCreateServiceRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn")
+                .run();
+
+        context.getBean(ProductRepository.class).saveAll(List.of(
+                createProduct("001", ProductType.BOTTLE, 1000),
+                createProduct("002", ProductType.HANDMADE, 3000)
+        ));
+        context.getBean(StockRepository.class).save(Stock.create("001", Integer.MAX_VALUE));
+
+        orderService = context.getBean(OrderService.class);
+        requests = IntStream.range(0, ORDER_COUNT)
+                .mapToObj(i -> OrderCreateServiceRequest.builder()
+                        .productNumbers(List.of("001", "002"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createOrders() {
+        if ("bulk".equals(mode)) {
+            return orderService.createOrders(requests, LocalDateTime.now()).getSuccessCount();
+        }
+
+        for (OrderCreateServiceRequest request : requests) {
+            orderService.createOrder(request, LocalDateTime.now());
+        }
+        return requests.size();
+    }
+
+    private static Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.order.response.OrderEventBatchResponse;
+import sample.cafekiosk.spring.config.OrderProperties;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderevent.OrderEventType;
+import sample.cafekiosk.spring.domain.orderevent.OrderProjection;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 journal replay (내장 H2)
+ * 주문마다 주문생성 -> 결제완료 -> 주문접수 -> 처리완료 4개 이벤트, snapshot 은 앞 90% 이벤트까지 반영해둔다.
+ * replayFromStart : snapshot 없이 이벤트 전체를 읽어서 상태를 만든다.
+ * replayFromSnapshot : snapshot 전체 + snapshot 이후 10% 이벤트
+ * readAfterSnapshot : snapshot 이후 이벤트를 소비자처럼 maxReadSize 개씩 cursor 로 읽는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class OrderEventReplayBenchmark {
+
+    private static final int EVENTS_PER_ORDER = 4;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final OrderStatus[] STATUSES = {OrderStatus.INIT, OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED, OrderStatus.COMPLETED};
+
+    @Param({"1000000", "5000000"})
+    private int eventCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderEventJournal orderEventJournal;
+    private int readSize;
+    private long snapshotCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "cafekiosk.order.journal.snapshot-interval-millis=" + Long.MAX_VALUE)
+                .run();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        orderEventJournal = context.getBean(OrderEventJournal.class);
+        readSize = context.getBean(OrderProperties.class).getJournal().getMaxReadSize();
+
+        int orderCount = eventCount / EVENTS_PER_ORDER;
+        int snapshotOrderCount = orderCount / 10 * 9;
+        insertEvents(jdbcTemplate, 1, snapshotOrderCount);
+        orderEventJournal.snapshot();
+        snapshotCursor = orderEventJournal.getCursor(OrderEventJournal.SNAPSHOT_CONSUMER);
+        insertEvents(jdbcTemplate, snapshotOrderCount + 1, orderCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderProjection replayFromStart() {
+        return orderEventJournal.replayAllFromStart();
+    }
+
+    @Benchmark
+    public OrderProjection replayFromSnapshot() {
+        return orderEventJournal.replayAll();
+    }
+
+    @Benchmark
+    public long readAfterSnapshot() {
+        long cursor = snapshotCursor;
+        long readCount = 0;
+        OrderEventBatchResponse response;
+        do {
+            response = orderEventJournal.read(cursor, readSize);
+            cursor = response.getNextCursor();
+            readCount += response.getEvents().size();
+        } while (response.getEvents().size() == readSize);
+        return readCount;
+    }
+
+    /**
+     * 주문 id 순으로 이벤트 id 를 매긴다. (주문 [fromOrderId, toOrderId] 의 이벤트)
+     */
+    private static void insertEvents(JdbcTemplate jdbcTemplate, long fromOrderId, long toOrderId) {
+        Timestamp recordedDateTime = Timestamp.valueOf(LocalDateTime.of(2023, 3, 5, 10, 0));
+        List<Object[]> events = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (long orderId = fromOrderId; orderId <= toOrderId; orderId++) {
+            long firstEventId = (orderId - 1) * EVENTS_PER_ORDER + 1;
+            events.add(new Object[]{firstEventId, orderId, OrderEventType.ORDER_CREATED.name(), OrderStatus.INIT.name(), null, 4000, "001:1:4000", recordedDateTime});
+            for (int i = 1; i < EVENTS_PER_ORDER; i++) {
+                events.add(new Object[]{firstEventId + i, orderId, OrderEventType.STATUS_CHANGED.name(), STATUSES[i].name(), STATUSES[i - 1].name(), null, null, recordedDateTime});
+            }
+
+            if (events.size() >= INSERT_BATCH_SIZE) {
+                flush(jdbcTemplate, events);
+            }
+        }
+        flush(jdbcTemplate, events);
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> events) {
+        jdbcTemplate.batchUpdate("insert into order_event (id, order_id, event_type, order_status, previous_status, total_price, detail, recorded_date_time) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?)", events);
+        events.clear();
+    }
+}
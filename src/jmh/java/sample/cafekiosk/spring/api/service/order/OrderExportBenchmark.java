@@ -0,0 +1,189 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 100만 건 내보내기 (내장 H2)
+ * ./gradlew jmh -> peakHeapMb 가 주문 수가 아니라 pageSize 에 비례하는지 확인한다.
+ * (전체를 한 번에 읽으면 주문 수에 비례해서 늘어난다.)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class OrderExportBenchmark {
+
+    private static final int ORDER_COUNT = 1_000_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final LocalDate START_DATE = LocalDate.of(2023, 3, 1);
+
+    @Param({"500", "5000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderExportService orderExportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "cafekiosk.order.export.page-size=" + pageSize)
+                .run();
+
+        List<Product> products = context.getBean(ProductRepository.class).saveAll(List.of(
+                createProduct("001", ProductType.HANDMADE, 4000),
+                createProduct("002", ProductType.BOTTLE, 2000),
+                createProduct("003", ProductType.BAKERY, 3500)
+        ));
+        insertOrders(context.getBean(JdbcTemplate.class), products);
+
+        orderExportService = context.getBean(OrderExportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounter {
+
+        // 내보내는 동안 heap 사용량의 최고치 (MB)
+        public long peakHeapMb;
+
+        // 내보낸 바이트 수 (MB)
+        public long exportedMb;
+    }
+
+    @Benchmark
+    public void exportNdjson(HeapCounter counter) {
+        export(OrderExportFormat.NDJSON, counter);
+    }
+
+    @Benchmark
+    public void exportCsv(HeapCounter counter) {
+        export(OrderExportFormat.CSV, counter);
+    }
+
+    private void export(OrderExportFormat format, HeapCounter counter) {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        CountingOutputStream out = new CountingOutputStream();
+        orderExportService.export(format, START_DATE, START_DATE.plusYears(1), null, out);
+
+        long peakHeapBytes = heapPools.stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        counter.peakHeapMb = peakHeapBytes / (1024 * 1024);
+        counter.exportedMb = out.count / (1024 * 1024);
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+        return heapPools;
+    }
+
+    /**
+     * 주문마다 상품 1~3개, 등록일시는 1분 간격 (같은 시각 주문도 섞이도록 3건씩 같은 시각)
+     */
+    private static void insertOrders(JdbcTemplate jdbcTemplate, List<Product> products) {
+        LocalDateTime registeredDateTime = START_DATE.atStartOfDay();
+        List<Object[]> orders = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<Object[]> orderProducts = new ArrayList<>(INSERT_BATCH_SIZE * 2);
+        long orderProductId = 1;
+
+        for (long orderId = 1; orderId <= ORDER_COUNT; orderId++) {
+            Timestamp timestamp = Timestamp.valueOf(registeredDateTime.plusMinutes(orderId / 3));
+            int lineCount = (int) (orderId % products.size()) + 1;
+            int totalPrice = 0;
+            for (int i = 0; i < lineCount; i++) {
+                Product product = products.get(i);
+                totalPrice += product.getPrice();
+                orderProducts.add(new Object[]{orderProductId++, orderId, product.getId(), 1, product.getPrice()});
+            }
+            orders.add(new Object[]{orderId, "INIT", totalPrice, timestamp});
+
+            if (orders.size() == INSERT_BATCH_SIZE) {
+                flush(jdbcTemplate, orders, orderProducts);
+            }
+        }
+        flush(jdbcTemplate, orders, orderProducts);
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> orders, List<Object[]> orderProducts) {
+        jdbcTemplate.batchUpdate("insert into orders (id, order_status, total_price, registered_date_time) values (?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("insert into order_product (id, order_id, product_id, quantity, unit_price) values (?, ?, ?, ?, ?)", orderProducts);
+        orders.clear();
+        orderProducts.clear();
+    }
+
+    private static Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .price(price)
+                .build();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
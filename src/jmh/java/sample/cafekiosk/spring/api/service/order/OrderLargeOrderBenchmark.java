@@ -0,0 +1,136 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderLineServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단체 주문(상품 3종 x quantity 개) 생성 end-to-end (내장 H2)
+ * 처리량과 함께 주문 1건당 order_product insert 수, 응답 JSON 크기를 trial 끝에 출력한다.
+ * legacy 값은 상품 1개당 OrderProduct 1줄, 응답에 ProductResponse 1개씩 내려주던 이전 모델을 같은 주문으로 계산한 것
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderLargeOrderBenchmark {
+
+    // 상품 한 종류당 주문 수량
+    @Param({"1", "10", "100"})
+    private int quantity;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private ObjectMapper objectMapper;
+    private Statistics statistics;
+    private OrderCreateServiceRequest request;
+    private List<Product> products;
+
+    private long orderCount;
+    private long responseBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "spring.jpa.properties.hibernate.generate_statistics=true")
+                .run();
+
+        // 재고 차감 비용은 빼고 주문 라인 insert 만 보기 위해 재고 없는 제조 음료만 주문한다.
+        products = context.getBean(ProductRepository.class).saveAll(List.of(
+                createProduct("001", 4000),
+                createProduct("002", 4500),
+                createProduct("003", 5000)
+        ));
+
+        orderService = context.getBean(OrderService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        request = OrderCreateServiceRequest.builder()
+                .lines(List.of(
+                        OrderLineServiceRequest.of("001", quantity),
+                        OrderLineServiceRequest.of("002", quantity),
+                        OrderLineServiceRequest.of("003", quantity)
+                ))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws JsonProcessingException {
+        long insertCount = statistics.getEntityStatistics(OrderProduct.class.getName()).getInsertCount();
+        System.out.printf("%n>>> quantity %d : order_product insert/order %.1f (legacy %d), response bytes/order %.0f (legacy %d)%n",
+                quantity,
+                (double) insertCount / orderCount, products.size() * quantity,
+                (double) responseBytes / orderCount, legacyResponseBytes());
+
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() throws JsonProcessingException {
+        OrderResponse orderResponse = orderService.createOrder(request, LocalDateTime.now());
+
+        orderCount++;
+        responseBytes += objectMapper.writeValueAsBytes(orderResponse).length;
+        return orderResponse;
+    }
+
+    private int legacyResponseBytes() throws JsonProcessingException {
+        List<ProductResponse> expanded = new ArrayList<>(products.size() * quantity);
+        for (Product product : products) {
+            for (int i = 0; i < quantity; i++) {
+                expanded.add(ProductResponse.of(product));
+            }
+        }
+        return objectMapper.writeValueAsBytes(Map.of(
+                "id", 1L,
+                "totalPrice", 0,
+                "registeredDateTime", LocalDateTime.now(),
+                "products", expanded
+        )).length;
+    }
+
+    private static Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .price(price)
+                .build();
+    }
+}
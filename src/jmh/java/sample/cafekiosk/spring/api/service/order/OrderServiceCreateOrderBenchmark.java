@@ -0,0 +1,119 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.createOrder end-to-end (상품 캐시 + 재고 차감 + 주문 insert, 내장 H2)
+ * lowWatermark - none: 기준 없음 / armed: 기준은 있지만 넘지 않음 / detected: 매 차감마다 기준 이하
+ * -> 재고 부족 감지는 차감 update 안의 case 절이라 세 경우의 처리량 차이가 오차 범위 안이어야 한다.
+ * createOrderWithColdProductCache 는 매번 상품 캐시를 비워서 상품 조회까지 포함한 처리량 (warm 과 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderServiceCreateOrderBenchmark {
+
+    @Param({"none", "armed", "detected"})
+    private String lowWatermark;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private ProductCache productCache;
+    private OrderCreateServiceRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn")
+                .run();
+
+        context.getBean(ProductRepository.class).saveAll(List.of(
+                createProduct("001", ProductType.HANDMADE, 4000),
+                createProduct("002", ProductType.BOTTLE, 2000),
+                createProduct("003", ProductType.BAKERY, 3500)
+        ));
+        context.getBean(StockRepository.class).saveAll(List.of(
+                createStock("002"),
+                createStock("003")
+        ));
+
+        orderService = context.getBean(OrderService.class);
+        productCache = context.getBean(ProductCache.class);
+        request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "002", "002", "003"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public OrderResponse createOrderWithColdProductCache() {
+        productCache.invalidateAll();
+        return orderService.createOrder(request, LocalDateTime.now());
+    }
+
+    private Stock createStock(String productNumber) {
+        return Stock.builder()
+                .productNumber(productNumber)
+                .quantity(Integer.MAX_VALUE)
+                .lowWatermark(toLowWatermark())
+                .build();
+    }
+
+    private Integer toLowWatermark() {
+        switch (lowWatermark) {
+            case "armed":
+                return 0;
+            case "detected":
+                return Integer.MAX_VALUE;
+            default:
+                return null;
+        }
+    }
+
+    private static Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .price(price)
+                .build();
+    }
+}
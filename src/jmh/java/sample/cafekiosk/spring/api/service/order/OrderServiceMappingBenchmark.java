@@ -0,0 +1,66 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderLineAggregator;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * OrderService 의 DB 를 타지 않는 계산 부분
+ * 상품번호 리스트 -> 주문 라인(같은 상품번호는 수량으로 합침) -> OrderLineAggregator 매핑 (재고 상품 집계는 OrderLineAggregationBenchmark)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderServiceMappingBenchmark {
+
+    // 주문 한 건의 상품번호 수 (중복 포함)
+    @Param({"3", "30"})
+    private int orderSize;
+
+    // 서로 다른 상품 수
+    @Param({"3"})
+    private int distinctProductCount;
+
+    private OrderCreateServiceRequest request;
+    private Map<String, Product> productMap;
+    private final OrderLineAggregator orderLines = new OrderLineAggregator();
+
+    @Setup
+    public void setUp() {
+        productMap = IntStream.range(0, distinctProductCount)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i + 1))
+                        .type(ProductType.values()[i % ProductType.values().length])
+                        .sellingStatus(ProductSellingStatus.SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000 + i * 100)
+                        .build())
+                .collect(Collectors.toMap(Product::getProductNumber, Function.identity()));
+        request = OrderCreateServiceRequest.builder()
+                .productNumbers(IntStream.range(0, orderSize)
+                        .mapToObj(i -> String.format("%03d", i % distinctProductCount + 1))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Benchmark
+    public OrderLineAggregator aggregateLines() {
+        return OrderService.aggregateLines(orderLines, request.toOrderLines(), productMap);
+    }
+}
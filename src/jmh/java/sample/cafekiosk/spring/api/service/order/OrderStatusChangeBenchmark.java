@@ -0,0 +1,131 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * 결제완료 주문 10만 건 -> 주문접수 (내장 H2)
+ * bulk : update ... where id in (batchSize 개) and order_status = ? 를 batchSize 개씩
+ * perOrder : 주문마다 조회 + 상태 변경 + version 확인 update (한 건씩 트랜잭션)
+ * 매 측정 전에 모든 주문을 결제완료로 되돌린다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class OrderStatusChangeBenchmark {
+
+    private static final int ORDER_COUNT = 100_000;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    @Param({"500", "1000", "5000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderLifecycleService orderLifecycleService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "cafekiosk.order.lifecycle.batch-size=" + batchSize)
+                .run();
+
+        Product product = context.getBean(ProductRepository.class).save(Product.builder()
+                .productNumber("001")
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 001")
+                .price(4000)
+                .build());
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        insertOrders(jdbcTemplate, product);
+
+        orderLifecycleService = context.getBean(OrderLifecycleService.class);
+        orderIds = LongStream.rangeClosed(1, ORDER_COUNT).boxed().collect(Collectors.toList());
+    }
+
+    @Setup(Level.Invocation)
+    public void resetStatuses() {
+        jdbcTemplate.update("update orders set order_status = ?", OrderStatus.PAYMENY_COMPLETED.name());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderStatusChangeResponse bulk() {
+        return orderLifecycleService.changeStatuses(orderIds, OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED);
+    }
+
+    @Benchmark
+    public int perOrder() {
+        int changedCount = 0;
+        for (Long orderId : orderIds) {
+            orderLifecycleService.changeStatus(orderId, OrderStatus.RECEIVED, null);
+            changedCount++;
+        }
+        return changedCount;
+    }
+
+    private static void insertOrders(JdbcTemplate jdbcTemplate, Product product) {
+        Timestamp registeredDateTime = Timestamp.valueOf(LocalDateTime.of(2023, 3, 5, 10, 0));
+        List<Object[]> orders = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<Object[]> orderProducts = new ArrayList<>(INSERT_BATCH_SIZE);
+
+        for (long orderId = 1; orderId <= ORDER_COUNT; orderId++) {
+            orders.add(new Object[]{orderId, OrderStatus.PAYMENY_COMPLETED.name(), product.getPrice(), registeredDateTime});
+            orderProducts.add(new Object[]{orderId, orderId, product.getId(), 1, product.getPrice()});
+
+            if (orders.size() == INSERT_BATCH_SIZE) {
+                flush(jdbcTemplate, orders, orderProducts);
+            }
+        }
+        flush(jdbcTemplate, orders, orderProducts);
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> orders, List<Object[]> orderProducts) {
+        jdbcTemplate.batchUpdate("insert into orders (id, order_status, total_price, registered_date_time) values (?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("insert into order_product (id, order_id, product_id, quantity, unit_price) values (?, ?, ?, ?, ?)", orderProducts);
+        orders.clear();
+        orderProducts.clear();
+    }
+}
@@ -0,0 +1,144 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.api.service.order.response.SalesStatisticsResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 주문 300만 건, 90일 매출 통계 (내장 H2)
+ * ./gradlew jmh -> SQL(group by) 과 PARALLEL(일 단위 fork-join, parallelism 별) 의 응답 시간을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class SalesStatisticsBenchmark {
+
+    private static final int ORDER_COUNT = 3_000_000;
+    private static final int DAYS = 90;
+    private static final int PRODUCT_COUNT = 20;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final LocalDate START_DATE = LocalDate.of(2023, 3, 1);
+
+    @Param({"1", "4", "8"})
+    private int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private SalesStatisticsService salesStatisticsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "spring.datasource.hikari.maximum-pool-size=" + (parallelism + 2),
+                        "cafekiosk.order.statistics.parallelism=" + parallelism)
+                .run();
+
+        List<Product> products = context.getBean(ProductRepository.class).saveAll(IntStream.rangeClosed(1, PRODUCT_COUNT)
+                .mapToObj(i -> createProduct(String.format("%03d", i), 1000 + i * 100))
+                .collect(Collectors.toList()));
+        insertOrders(context.getBean(JdbcTemplate.class), products);
+
+        salesStatisticsService = context.getBean(SalesStatisticsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SalesStatisticsResponse sql() {
+        return getStatistics(SalesAggregationMode.SQL);
+    }
+
+    @Benchmark
+    public SalesStatisticsResponse parallel() {
+        return getStatistics(SalesAggregationMode.PARALLEL);
+    }
+
+    private SalesStatisticsResponse getStatistics(SalesAggregationMode mode) {
+        return salesStatisticsService.getStatistics(START_DATE, START_DATE.plusDays(DAYS), OrderStatus.PAYMENY_COMPLETED, 10, mode);
+    }
+
+    /**
+     * 90일에 고르게 나눠서 등록, 주문마다 상품 1~3개, 10건 중 1건은 결제완료가 아닌 주문
+     */
+    private static void insertOrders(JdbcTemplate jdbcTemplate, List<Product> products) {
+        LocalDateTime registeredDateTime = START_DATE.atStartOfDay();
+        long millisPerOrder = DAYS * 24L * 60 * 60 * 1000 / ORDER_COUNT;
+        List<Object[]> orders = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<Object[]> orderProducts = new ArrayList<>(INSERT_BATCH_SIZE * 2);
+        long orderProductId = 1;
+
+        for (long orderId = 1; orderId <= ORDER_COUNT; orderId++) {
+            Timestamp timestamp = Timestamp.valueOf(registeredDateTime.plus(orderId * millisPerOrder, ChronoUnit.MILLIS));
+            int lineCount = (int) (orderId % 3) + 1;
+            int totalPrice = 0;
+            for (int i = 0; i < lineCount; i++) {
+                Product product = products.get((int) ((orderId * 7 + i) % products.size()));
+                totalPrice += product.getPrice();
+                orderProducts.add(new Object[]{orderProductId++, orderId, product.getId(), 1, product.getPrice()});
+            }
+            String orderStatus = orderId % 10 == 0 ? OrderStatus.CANCELED.name() : OrderStatus.PAYMENY_COMPLETED.name();
+            orders.add(new Object[]{orderId, orderStatus, totalPrice, timestamp});
+
+            if (orders.size() == INSERT_BATCH_SIZE) {
+                flush(jdbcTemplate, orders, orderProducts);
+            }
+        }
+        flush(jdbcTemplate, orders, orderProducts);
+    }
+
+    private static void flush(JdbcTemplate jdbcTemplate, List<Object[]> orders, List<Object[]> orderProducts) {
+        jdbcTemplate.batchUpdate("insert into orders (id, order_status, total_price, registered_date_time) values (?, ?, ?, ?)", orders);
+        jdbcTemplate.batchUpdate("insert into order_product (id, order_id, product_id, quantity, unit_price) values (?, ?, ?, ?, ?)", orderProducts);
+        orders.clear();
+        orderProducts.clear();
+    }
+
+    private static Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가격 변경 한 건이 SSE 로 연결된 키오스크 모두에게 도착할 때까지 걸리는 시간 (실제 포트, 내장 H2)
+ * -> 마지막 클라이언트 도착 기준이므로 fan-out 지연의 최댓값에 가깝다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogStreamFanOutBenchmark {
+
+    @Param({"50", "200"})
+    private int clientCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<CompletableFuture<?>> connections = new ArrayList<>();
+    private volatile CountDownLatch receivedLatch = new CountDownLatch(0);
+    private int price = 4000;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.jpa.show-sql=false", "logging.level.root=warn")
+                .run();
+
+        context.getBean(ProductRepository.class).save(createProduct("001", price));
+        productService = context.getBean(ProductService.class);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+        for (int i = 0; i < clientCount; i++) {
+            connections.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new ProductEventSubscriber())));
+        }
+
+        CatalogStreamService catalogStreamService = context.getBean(CatalogStreamService.class);
+        while (catalogStreamService.getSubscriberCount() < clientCount) {
+            Thread.sleep(10);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connections.forEach(connection -> connection.cancel(true));
+        context.close();
+    }
+
+    @Benchmark
+    public boolean changePriceAndAwaitAllClients() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(clientCount);
+        receivedLatch = latch;
+        price = price == 4000 ? 4500 : 4000;
+        productService.changePrice("001", price);
+        return latch.await(30, TimeUnit.SECONDS);
+    }
+
+    private static Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(price)
+                .build();
+    }
+
+    /**
+     * "event:PRODUCT" 줄을 받으면 지금 기다리고 있는 latch 를 하나 줄인다.
+     */
+    private class ProductEventSubscriber implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:") && line.substring("event:".length()).trim().equals("PRODUCT")) {
+                receivedLatch.countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
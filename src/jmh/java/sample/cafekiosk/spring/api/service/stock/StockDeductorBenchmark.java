@@ -0,0 +1,66 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import sample.cafekiosk.spring.CafeKioskApplication;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 하나의 재고에 여러 스레드가 동시에 차감할 때 차감 방식별 처리량 (내장 H2)
+ * -> 같은 row 를 두고 경합하므로 conditional update 가 pessimistic lock 보다 높아야 한다.
+ * ledger 는 메모리 장부에서 예약만 하고 DB 반영은 flush 주기에 모아서 하므로 DB 왕복이 없다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class StockDeductorBenchmark {
+
+    @Param({"conditional-update", "pessimistic-lock", "ledger"})
+    private String deductionMode;
+
+    private ConfigurableApplicationContext context;
+    private StockDeductor stockDeductor;
+    private Map<String, Integer> quantities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(CafeKioskApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.show-sql=false", "logging.level.root=warn",
+                        "cafekiosk.stock.deduction-mode=" + deductionMode,
+                        "cafekiosk.stock.ledger.journal-path=build/stock-ledger-benchmark.journal")
+                .run();
+
+        context.getBean(StockRepository.class).save(Stock.create("001", Integer.MAX_VALUE));
+        stockDeductor = context.getBean(StockDeductors.class).current();
+        quantities = Map.of("001", 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void deduct() {
+        stockDeductor.deduct(quantities);
+    }
+}
@@ -0,0 +1,62 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Order.create (calculateTotalPrice 포함) / OrderResponse.of
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderBenchmark {
+
+    // 주문 한 건의 상품 수
+    @Param({"3", "30"})
+    private int productCount;
+
+    private List<Product> products;
+    private LocalDateTime registeredDateTime;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        products = IntStream.range(0, productCount)
+                .mapToObj(i -> Product.builder()
+                        .productNumber(String.format("%03d", i + 1))
+                        .type(ProductType.values()[i % ProductType.values().length])
+                        .sellingStatus(ProductSellingStatus.SELLING)
+                        .name("메뉴 " + i)
+                        .price(1000 + i * 100)
+                        .build())
+                .collect(Collectors.toList());
+        registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        order = Order.create(products, registeredDateTime);
+    }
+
+    @Benchmark
+    public Order create() {
+        return Order.create(products, registeredDateTime);
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return OrderResponse.of(order);
+    }
+}
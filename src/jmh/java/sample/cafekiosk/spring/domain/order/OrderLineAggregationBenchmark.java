@@ -0,0 +1,88 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 주문 라인 집계 (총 금액 + 재고 상품별 수량) 이전/이후 비교
+ * ./gradlew jmh -> gc 프로파일러 결과의 gc.alloc.rate.norm (bytes/op) 을 비교한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderLineAggregationBenchmark {
+
+    // 주문 한 건의 상품 수 (중복 포함)
+    @Param({"4", "40"})
+    private int orderSize;
+
+    private List<Product> products;
+    private final OrderLineAggregator orderLineAggregator = new OrderLineAggregator();
+
+    @Setup
+    public void setUp() {
+        List<Product> distinctProducts = List.of(
+                createProduct("001", ProductType.HANDMADE, 4000),
+                createProduct("002", ProductType.BOTTLE, 2000),
+                createProduct("003", ProductType.BAKERY, 3500),
+                createProduct("004", ProductType.BOTTLE, 1500)
+        );
+        products = IntStream.range(0, orderSize)
+                .mapToObj(i -> distinctProducts.get(i % distinctProducts.size()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 이전 방식: 스트림으로 재고 상품번호 리스트 -> groupingBy/counting (Long 박싱) -> Map<String, Integer> 로 복사, 총 금액은 따로 한 번 더
+     */
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        int totalPrice = products.stream()
+                .mapToInt(Product::getPrice)
+                .sum();
+        List<String> stockProductNumbers = products.stream()
+                .filter(product -> List.of(ProductType.BOTTLE, ProductType.BAKERY).contains(product.getType()))
+                .map(Product::getProductNumber)
+                .collect(Collectors.toList());
+        Map<String, Long> productCountingMap = stockProductNumbers.stream()
+                .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
+
+        blackhole.consume(totalPrice);
+        blackhole.consume(productCountingMap);
+    }
+
+    @Benchmark
+    public void aggregator(Blackhole blackhole) {
+        orderLineAggregator.aggregate(products);
+
+        blackhole.consume(orderLineAggregator.getTotalPrice());
+        orderLineAggregator.forEachStockQuantity((productNumber, quantity) -> blackhole.consume(quantity));
+        orderLineAggregator.reset();
+    }
+
+    private static Product createProduct(String productNumber, ProductType type, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 " + productNumber)
+                .price(price)
+                .build();
+    }
+}
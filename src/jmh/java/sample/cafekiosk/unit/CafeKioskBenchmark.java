@@ -0,0 +1,47 @@
+package sample.cafekiosk.unit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import sample.cafekiosk.unit.beverage.Americano;
+import sample.cafekiosk.unit.beverage.Latte;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CafeKioskBenchmark {
+
+    // 한 번에 담는 음료 잔 수
+    @Param({"1", "10", "100"})
+    private int count;
+
+    private final Americano americano = new Americano();
+    private final Latte latte = new Latte();
+    private CafeKiosk filledKiosk;
+
+    @Setup
+    public void setUp() {
+        filledKiosk = new CafeKiosk();
+        filledKiosk.add(americano, count);
+        filledKiosk.add(latte, count);
+    }
+
+    @Benchmark
+    public CafeKiosk add() {
+        CafeKiosk cafeKiosk = new CafeKiosk();
+        cafeKiosk.add(americano, count);
+        return cafeKiosk;
+    }
+
+    @Benchmark
+    public int calculateTotalPrice() {
+        return filledKiosk.calculateTotalPrice();
+    }
+}
@@ -1,27 +1,137 @@
 package sample.cafekiosk.spring.api.controller.order;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBulkCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBulkStatusChangeRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.OrderEventJournal;
+import sample.cafekiosk.spring.api.service.order.OrderExportFormat;
+import sample.cafekiosk.spring.api.service.order.OrderExportService;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.OrderLifecycleService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.SalesAggregationMode;
+import sample.cafekiosk.spring.api.service.order.SalesStatisticsService;
+import sample.cafekiosk.spring.api.service.order.response.OrderBulkCreateResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderEventBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.order.response.SalesStatisticsResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderExportService orderExportService;
+    private final SalesStatisticsService salesStatisticsService;
+    private final OrderLifecycleService orderLifecycleService;
+    private final OrderEventJournal orderEventJournal;
 
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청은 처음 만든 주문으로 응답한다.
+     */
     @PostMapping("/api/v1/orders/new")
-    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest orderCreateRequest) {
-        return ApiResponse.ok(orderService.createOrder(
+    public ApiResponse<OrderResponse> createOrder(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                  @Valid @RequestBody OrderCreateRequest orderCreateRequest) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ApiResponse.ok(orderService.createOrder(
+                    orderCreateRequest.toServiceRequest(),
+                    LocalDateTime.now()));
+        }
+
+        return ApiResponse.ok(orderIdempotencyService.createOrder(
+                idempotencyKey,
                 orderCreateRequest.toServiceRequest(),
                 LocalDateTime.now()));
     }
+
+    @PostMapping("/api/v1/orders/bulk")
+    public ApiResponse<OrderBulkCreateResponse> createOrders(@Valid @RequestBody OrderBulkCreateRequest orderBulkCreateRequest) {
+        return ApiResponse.ok(orderService.createOrders(
+                orderBulkCreateRequest.toServiceRequests(),
+                LocalDateTime.now()));
+    }
+
+    @PostMapping("/api/v1/orders/{orderId}/status")
+    public ApiResponse<OrderResponse> changeOrderStatus(@PathVariable Long orderId,
+                                                       @Valid @RequestBody OrderStatusChangeRequest request) {
+        return ApiResponse.ok(orderLifecycleService.changeStatus(orderId, request.getOrderStatus(), request.getVersion()));
+    }
+
+    /**
+     * from 상태인 주문만 to 로 바꾼다. (주문접수 / 처리완료 / 결제실패)
+     */
+    @PostMapping("/api/v1/orders/status/bulk")
+    public ApiResponse<OrderStatusChangeResponse> changeOrderStatuses(@Valid @RequestBody OrderBulkStatusChangeRequest request) {
+        return ApiResponse.ok(orderLifecycleService.changeStatuses(request.getOrderIds(), request.getFrom(), request.getTo()));
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public ApiResponse<OrderResponse> getOrder(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderService.getOrder(orderId));
+    }
+
+    @GetMapping("/api/v1/orders")
+    public ApiResponse<List<OrderResponse>> getOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate orderDate) {
+        return ApiResponse.ok(orderService.getOrders(orderDate));
+    }
+
+    /**
+     * 주문 journal 을 after(마지막으로 읽은 이벤트 id) 다음부터 size 개씩 읽는다. 다음 요청은 응답의 nextCursor 로
+     */
+    @GetMapping("/api/v1/orders/events")
+    public ApiResponse<OrderEventBatchResponse> getOrderEvents(@RequestParam(defaultValue = "0") long after,
+                                                               @RequestParam(defaultValue = "100") int size) {
+        return ApiResponse.ok(orderEventJournal.read(after, size));
+    }
+
+    /**
+     * [startDate, endDate) 주문을 NDJSON / CSV 로 내려준다. 응답은 페이지 단위로 흘려보낸다. (전체를 메모리에 만들지 않음)
+     */
+    @GetMapping("/api/v1/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                                              @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+                                                              @RequestParam(required = false) OrderStatus orderStatus) {
+        StreamingResponseBody body = out -> orderExportService.export(format, startDate, endDate, orderStatus, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, String.format("attachment; filename=\"orders-%s-%s.%s\"", startDate, endDate, format.getExtension()))
+                .body(body);
+    }
+
+    /**
+     * [startDate, endDate) 매출 통계 (합계 / 시간대별 / 상품별 / 상위 topN 상품)
+     */
+    @GetMapping("/api/v1/orders/statistics")
+    public ApiResponse<SalesStatisticsResponse> getSalesStatistics(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                                                   @RequestParam(defaultValue = "PAYMENY_COMPLETED") OrderStatus orderStatus,
+                                                                   @RequestParam(defaultValue = "5") int topN,
+                                                                   @RequestParam(defaultValue = "AUTO") SalesAggregationMode mode) {
+        return ApiResponse.ok(salesStatisticsService.getStatistics(startDate, endDate, orderStatus, topN, mode));
+    }
 }
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@NoArgsConstructor
+public class OrderBulkCreateRequest {
+
+    @NotEmpty(message = "주문 리스트는 필수입니다.")
+    @Size(max = 1000, message = "한 번에 등록할 수 있는 주문은 최대 1000건입니다.")
+    private List<@Valid OrderCreateRequest> orders;
+
+    @Builder
+    private OrderBulkCreateRequest(List<OrderCreateRequest> orders) {
+        this.orders = orders;
+    }
+
+    public List<OrderCreateServiceRequest> toServiceRequests() {
+        return orders.stream()
+                .map(OrderCreateRequest::toServiceRequest)
+                .collect(Collectors.toList());
+    }
+}
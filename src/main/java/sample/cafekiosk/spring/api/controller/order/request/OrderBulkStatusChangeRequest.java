@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class OrderBulkStatusChangeRequest {
+
+    @NotEmpty(message = "주문 id 리스트는 필수입니다.")
+    @Size(max = 100_000, message = "한 번에 변경할 수 있는 주문은 최대 100000건입니다.")
+    private List<@NotNull Long> orderIds;
+
+    @NotNull(message = "현재 주문 상태는 필수입니다.")
+    private OrderStatus from;
+
+    @NotNull(message = "변경할 주문 상태는 필수입니다.")
+    private OrderStatus to;
+
+    @Builder
+    private OrderBulkStatusChangeRequest(List<Long> orderIds, OrderStatus from, OrderStatus to) {
+        this.orderIds = orderIds;
+        this.from = from;
+        this.to = to;
+    }
+}
@@ -1,28 +1,47 @@
 package sample.cafekiosk.spring.api.controller.order.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
 
-import javax.validation.constraints.NotEmpty;
+import javax.validation.Valid;
+import javax.validation.constraints.AssertTrue;
 import java.util.List;
+import java.util.stream.Collectors;
 
+/**
+ * lines : [{productNumber, quantity}] (단체 주문처럼 같은 상품을 여러 개 주문할 때)
+ * productNumbers : 상품 하나당 수량 1, 같은 상품번호는 수량으로 합쳐진다. (이전 요청 형식)
+ * 둘 다 있으면 lines 를 사용한다.
+ */
 @Getter
 @NoArgsConstructor
 public class OrderCreateRequest {
 
-    @NotEmpty(message = "상품 번호 리스트는 필수입니다.")
     private List<String> productNumbers;
 
+    private List<@Valid OrderLineRequest> lines;
+
     @Builder
-    private OrderCreateRequest(List<String> productNumbers) {
+    private OrderCreateRequest(List<String> productNumbers, List<OrderLineRequest> lines) {
         this.productNumbers = productNumbers;
+        this.lines = lines;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "상품 번호 리스트는 필수입니다.")
+    public boolean isOrderLinesPresent() {
+        return (lines != null && !lines.isEmpty()) || (productNumbers != null && !productNumbers.isEmpty());
     }
 
     public OrderCreateServiceRequest toServiceRequest() {
         return OrderCreateServiceRequest.builder()
                 .productNumbers(productNumbers)
+                .lines(lines == null ? null : lines.stream()
+                        .map(OrderLineRequest::toServiceRequest)
+                        .collect(Collectors.toList()))
                 .build();
     }
 }
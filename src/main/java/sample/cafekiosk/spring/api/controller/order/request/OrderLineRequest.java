@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderLineServiceRequest;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+
+@Getter
+@NoArgsConstructor
+public class OrderLineRequest {
+
+    @NotBlank(message = "상품 번호는 필수입니다.")
+    private String productNumber;
+
+    @Positive(message = "주문 수량은 1개 이상이어야 합니다.")
+    @Max(value = 1000, message = "한 상품의 주문 수량은 최대 1000개입니다.")
+    private int quantity;
+
+    @Builder
+    private OrderLineRequest(String productNumber, int quantity) {
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+    }
+
+    public OrderLineServiceRequest toServiceRequest() {
+        return OrderLineServiceRequest.of(productNumber, quantity);
+    }
+}
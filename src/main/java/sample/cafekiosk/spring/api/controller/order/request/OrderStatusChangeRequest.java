@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * version : 마지막으로 조회한 주문의 version (보내면 그 사이 바뀐 주문은 변경하지 않는다.)
+ */
+@Getter
+@NoArgsConstructor
+public class OrderStatusChangeRequest {
+
+    @NotNull(message = "변경할 주문 상태는 필수입니다.")
+    private OrderStatus orderStatus;
+
+    private Long version;
+
+    @Builder
+    private OrderStatusChangeRequest(OrderStatus orderStatus, Long version) {
+        this.orderStatus = orderStatus;
+        this.version = version;
+    }
+}
@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.api.controller.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.stock.StockLedger;
+import sample.cafekiosk.spring.api.service.stock.StockLedgerCondition;
+import sample.cafekiosk.spring.api.service.stock.response.StockReconciliationResponse;
+
+import java.util.List;
+
+@Conditional(StockLedgerCondition.class)
+@RequiredArgsConstructor
+@RestController
+public class StockLedgerController {
+
+    private final StockLedger stockLedger;
+
+    @GetMapping("/api/v1/stocks/ledger/reconciliation")
+    public ApiResponse<List<StockReconciliationResponse>> reconcile() {
+        return ApiResponse.ok(stockLedger.reconcile());
+    }
+}
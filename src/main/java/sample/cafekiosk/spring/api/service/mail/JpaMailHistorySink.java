@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.mail.response.MailHistoryResponse;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MailSendHistory 테이블 (전송시각 = createdDateTime)
+ */
+@RequiredArgsConstructor
+@Component
+public class JpaMailHistorySink implements MailHistorySink {
+
+    private final MailSendHistoryRepository mailSendHistoryRepository;
+
+    @Override
+    public MailHistoryMode getMode() {
+        return MailHistoryMode.JPA;
+    }
+
+    @Override
+    public void record(MailHistoryRecord record) {
+        mailSendHistoryRepository.save(record.toHistory());
+    }
+
+    /**
+     * SEQUENCE id + hibernate.jdbc.batch_size 로 한 번에 insert 된다.
+     */
+    @Override
+    public void recordAll(List<MailHistoryRecord> records) {
+        mailSendHistoryRepository.saveAll(records.stream()
+                .map(MailHistoryRecord::toHistory)
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<MailHistoryResponse> findAllByToEmail(String toEmail, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return mailSendHistoryRepository.findAllByToEmail(toEmail, startDateTime, endDateTime).stream()
+                .map(MailHistoryResponse::of)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,385 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 메일 전송 이력 append-only 로그 (memory-mapped segment)
+ * 1. 세그먼트 파일(mail-history-{번호}.log)을 segmentSize 만큼 mmap 해두고 레코드를 이어 쓴다. 남은 공간이 모자라면 다음 세그먼트를 만든다.
+ * 2. 레코드 : [길이 int][전송시각 epoch millis long][from][to][subject][content]
+ *    문자열은 [UTF-8 바이트 수 int (null 이면 -1)][바이트]
+ *    본문을 먼저 쓰고 길이를 마지막에 쓴다. -> 쓰는 도중에 죽으면 길이가 0 으로 남고, 다시 열 때 거기까지를 로그의 끝으로 본다.
+ * 3. 받는 사람별로 (전송시각, 위치)를 시간 순으로 메모리에 들고 있다. -> 받는 사람 + 기간 조회는 이진 탐색 후 해당 레코드만 읽는다.
+ *    인덱스는 파일로 남기지 않고, 다시 열 때 세그먼트를 처음부터 읽어서 만든다.
+ * fsync 가 false 면 기록은 OS 페이지 캐시까지만 보장한다. (프로세스가 죽어도 남고, 서버가 꺼지면 마지막 기록이 빠질 수 있다.)
+ */
+public class MailHistoryLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "mail-history-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int NULL_LENGTH = -1;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, Postings> index = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long recordCount;
+
+    public MailHistoryLog(Path directory, int segmentSize, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+
+        for (Path path : findSegmentPaths()) {
+            Segment segment = Segment.open(path, segmentSize);
+            segments.add(segment);
+            scan(segments.size() - 1, segment);
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.open(segmentPath(0), segmentSize));
+        }
+    }
+
+    public void append(List<MailHistoryRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        // 인코딩은 락 밖에서 한다.
+        List<byte[]> encoded = new ArrayList<>(records.size());
+        for (MailHistoryRecord record : records) {
+            byte[] body = encode(record);
+            if (LENGTH_BYTES + body.length > segmentSize) {
+                throw new IllegalArgumentException("세그먼트보다 큰 메일 이력은 기록할 수 없습니다.");
+            }
+            encoded.add(body);
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < records.size(); i++) {
+                byte[] body = encoded.get(i);
+                Segment active = segments.get(segments.size() - 1);
+                if (!active.hasRoom(body.length)) {
+                    active.force();
+                    active = roll();
+                }
+
+                int offset = active.write(body);
+                MailHistoryRecord record = records.get(i);
+                addToIndex(record.getToEmail(), toEpochMillis(record.getSentDateTime()), position(segments.size() - 1, offset));
+            }
+
+            if (fsync) {
+                segments.get(segments.size() - 1).force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 받는 사람의 [startDateTime, endDateTime) 이력, 전송시각 순
+     */
+    public List<MailHistoryRecord> findAllByToEmail(String toEmail, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        long startMillis = toEpochMillis(startDateTime);
+        long endMillis = toEpochMillis(endDateTime);
+
+        lock.readLock().lock();
+        try {
+            Postings postings = index.get(toEmail);
+            if (postings == null) {
+                return List.of();
+            }
+
+            List<MailHistoryRecord> records = new ArrayList<>();
+            for (int i = postings.lowerBound(startMillis); i < postings.size && postings.sentMillis[i] < endMillis; i++) {
+                records.add(read(postings.positions[i]));
+            }
+            return records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return recordCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            segments.forEach(Segment::close);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Segment roll() {
+        Segment segment = Segment.open(segmentPath(segments.size()), segmentSize);
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * 다시 열 때 세그먼트의 레코드를 처음부터 읽어서 인덱스와 쓰기 위치를 되살린다.
+     */
+    private void scan(int segmentNumber, Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        while (offset + LENGTH_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + LENGTH_BYTES + length > buffer.capacity()) {
+                break;
+            }
+
+            ByteBuffer view = view(buffer, offset + LENGTH_BYTES);
+            long sentMillis = view.getLong();
+            skipString(view);
+            addToIndex(readString(view), sentMillis, position(segmentNumber, offset));
+            offset += LENGTH_BYTES + length;
+        }
+        segment.writePosition = offset;
+    }
+
+    private void addToIndex(String toEmail, long sentMillis, long position) {
+        index.computeIfAbsent(toEmail, key -> new Postings()).add(sentMillis, position);
+        recordCount++;
+    }
+
+    private MailHistoryRecord read(long position) {
+        Segment segment = segments.get((int) (position >>> 32));
+        ByteBuffer view = view(segment.buffer, (int) position + LENGTH_BYTES);
+
+        long sentMillis = view.getLong();
+        return MailHistoryRecord.builder()
+                .sentDateTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(sentMillis), ZoneOffset.UTC))
+                .fromEmail(readString(view))
+                .toEmail(readString(view))
+                .subject(readString(view))
+                .content(readString(view))
+                .build();
+    }
+
+    private static byte[] encode(MailHistoryRecord record) {
+        byte[] from = toBytes(record.getFromEmail());
+        byte[] to = toBytes(record.getToEmail());
+        byte[] subject = toBytes(record.getSubject());
+        byte[] content = toBytes(record.getContent());
+
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + sizeOf(from) + sizeOf(to) + sizeOf(subject) + sizeOf(content));
+        buffer.putLong(toEpochMillis(record.getSentDateTime()));
+        putString(buffer, from);
+        putString(buffer, to);
+        putString(buffer, subject);
+        putString(buffer, content);
+        return buffer.array();
+    }
+
+    private static byte[] toBytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readString(ByteBuffer view) {
+        int length = view.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer view) {
+        int length = view.getInt();
+        if (length != NULL_LENGTH) {
+            view.position(view.position() + length);
+        }
+    }
+
+    private static ByteBuffer view(ByteBuffer buffer, int offset) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        return view;
+    }
+
+    // 상위 32비트 : 세그먼트 번호, 하위 32비트 : 세그먼트 안의 위치
+    private static long position(int segmentNumber, int offset) {
+        return ((long) segmentNumber << 32) | offset;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private List<Path> findSegmentPaths() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> paths = Files.list(directory)) {
+                return paths
+                        .filter(path -> {
+                            String fileName = path.getFileName().toString();
+                            return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+                        })
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 번호를 0 으로 채워서 파일 이름 순서 = 세그먼트 순서
+    private Path segmentPath(int segmentNumber) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+    }
+
+    private static class Segment {
+
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, int segmentSize) {
+            try {
+                FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                long size = Math.max(channel.size(), segmentSize);
+                return new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        boolean hasRoom(int bodyLength) {
+            return writePosition + LENGTH_BYTES + bodyLength <= buffer.capacity();
+        }
+
+        int write(byte[] body) {
+            int offset = writePosition;
+            view(buffer, offset + LENGTH_BYTES).put(body);
+            buffer.putInt(offset, body.length);
+            writePosition = offset + LENGTH_BYTES + body.length;
+            return offset;
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 받는 사람 한 명의 (전송시각, 위치) 목록, 전송시각 순
+     */
+    private static class Postings {
+
+        private long[] sentMillis = new long[4];
+        private long[] positions = new long[4];
+        private int size;
+
+        /**
+         * 동시에 전송된 메일은 기록 순서와 전송시각이 조금 어긋날 수 있어서 뒤에서부터 자리를 찾아 넣는다.
+         */
+        void add(long millis, long position) {
+            if (size == sentMillis.length) {
+                sentMillis = Arrays.copyOf(sentMillis, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+
+            int i = size;
+            while (i > 0 && sentMillis[i - 1] > millis) {
+                sentMillis[i] = sentMillis[i - 1];
+                positions[i] = positions[i - 1];
+                i--;
+            }
+            sentMillis[i] = millis;
+            positions[i] = position;
+            size++;
+        }
+
+        /**
+         * millis 이상인 첫 번째 위치
+         */
+        int lowerBound(long millis) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sentMillis[mid] < millis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MailHistoryMode {
+
+    JPA("MailSendHistory 테이블에 insert"),
+    MAPPED_LOG("로컬 memory-mapped 로그에 append");
+
+    private final String text;
+}
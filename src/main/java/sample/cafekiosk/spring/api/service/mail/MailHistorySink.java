@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import sample.cafekiosk.spring.api.service.mail.response.MailHistoryResponse;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 전송에 성공한 메일 이력을 저장하고 조회한다.
+ */
+public interface MailHistorySink {
+
+    MailHistoryMode getMode();
+
+    void record(MailHistoryRecord record);
+
+    void recordAll(List<MailHistoryRecord> records);
+
+    /**
+     * 받는 사람의 [startDateTime, endDateTime) 전송 이력, 전송시각 순
+     */
+    List<MailHistoryResponse> findAllByToEmail(String toEmail, LocalDateTime startDateTime, LocalDateTime endDateTime);
+}
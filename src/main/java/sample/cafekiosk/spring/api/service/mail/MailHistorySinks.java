@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.config.MailProperties;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 설정(cafekiosk.mail.history.mode)에 따라 메일 이력을 저장할 곳을 골라준다.
+ */
+@Component
+public class MailHistorySinks {
+
+    private final Map<MailHistoryMode, MailHistorySink> sinks = new EnumMap<>(MailHistoryMode.class);
+    private final MailProperties mailProperties;
+
+    public MailHistorySinks(List<MailHistorySink> sinks, MailProperties mailProperties) {
+        sinks.forEach(sink -> this.sinks.put(sink.getMode(), sink));
+        this.mailProperties = mailProperties;
+    }
+
+    public MailHistorySink current() {
+        return get(mailProperties.getHistory().getMode());
+    }
+
+    public MailHistorySink get(MailHistoryMode mode) {
+        MailHistorySink sink = sinks.get(mode);
+        if (sink == null) {
+            throw new IllegalStateException("사용할 수 없는 메일 이력 저장 방식입니다. mode=" + mode);
+        }
+        return sink;
+    }
+}
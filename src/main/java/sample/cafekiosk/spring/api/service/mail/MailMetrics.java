@@ -0,0 +1,40 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 메일 전송 시간과 결과 (cafekiosk.mail.send{channel, result})
+ * channel : direct (MailService.sendMail) / outbox (MailOutboxWorker)
+ * result  : success / failure (메일 서버가 false) / error (예외)
+ */
+@Component
+public class MailMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public MailMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean recordSend(String channel, BooleanSupplier send) {
+        long startNanos = System.nanoTime();
+        String result = "error";
+        try {
+            boolean sent = send.getAsBoolean();
+            result = sent ? "success" : "failure";
+            return sent;
+        } finally {
+            Timer.builder("cafekiosk.mail.send")
+                    .description("메일 전송 소요 시간")
+                    .tag("channel", channel)
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
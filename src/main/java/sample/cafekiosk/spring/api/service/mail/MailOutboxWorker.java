@@ -0,0 +1,215 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.config.MailProperties;
+import sample.cafekiosk.spring.config.VirtualThreads;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * mail outbox 전송 worker
+ * 1. PENDING 이면서 재시도 시간이 된 메일을 batchSize 만큼 SENDING 으로 claim 한다. (조건부 update)
+ * 2. claim 한 메일을 트랜잭션 밖에서 동시에 전송한다. (동시 전송 수는 concurrency 로 제한)
+ * 3. 결과를 한 트랜잭션에서 반영한다. 성공 -> SENT + 전송 이력 저장 (MailHistorySinks), 실패 -> 지수 백오프 후 재시도
+ *    -> SENDING + 내 claimToken 인 row 만 조건부 update 한다. 전송이 sendingTimeout 보다 오래 걸려서 다른 worker 가 다시 가져간 메일은 건너뛴다.
+ */
+@Slf4j
+@Component
+public class MailOutboxWorker {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailHistorySinks mailHistorySinks;
+    private final MailSendClient mailSendClient;
+    private final MailMetrics mailMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final MailProperties.Outbox properties;
+
+    private final ExecutorService executorService;
+    private final Semaphore sendPermits;
+
+    public MailOutboxWorker(MailOutboxRepository mailOutboxRepository,
+                            MailHistorySinks mailHistorySinks,
+                            MailSendClient mailSendClient,
+                            MailMetrics mailMetrics,
+                            PlatformTransactionManager transactionManager,
+                            MailProperties mailProperties) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailHistorySinks = mailHistorySinks;
+        this.mailSendClient = mailSendClient;
+        this.mailMetrics = mailMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = mailProperties.getOutbox();
+        this.executorService = createExecutorService(properties.getConcurrency());
+        this.sendPermits = new Semaphore(properties.getConcurrency());
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.mail.outbox.poll-interval-millis:500}")
+    public void drain() {
+        releaseStaleClaims();
+
+        // batch 가 꽉 찼으면 밀린 메일이 더 있다는 뜻이므로 다음 주기까지 기다리지 않는다.
+        int drained;
+        do {
+            drained = drainOnce();
+        } while (drained == properties.getBatchSize());
+    }
+
+    /**
+     * @return 이번에 claim 해서 처리한 메일 수
+     */
+    public int drainOnce() {
+        String claimToken = UUID.randomUUID().toString();
+        List<MailOutbox> claimed = claim(claimToken);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Boolean> results = sendAll(claimed);
+        complete(claimToken, claimed, results);
+
+        return claimed.size();
+    }
+
+    private void releaseStaleClaims() {
+        LocalDateTime claimedBefore = LocalDateTime.now().minus(properties.getSendingTimeout());
+        Integer released = transactionTemplate.execute(status -> mailOutboxRepository.releaseStaleClaims(claimedBefore));
+        if (released != null && released > 0) {
+            log.warn("전송 중 멈춘 메일 {}건을 다시 PENDING 으로 돌립니다.", released);
+        }
+    }
+
+    private List<MailOutbox> claim(String claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = mailOutboxRepository.findReadyIds(now, PageRequest.of(0, properties.getBatchSize()));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+
+            mailOutboxRepository.claim(ids, claimToken, now);
+            return mailOutboxRepository.findAllByStatusAndClaimToken(MailOutboxStatus.SENDING, claimToken);
+        });
+    }
+
+    private Map<Long, Boolean> sendAll(List<MailOutbox> mails) {
+        Map<Long, Future<Boolean>> futures = new HashMap<>();
+        for (MailOutbox mail : mails) {
+            futures.put(mail.getId(), executorService.submit(() -> send(mail)));
+        }
+
+        Map<Long, Boolean> results = new HashMap<>();
+        futures.forEach((id, future) -> results.put(id, await(future)));
+        return results;
+    }
+
+    private boolean send(MailOutbox mail) throws InterruptedException {
+        sendPermits.acquire();
+        try {
+            return mailMetrics.recordSend("outbox",
+                    () -> mailSendClient.sendMail(mail.getFromEmail(), mail.getToEmail(), mail.getSubject(), mail.getContent()));
+        } catch (RuntimeException e) {
+            log.warn("메일 전송 실패 id={}, attempts={}", mail.getId(), mail.getAttempts() + 1, e);
+            return false;
+        } finally {
+            sendPermits.release();
+        }
+    }
+
+    private static boolean await(Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private void complete(String claimToken, List<MailOutbox> mails, Map<Long, Boolean> results) {
+        LocalDateTime now = LocalDateTime.now();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<MailHistoryRecord> histories = new ArrayList<>();
+            int failCount = 0;
+            int skipCount = 0;
+            for (MailOutbox mail : mails) {
+                if (results.get(mail.getId())) {
+                    if (mailOutboxRepository.markSent(mail.getId(), claimToken) == 0) {
+                        skipCount++;
+                        continue;
+                    }
+                    histories.add(MailHistoryRecord.builder()
+                            .fromEmail(mail.getFromEmail())
+                            .toEmail(mail.getToEmail())
+                            .subject(mail.getSubject())
+                            .content(mail.getContent())
+                            .sentDateTime(now)
+                            .build());
+                    continue;
+                }
+
+                // claim 때 읽은(영속성 컨텍스트 밖) 엔티티로 다음 상태만 계산하고, 반영은 조건부 update 로 한다.
+                mail.markFailed(now, properties.getMaxAttempts(), properties.getInitialBackoff(), properties.getMaxBackoff());
+                if (mailOutboxRepository.markFailed(mail.getId(), claimToken, mail.getStatus(), mail.getAttempts(), mail.getNextAttemptAt()) == 0) {
+                    skipCount++;
+                    continue;
+                }
+                failCount++;
+            }
+
+            // jpa 면 SEQUENCE id + hibernate.jdbc.batch_size 로 한 번에 insert 된다.
+            mailHistorySinks.current().recordAll(histories);
+
+            if (skipCount > 0) {
+                log.warn("claim 이 풀려서 다른 worker 가 다시 가져간 메일 {}건은 결과를 반영하지 않습니다.", skipCount);
+            }
+            log.debug("메일 outbox 처리 sent={}, failed={}, skipped={}", histories.size(), failCount, skipCount);
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executorService.shutdown();
+    }
+
+    /**
+     * JDK 21 이상이면 virtual thread, 아니면 concurrency 크기의 고정 스레드풀
+     * -> 메일 전송은 대부분 네트워크 대기라서 virtual thread 가 유리하다. (동시 전송 수는 sendPermits 로 제한)
+     */
+    private static ExecutorService createExecutorService(int concurrency) {
+        if (VirtualThreads.isSupported()) {
+            return VirtualThreads.newVirtualThreadPerTaskExecutor();
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
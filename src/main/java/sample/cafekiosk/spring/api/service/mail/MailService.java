@@ -2,25 +2,33 @@ package sample.cafekiosk.spring.api.service.mail;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import sample.cafekiosk.spring.api.service.mail.response.MailHistoryResponse;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RequiredArgsConstructor
 @Service
 public class MailService {
 
     private final MailSendClient mailSendClient;
-    private final MailSendHistoryRepository mailSendHistoryRepository;
+    private final MailHistorySinks mailHistorySinks;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailMetrics mailMetrics;
 
     public boolean sendMail(String fromEmail, String toEmail, String subject, String content) {
-        boolean result = mailSendClient.sendMail(fromEmail, toEmail, subject, content);
+        boolean result = mailMetrics.recordSend("direct", () -> mailSendClient.sendMail(fromEmail, toEmail, subject, content));
         if (result) {
-            mailSendHistoryRepository.save(MailSendHistory.builder()
+            mailHistorySinks.current().record(MailHistoryRecord.builder()
                     .fromEmail(fromEmail)
                     .toEmail(toEmail)
                     .subject(subject)
                     .content(content)
+                    .sentDateTime(LocalDateTime.now())
                     .build()
             );
 
@@ -33,4 +41,20 @@ public class MailService {
 
         return false;
     }
+
+    /**
+     * 메일 서버를 기다리지 않고 outbox 에 저장만 한다. -> MailOutboxWorker 가 전송, 재시도, 이력 저장을 한다.
+     * 호출한 트랜잭션이 롤백되면 메일도 나가지 않는다.
+     */
+    public Long enqueueMail(String fromEmail, String toEmail, String subject, String content) {
+        MailOutbox mailOutbox = MailOutbox.create(fromEmail, toEmail, subject, content, LocalDateTime.now());
+        return mailOutboxRepository.save(mailOutbox).getId();
+    }
+
+    /**
+     * 받는 사람의 [startDateTime, endDateTime) 전송 이력 (cafekiosk.mail.history.mode 로 설정한 저장소에서 읽는다.)
+     */
+    public List<MailHistoryResponse> getHistories(String toEmail, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return mailHistorySinks.current().findAllByToEmail(toEmail, startDateTime, endDateTime);
+    }
 }
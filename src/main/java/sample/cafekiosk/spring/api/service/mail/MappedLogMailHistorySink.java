@@ -0,0 +1,61 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.service.mail.response.MailHistoryResponse;
+import sample.cafekiosk.spring.config.MailProperties;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 로컬 memory-mapped 로그 (MailHistoryLog)
+ * 서버마다 자기 로컬 로그에만 쓰므로, 조회도 그 서버에서 보낸 메일만 보인다.
+ * DB 트랜잭션과 묶이지 않는다. -> 이력은 메일이 실제로 나간 사실이므로 트랜잭션이 롤백되어도 남긴다.
+ */
+@ConditionalOnProperty(prefix = "cafekiosk.mail.history", name = "mode", havingValue = "mapped-log")
+@Component
+public class MappedLogMailHistorySink implements MailHistorySink {
+
+    private final MailHistoryLog mailHistoryLog;
+
+    public MappedLogMailHistorySink(MailProperties mailProperties) {
+        MailProperties.History properties = mailProperties.getHistory();
+        this.mailHistoryLog = new MailHistoryLog(
+                Paths.get(properties.getDirectory()),
+                Math.toIntExact(properties.getSegmentSize().toBytes()),
+                properties.isFsync()
+        );
+    }
+
+    @Override
+    public MailHistoryMode getMode() {
+        return MailHistoryMode.MAPPED_LOG;
+    }
+
+    @Override
+    public void record(MailHistoryRecord record) {
+        mailHistoryLog.append(List.of(record));
+    }
+
+    @Override
+    public void recordAll(List<MailHistoryRecord> records) {
+        mailHistoryLog.append(records);
+    }
+
+    @Override
+    public List<MailHistoryResponse> findAllByToEmail(String toEmail, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return mailHistoryLog.findAllByToEmail(toEmail, startDateTime, endDateTime).stream()
+                .map(MailHistoryResponse::of)
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void close() {
+        mailHistoryLog.close();
+    }
+}
@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.api.service.mail.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class MailHistoryResponse {
+
+    private String fromEmail;
+    private String toEmail;
+    private String subject;
+    private String content;
+    private LocalDateTime sentDateTime;
+
+    @Builder
+    private MailHistoryResponse(String fromEmail, String toEmail, String subject, String content, LocalDateTime sentDateTime) {
+        this.fromEmail = fromEmail;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.content = content;
+        this.sentDateTime = sentDateTime;
+    }
+
+    public static MailHistoryResponse of(MailSendHistory history) {
+        return MailHistoryResponse.builder()
+                .fromEmail(history.getFromEmail())
+                .toEmail(history.getToEmail())
+                .subject(history.getSubject())
+                .content(history.getContent())
+                .sentDateTime(history.getCreatedDateTime())
+                .build();
+    }
+
+    public static MailHistoryResponse of(MailHistoryRecord record) {
+        return MailHistoryResponse.builder()
+                .fromEmail(record.getFromEmail())
+                .toEmail(record.getToEmail())
+                .subject(record.getSubject())
+                .content(record.getContent())
+                .sentDateTime(record.getSentDateTime())
+                .build();
+    }
+}
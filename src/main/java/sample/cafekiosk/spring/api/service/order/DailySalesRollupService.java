@@ -0,0 +1,169 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesSummary;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.orderproduct.ProductSalesSummary;
+import sample.cafekiosk.spring.domain.sales.DailyProductSales;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollup;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollupRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 일자별 매출 집계
+ * orderStatus 집계 = 그 상태를 거쳐 간 주문 중 취소되지 않은 주문 (OrderStatus#withLaterStatuses)
+ * -> 결제완료 매출은 주문접수/처리완료로 넘어가도 그대로 남고, 취소되면 빠진다. 누적과 backfill 이 같은 기준으로 계산한다.
+ * - record() : 주문이 결제완료 될 때 집계 row 에 금액/건수/상품별 수량을 누적한다. (집계 row 가 없는 날짜는 먼저 backfill)
+ * - cancel() : 누적했던 주문이 취소되면 누적한 만큼 뺀다.
+ * - getOrBackfill() : 집계 row 가 없는 날짜는 sum/count 쿼리로 계산하고, 마감된 날짜라면 저장해둔다.
+ */
+@Transactional
+@Service
+public class DailySalesRollupService {
+
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final TransactionTemplate requiresNewTransaction;
+
+    public DailySalesRollupService(DailySalesRollupRepository dailySalesRollupRepository,
+                                   DailyProductSalesRepository dailyProductSalesRepository,
+                                   OrderRepository orderRepository,
+                                   OrderProductRepository orderProductRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.dailySalesRollupRepository = dailySalesRollupRepository;
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.orderRepository = orderRepository;
+        this.orderProductRepository = orderProductRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void record(Order order) {
+        LocalDate salesDate = order.getRegisteredDateTime().toLocalDate();
+        OrderStatus orderStatus = order.getOrderStatus();
+
+        backfillIfAbsent(salesDate, orderStatus);
+        countByProduct(order.getOrderProducts()).keySet()
+                .forEach(productNumber -> createProductSalesIfAbsent(salesDate, orderStatus, productNumber));
+        accumulate(order, orderStatus, 1);
+    }
+
+    /**
+     * recordedStatus 로 누적했던 주문이 취소되면 그만큼 뺀다. (집계 row 가 없는 날짜는 backfill 이 취소된 주문을 빼고 계산한다.)
+     */
+    public void cancel(Order order, OrderStatus recordedStatus) {
+        accumulate(order, recordedStatus, -1);
+    }
+
+    public DailySalesRollup getOrBackfill(LocalDate salesDate, OrderStatus orderStatus) {
+        return dailySalesRollupRepository.findBySalesDateAndOrderStatus(salesDate, orderStatus)
+                .orElseGet(() -> backfill(salesDate, orderStatus));
+    }
+
+    public List<DailyProductSales> getProductSales(LocalDate salesDate, OrderStatus orderStatus) {
+        return dailyProductSalesRepository.findAllBySalesDateAndOrderStatus(salesDate, orderStatus);
+    }
+
+    private DailySalesRollup backfill(LocalDate salesDate, OrderStatus orderStatus) {
+        // 오늘 날짜는 아직 주문이 쌓이는 중이므로 계산만 하고 저장하지 않는다.
+        if (!salesDate.isBefore(LocalDate.now())) {
+            return calculate(salesDate, orderStatus);
+        }
+        return saveBackfill(salesDate, orderStatus);
+    }
+
+    private DailySalesRollup calculate(LocalDate salesDate, OrderStatus orderStatus) {
+        OrderSalesSummary summary = orderRepository.sumSalesByStatusIn(
+                salesDate.atStartOfDay(), salesDate.plusDays(1).atStartOfDay(), orderStatus.withLaterStatuses());
+        return DailySalesRollup.builder()
+                .salesDate(salesDate)
+                .orderStatus(orderStatus)
+                .totalAmount(summary.getTotalAmount())
+                .orderCount(summary.getOrderCount())
+                .build();
+    }
+
+    private DailySalesRollup saveBackfill(LocalDate salesDate, OrderStatus orderStatus) {
+        DailySalesRollup rollup = calculate(salesDate, orderStatus);
+
+        List<ProductSalesSummary> productSummaries = orderProductRepository.sumProductSalesByStatusIn(
+                salesDate.atStartOfDay(), salesDate.plusDays(1).atStartOfDay(), orderStatus.withLaterStatuses());
+        dailyProductSalesRepository.saveAll(productSummaries.stream()
+                .map(productSummary -> DailyProductSales.builder()
+                        .salesDate(salesDate)
+                        .orderStatus(orderStatus)
+                        .productNumber(productSummary.getProductNumber())
+                        .quantity(productSummary.getQuantity())
+                        .amount(productSummary.getAmount())
+                        .build())
+                .collect(Collectors.toList()));
+        return dailySalesRollupRepository.save(rollup);
+    }
+
+    private void accumulate(Order order, OrderStatus orderStatus, int sign) {
+        LocalDate salesDate = order.getRegisteredDateTime().toLocalDate();
+
+        dailySalesRollupRepository.increase(salesDate, orderStatus, sign * (long) order.getTotalPrice(), sign);
+
+        countByProduct(order.getOrderProducts()).forEach((productNumber, orderProducts) -> {
+            long quantity = orderProducts.stream()
+                    .mapToLong(OrderProduct::getQuantity)
+                    .sum();
+            long amount = orderProducts.stream()
+                    .mapToLong(OrderProduct::getLinePrice)
+                    .sum();
+            dailyProductSalesRepository.increase(salesDate, orderStatus, productNumber, sign * quantity, sign * amount);
+        });
+    }
+
+    /**
+     * 집계 row 가 없는 날짜는 0 이 아니라 이미 커밋된 주문으로 계산해서 만든다. (늦게 결제된 주문만 남지 않도록)
+     * 별도 트랜잭션에서 만들어서 지금 결제하는 주문은 포함되지 않고, 이어서 update 로 누적한다.
+     */
+    private void backfillIfAbsent(LocalDate salesDate, OrderStatus orderStatus) {
+        if (dailySalesRollupRepository.existsBySalesDateAndOrderStatus(salesDate, orderStatus)) {
+            return;
+        }
+        insertIgnoringDuplicate(() -> {
+            saveBackfill(salesDate, orderStatus);
+            dailySalesRollupRepository.flush();
+        });
+    }
+
+    private void createProductSalesIfAbsent(LocalDate salesDate, OrderStatus orderStatus, String productNumber) {
+        if (dailyProductSalesRepository.existsBySalesDateAndOrderStatusAndProductNumber(salesDate, orderStatus, productNumber)) {
+            return;
+        }
+        insertIgnoringDuplicate(() -> dailyProductSalesRepository.saveAndFlush(DailyProductSales.empty(salesDate, orderStatus, productNumber)));
+    }
+
+    private void insertIgnoringDuplicate(Runnable insert) {
+        try {
+            requiresNewTransaction.executeWithoutResult(status -> insert.run());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 주문이 먼저 만들었다.
+        }
+    }
+
+    private static Map<String, List<OrderProduct>> countByProduct(List<OrderProduct> orderProducts) {
+        return orderProducts.stream()
+                .collect(Collectors.groupingBy(orderProduct -> orderProduct.getProduct().getProductNumber(), TreeMap::new, Collectors.toList()));
+    }
+}
@@ -0,0 +1,225 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.response.OrderEventBatchResponse;
+import sample.cafekiosk.spring.config.OrderProperties;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderevent.OrderEvent;
+import sample.cafekiosk.spring.domain.orderevent.OrderEventRepository;
+import sample.cafekiosk.spring.domain.orderevent.OrderEventType;
+import sample.cafekiosk.spring.domain.orderevent.OrderProjection;
+import sample.cafekiosk.spring.domain.orderevent.OrderSnapshot;
+import sample.cafekiosk.spring.domain.orderevent.OrderSnapshotRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 이벤트 journal
+ * 1. 주문 생성 / 재고 차감 / 상태 변경을 주문과 같은 트랜잭션에서 order_event 에 append 한다. (트랜잭션 밖에서 부르면 실패)
+ * 2. 소비자는 cursor(마지막으로 읽은 이벤트 id) 다음부터 묶음으로 읽는다. -> OrderRepository 를 polling 하지 않는다.
+ * 3. snapshot() 이 주기적으로 이벤트를 주문별 상태(order_snapshot)에 반영한다. -> replay 는 snapshot 이후 이벤트만 읽는다.
+ *
+ * 이벤트 id 는 order_event_id 행을 잠근 채로 받는다. (OrderEventRepository) -> id 순서가 커밋 순서와 같아서
+ * cursor 보다 작은 id 의 이벤트가 나중에 커밋되는 일이 없다. 대신 append 부터 커밋까지는 인스턴스 전체에서 한 트랜잭션씩 진행된다.
+ */
+@Slf4j
+@Service
+public class OrderEventJournal {
+
+    static final String SNAPSHOT_CONSUMER = "snapshot";
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderSnapshotRepository orderSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final OrderProperties.Journal properties;
+
+    public OrderEventJournal(OrderEventRepository orderEventRepository,
+                             OrderSnapshotRepository orderSnapshotRepository,
+                             PlatformTransactionManager transactionManager,
+                             OrderProperties orderProperties) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderSnapshotRepository = orderSnapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = orderProperties.getJournal();
+    }
+
+    /**
+     * 주문마다 ORDER_CREATED, 재고 상품이 있으면 STOCK_DEDUCTED (id 가 정해진 뒤 = save 이후에 부른다.)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendCreated(Collection<Order> orders) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEvent> events = new ArrayList<>(orders.size() * 2);
+        for (Order order : orders) {
+            events.add(OrderEvent.created(order, now));
+            OrderEvent stockDeducted = OrderEvent.stockDeducted(order, now);
+            if (stockDeducted != null) {
+                events.add(stockDeducted);
+            }
+        }
+        orderEventRepository.append(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendStatusChanged(Collection<Long> orderIds, OrderStatus previousStatus, OrderStatus orderStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        orderEventRepository.append(orderIds.stream()
+                .map(orderId -> OrderEvent.statusChanged(orderId, previousStatus, orderStatus, now))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * after 다음 이벤트를 최대 size 개
+     */
+    @Transactional(readOnly = true)
+    public OrderEventBatchResponse read(long after, int size) {
+        if (size < 1 || size > properties.getMaxReadSize()) {
+            throw new IllegalArgumentException(String.format("한 번에 읽을 수 있는 이벤트는 1 ~ %d개입니다.", properties.getMaxReadSize()));
+        }
+
+        List<OrderEvent> events = orderEventRepository.findAfter(after, size);
+        return OrderEventBatchResponse.of(after, events);
+    }
+
+    /**
+     * 소비자 이름으로 cursor 를 저장해두고 이어서 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public long getCursor(String consumer) {
+        return orderEventRepository.findCursor(consumer);
+    }
+
+    @Transactional
+    public void saveCursor(String consumer, long lastEventId) {
+        orderEventRepository.saveCursor(consumer, lastEventId);
+    }
+
+    /**
+     * 주문 한 건의 현재 상태 = snapshot + snapshot 이후 이벤트
+     */
+    @Transactional(readOnly = true)
+    public OrderSnapshot replay(Long orderId) {
+        OrderSnapshot snapshot = orderSnapshotRepository.findByOrderId(orderId).orElse(null);
+        long after = snapshot == null ? 0L : snapshot.getLastEventId();
+
+        for (OrderEvent event : orderEventRepository.findAllByOrderIdAfter(orderId, after)) {
+            if (snapshot == null) {
+                if (event.getEventType() != OrderEventType.ORDER_CREATED) {
+                    continue;
+                }
+                snapshot = OrderSnapshot.of(event);
+            } else {
+                snapshot.apply(event);
+            }
+        }
+
+        if (snapshot == null) {
+            throw new IllegalArgumentException("journal 에 없는 주문입니다.");
+        }
+        return snapshot;
+    }
+
+    /**
+     * 전체 주문 상태 = snapshot 전체 + snapshot cursor 이후 이벤트
+     */
+    public OrderProjection replayAll() {
+        return readOnlyTransactionTemplate.execute(status -> {
+            OrderProjection projection = new OrderProjection();
+            orderSnapshotRepository.forEach(properties.getReplayFetchSize(), projection::load);
+            orderEventRepository.forEachAfter(orderEventRepository.findCursor(SNAPSHOT_CONSUMER), properties.getReplayFetchSize(), projection::apply);
+            return projection;
+        });
+    }
+
+    /**
+     * snapshot 없이 처음부터 replay (snapshot 검증, 비교용)
+     */
+    public OrderProjection replayAllFromStart() {
+        return readOnlyTransactionTemplate.execute(status -> {
+            OrderProjection projection = new OrderProjection();
+            orderEventRepository.forEachAfter(0L, properties.getReplayFetchSize(), projection::apply);
+            return projection;
+        });
+    }
+
+    /**
+     * snapshot cursor 다음 이벤트를 snapshotBatchSize 개씩 order_snapshot 에 반영한다.
+     * 묶음마다 snapshot 행과 cursor 를 한 트랜잭션에서 저장한다. -> 중간에 실패해도 다음 주기에 이어서 반영
+     * @return 반영한 이벤트 수
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.order.journal.snapshot-interval-millis:60000}")
+    public synchronized long snapshot() {
+        long snapshotted = 0;
+        int applied;
+        do {
+            Integer count = transactionTemplate.execute(status -> snapshotOnce());
+            applied = count == null ? 0 : count;
+            snapshotted += applied;
+        } while (applied == properties.getSnapshotBatchSize());
+
+        if (snapshotted > 0) {
+            log.debug("주문 snapshot 에 이벤트 {}건을 반영했습니다.", snapshotted);
+        }
+        return snapshotted;
+    }
+
+    private int snapshotOnce() {
+        long cursor = orderEventRepository.findCursor(SNAPSHOT_CONSUMER);
+        List<OrderEvent> events = orderEventRepository.findAfter(cursor, properties.getSnapshotBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, OrderSnapshot> snapshots = loadSnapshots(events);
+        for (OrderEvent event : events) {
+            if (event.getEventType() == OrderEventType.ORDER_CREATED) {
+                snapshots.putIfAbsent(event.getOrderId(), OrderSnapshot.of(event));
+                continue;
+            }
+            OrderSnapshot snapshot = snapshots.get(event.getOrderId());
+            if (snapshot != null) {
+                snapshot.apply(event);
+            }
+        }
+
+        orderSnapshotRepository.upsertAll(snapshots.values());
+        orderEventRepository.saveCursor(SNAPSHOT_CONSUMER, events.get(events.size() - 1).getId());
+        return events.size();
+    }
+
+    /**
+     * 이번 묶음에 주문생성 이벤트가 없는 주문만 기존 snapshot 을 읽는다.
+     */
+    private Map<Long, OrderSnapshot> loadSnapshots(List<OrderEvent> events) {
+        Set<Long> createdOrderIds = events.stream()
+                .filter(event -> event.getEventType() == OrderEventType.ORDER_CREATED)
+                .map(OrderEvent::getOrderId)
+                .collect(Collectors.toSet());
+        Set<Long> existingOrderIds = events.stream()
+                .map(OrderEvent::getOrderId)
+                .filter(orderId -> !createdOrderIds.contains(orderId))
+                .collect(Collectors.toSet());
+
+        Map<Long, OrderSnapshot> snapshots = new LinkedHashMap<>();
+        orderSnapshotRepository.findAllByOrderIdIn(existingOrderIds)
+                .forEach(snapshot -> snapshots.put(snapshot.getOrderId(), snapshot));
+        return snapshots;
+    }
+}
@@ -0,0 +1,170 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.config.OrderProperties;
+import sample.cafekiosk.spring.domain.order.OrderExportRow;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 내보내기
+ * 1. (registeredDateTime, id) keyset 으로 pageSize 만큼씩 읽는다. -> offset 이 없어서 뒤 페이지도 인덱스로 바로 찾아간다.
+ * 2. 한 페이지를 다 쓰면 flush 하고 다음 페이지를 읽는다. -> 메모리에는 한 페이지만 올라가 있다.
+ * 3. 엔티티가 아닌 행(OrderExportRow)으로 읽어서 영속성 컨텍스트에 주문이 쌓이지 않는다.
+ * 페이지마다 따로 조회하므로 트랜잭션을 길게 잡지 않는다. (내보내는 동안 들어온 주문은 keyset 뒤쪽이면 함께 나간다.)
+ * 페이지 조회는 readOnly 트랜잭션이라 replica 가 있으면 replica 에서 읽는다.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER = "orderId,registeredDateTime,orderStatus,totalPrice,productNumber,productName,productPrice,quantity";
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int pageSize;
+
+    public OrderExportService(OrderRepository orderRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              OrderProperties orderProperties) {
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.pageSize = orderProperties.getExport().getPageSize();
+    }
+
+    /**
+     * [startDate, endDate) 사이에 등록된 주문을 format 으로 out 에 쓴다. orderStatus 가 null 이면 모든 상태
+     */
+    public void export(OrderExportFormat format, LocalDate startDate, LocalDate endDate, OrderStatus orderStatus, OutputStream out) {
+        if (!startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("내보내기 종료일은 시작일 이후여야 합니다.");
+        }
+
+        try {
+            if (format == OrderExportFormat.NDJSON) {
+                exportNdjson(startDate.atStartOfDay(), endDate.atStartOfDay(), orderStatus, out);
+            } else {
+                exportCsv(startDate.atStartOfDay(), endDate.atStartOfDay(), orderStatus, out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void exportNdjson(LocalDateTime start, LocalDateTime end, OrderStatus orderStatus, OutputStream out) throws IOException {
+        // 주문 하나당 한 줄 {"id":..,"lines":[..]} -> JsonGenerator 로 바로 써서 중간 객체/문자열을 만들지 않는다.
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        OrderExportRow last = null;
+        List<OrderExportRow> page;
+        do {
+            page = findPage(start, end, orderStatus, last);
+            for (OrderExportRow order : page) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", order.getId());
+                generator.writeStringField("registeredDateTime", order.getRegisteredDateTime().toString());
+                generator.writeStringField("orderStatus", order.getOrderStatus().name());
+                generator.writeNumberField("totalPrice", order.getTotalPrice());
+                generator.writeArrayFieldStart("lines");
+                for (OrderExportRow.Line line : order.getLines()) {
+                    generator.writeStartObject();
+                    generator.writeStringField("productNumber", line.getProductNumber());
+                    generator.writeStringField("name", line.getName());
+                    generator.writeNumberField("price", line.getPrice());
+                    generator.writeNumberField("quantity", line.getQuantity());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            last = lastOf(page);
+        } while (page.size() == pageSize);
+
+        generator.close();
+    }
+
+    private void exportCsv(LocalDateTime start, LocalDateTime end, OrderStatus orderStatus, OutputStream out) throws IOException {
+        // 주문 상품 한 줄당 한 행, 상품이 없는 주문은 상품 칸을 비운 한 행
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        OrderExportRow last = null;
+        List<OrderExportRow> page;
+        do {
+            page = findPage(start, end, orderStatus, last);
+            for (OrderExportRow order : page) {
+                if (order.getLines().isEmpty()) {
+                    writeCsvRow(writer, order, null);
+                    continue;
+                }
+                for (OrderExportRow.Line line : order.getLines()) {
+                    writeCsvRow(writer, order, line);
+                }
+            }
+            writer.flush();
+            last = lastOf(page);
+        } while (page.size() == pageSize);
+    }
+
+    private static void writeCsvRow(Writer writer, OrderExportRow order, OrderExportRow.Line line) throws IOException {
+        writer.write(String.valueOf(order.getId()));
+        writer.write(',');
+        writer.write(order.getRegisteredDateTime().toString());
+        writer.write(',');
+        writer.write(order.getOrderStatus().name());
+        writer.write(',');
+        writer.write(String.valueOf(order.getTotalPrice()));
+        writer.write(',');
+        if (line != null) {
+            writer.write(escapeCsv(line.getProductNumber()));
+            writer.write(',');
+            writer.write(escapeCsv(line.getName()));
+            writer.write(',');
+            writer.write(String.valueOf(line.getPrice()));
+            writer.write(',');
+            writer.write(String.valueOf(line.getQuantity()));
+        } else {
+            writer.write(",,,");
+        }
+        writer.write('\n');
+    }
+
+    static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private List<OrderExportRow> findPage(LocalDateTime start, LocalDateTime end, OrderStatus orderStatus, OrderExportRow after) {
+        return readOnlyTransactionTemplate.execute(status -> orderRepository.findExportPage(start, end, orderStatus, after, pageSize));
+    }
+
+    private static OrderExportRow lastOf(List<OrderExportRow> page) {
+        return page.isEmpty() ? null : page.get(page.size() - 1);
+    }
+}
@@ -0,0 +1,184 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderLineServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.config.OrderProperties;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKey;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Idempotency-Key 가 붙은 주문 생성
+ * 1. 최근 키는 메모리 LRU 에서 바로 응답한다. (상품/재고 조회 없음)
+ * 2. 같은 키가 동시에 들어오면 먼저 온 요청 하나만 주문을 만들고, 나머지는 그 결과를 기다렸다가 같은 응답을 받는다.
+ * 3. LRU 에서 밀려났거나 재시작한 경우 order_idempotency_key 테이블에서 주문 id 를 찾아 응답을 다시 만든다.
+ * 4. 키는 주문과 같은 트랜잭션에서 저장한다. -> 다른 서버가 같은 키로 먼저 커밋했으면 PK 충돌로 롤백되고, 먼저 만든 주문을 응답한다.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int cacheSize;
+
+    private final Map<String, CachedOrder> recentOrders = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<CachedOrder>> inFlightOrders = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   OrderIdempotencyKeyRepository orderIdempotencyKeyRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   OrderProperties orderProperties) {
+        this.orderService = orderService;
+        this.orderIdempotencyKeyRepository = orderIdempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheSize = orderProperties.getIdempotency().getCacheSize();
+    }
+
+    public OrderResponse createOrder(String idempotencyKey, OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key 는 255자 이하여야 합니다.");
+        }
+
+        String requestHash = hash(request);
+
+        CachedOrder cachedOrder = getCached(idempotencyKey);
+        if (cachedOrder != null) {
+            return cachedOrder.responseFor(requestHash);
+        }
+
+        CompletableFuture<CachedOrder> future = new CompletableFuture<>();
+        CompletableFuture<CachedOrder> inFlightOrder = inFlightOrders.putIfAbsent(idempotencyKey, future);
+        if (inFlightOrder != null) {
+            return await(inFlightOrder).responseFor(requestHash);
+        }
+
+        try {
+            CachedOrder createdOrder = findOrCreate(idempotencyKey, requestHash, request, registeredDateTime);
+            putCached(idempotencyKey, createdOrder);
+            future.complete(createdOrder);
+            return createdOrder.responseFor(requestHash);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightOrders.remove(idempotencyKey, future);
+        }
+    }
+
+    public synchronized void clearCache() {
+        recentOrders.clear();
+    }
+
+    private CachedOrder findOrCreate(String idempotencyKey, String requestHash, OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        Optional<CachedOrder> storedOrder = findStored(idempotencyKey);
+        if (storedOrder.isPresent()) {
+            return storedOrder.get();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderResponse orderResponse = orderService.createOrder(request, registeredDateTime);
+                orderIdempotencyKeyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                        .idempotencyKey(idempotencyKey)
+                        .orderId(orderResponse.getId())
+                        .requestHash(requestHash)
+                        .build());
+                return new CachedOrder(requestHash, orderResponse);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 같은 키로 먼저 주문했다. -> 이쪽 주문/재고 차감은 롤백되었으므로 먼저 만든 주문으로 응답
+            return findStored(idempotencyKey).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * 방금 다른 요청이 커밋한 키/주문일 수 있으므로 replica 가 아닌 primary 에서 읽는다.
+     * -> readOnly 가 아닌 트랜잭션으로 감싸면 안쪽 readOnly 조회(getOrder)도 같은 primary 커넥션을 쓴다.
+     */
+    private Optional<CachedOrder> findStored(String idempotencyKey) {
+        return transactionTemplate.execute(status -> orderIdempotencyKeyRepository.findById(idempotencyKey)
+                .map(stored -> new CachedOrder(stored.getRequestHash(), orderService.getOrder(stored.getOrderId()))));
+    }
+
+    private synchronized CachedOrder getCached(String idempotencyKey) {
+        return recentOrders.get(idempotencyKey);
+    }
+
+    private synchronized void putCached(String idempotencyKey, CachedOrder cachedOrder) {
+        recentOrders.put(idempotencyKey, cachedOrder);
+        if (recentOrders.size() > cacheSize) {
+            recentOrders.remove(recentOrders.keySet().iterator().next());
+        }
+    }
+
+    private static CachedOrder await(CompletableFuture<CachedOrder> inFlightOrder) {
+        try {
+            return inFlightOrder.join();
+        } catch (CompletionException e) {
+            // 먼저 들어온 요청이 실패했으면 같은 예외로 응답한다. (재고 부족 등)
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String hash(OrderCreateServiceRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // productNumbers ["001", "001"] 와 lines [001 x 2] 는 같은 주문이므로 합친 주문 라인으로 hash 한다.
+            // 재시도하면서 라인 순서만 바뀐 요청도 같은 주문이므로 상품번호 순으로 정렬한다.
+            String canonical = request.toOrderLines().stream()
+                    .sorted(Comparator.comparing(OrderLineServiceRequest::getProductNumber))
+                    .map(line -> line.getProductNumber() + "x" + line.getQuantity())
+                    .collect(Collectors.joining(","));
+            byte[] hashed = digest.digest(canonical.getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder hex = new StringBuilder(hashed.length * 2);
+            for (byte b : hashed) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CachedOrder {
+
+        private final String requestHash;
+        private final OrderResponse orderResponse;
+
+        private CachedOrder(String requestHash, OrderResponse orderResponse) {
+            this.requestHash = requestHash;
+            this.orderResponse = orderResponse;
+        }
+
+        private OrderResponse responseFor(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IllegalArgumentException("다른 주문에 이미 사용된 Idempotency-Key 입니다.");
+            }
+            return orderResponse;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductors;
+import sample.cafekiosk.spring.config.OrderProperties;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.StockChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 주문 상태 변경 (허용하는 전이는 OrderStatus 참고)
+ * - changeStatus() : 주문 한 건. 결제완료 -> 일자별 매출 누적, 취소 -> 재고 복구 + 누적했던 매출 차감
+ * - changeStatuses() : 부가 처리가 없는 전이(결제실패, 주문접수, 처리완료)만 주문을 읽지 않고 update 로 한 번에 바꾼다.
+ * 두 경로 모두 version 을 올리므로, 같은 주문을 동시에 바꾸면 나중에 커밋하는 한 건 변경은 실패한다.
+ * 바뀐 주문마다 같은 트랜잭션에서 주문 journal 에 STATUS_CHANGED 를 남긴다.
+ */
+@Transactional
+@Service
+public class OrderLifecycleService {
+
+    private static final Set<OrderStatus> BULK_CHANGEABLE_STATUSES = EnumSet.of(OrderStatus.PAYMENT_FAILED, OrderStatus.RECEIVED, OrderStatus.COMPLETED);
+
+    private final OrderRepository orderRepository;
+    private final StockDeductors stockDeductors;
+    private final DailySalesRollupService dailySalesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderEventJournal orderEventJournal;
+    private final OrderProperties.Lifecycle properties;
+
+    public OrderLifecycleService(OrderRepository orderRepository,
+                                 StockDeductors stockDeductors,
+                                 DailySalesRollupService dailySalesRollupService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 OrderEventJournal orderEventJournal,
+                                 OrderProperties orderProperties) {
+        this.orderRepository = orderRepository;
+        this.stockDeductors = stockDeductors;
+        this.dailySalesRollupService = dailySalesRollupService;
+        this.eventPublisher = eventPublisher;
+        this.orderEventJournal = orderEventJournal;
+        this.properties = orderProperties.getLifecycle();
+    }
+
+    /**
+     * @param expectedVersion 클라이언트가 마지막으로 본 주문 version (null 이면 확인하지 않는다.)
+     */
+    public OrderResponse changeStatus(Long orderId, OrderStatus next, Long expectedVersion) {
+        Order order = orderRepository.findWithOrderProductsById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new IllegalArgumentException("다른 요청에서 먼저 변경된 주문입니다. 주문을 다시 조회해주세요.");
+        }
+
+        OrderStatus previous = order.getOrderStatus();
+        order.changeStatus(next);
+
+        if (next == OrderStatus.PAYMENY_COMPLETED) {
+            dailySalesRollupService.record(order);
+        }
+        if (next == OrderStatus.CANCELED) {
+            cancel(order, previous);
+        }
+        orderEventJournal.appendStatusChanged(List.of(orderId), previous, next);
+
+        // version 은 flush 할 때 올라간다. -> 응답에 바뀐 version 을 담고, 동시 변경 충돌도 여기서 드러나게 한다.
+        orderRepository.flush();
+        return OrderResponse.of(order);
+    }
+
+    /**
+     * from 상태인 주문만 to 로 바꾼다. (batchSize 개씩 락 + update 한 문장)
+     * 락을 잡은 주문만 update 하므로 journal 에 남기는 주문과 실제로 바뀐 주문이 같다.
+     */
+    public OrderStatusChangeResponse changeStatuses(List<Long> orderIds, OrderStatus from, OrderStatus to) {
+        if (!BULK_CHANGEABLE_STATUSES.contains(to)) {
+            throw new IllegalArgumentException(String.format("%s 상태는 주문별로 변경해야 합니다.", to.getText()));
+        }
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException(String.format("%s 상태의 주문은 %s 상태로 바꿀 수 없습니다.", from.getText(), to.getText()));
+        }
+
+        List<Long> distinctOrderIds = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = properties.getBatchSize();
+
+        int changedCount = 0;
+        for (int start = 0; start < distinctOrderIds.size(); start += batchSize) {
+            List<Long> ids = orderRepository.findIdsForUpdate(distinctOrderIds.subList(start, Math.min(start + batchSize, distinctOrderIds.size())), from);
+            if (ids.isEmpty()) {
+                continue;
+            }
+
+            changedCount += orderRepository.changeStatusIn(ids, from, to, now);
+            orderEventJournal.appendStatusChanged(ids, from, to);
+        }
+
+        return OrderStatusChangeResponse.of(from, to, distinctOrderIds.size(), changedCount);
+    }
+
+    private void cancel(Order order, OrderStatus previous) {
+        Map<String, Integer> stockQuantities = new TreeMap<>();
+        for (OrderProduct orderProduct : order.getOrderProducts()) {
+            Product product = orderProduct.getProduct();
+            if (ProductType.containsStockType(product.getType())) {
+                stockQuantities.merge(product.getProductNumber(), orderProduct.getQuantity(), Integer::sum);
+            }
+        }
+
+        if (!stockQuantities.isEmpty()) {
+            stockDeductors.current().restore(stockQuantities);
+            eventPublisher.publishEvent(new StockChangedEvent(stockQuantities.keySet()));
+        }
+        if (previous == OrderStatus.PAYMENY_COMPLETED) {
+            dailySalesRollupService.cancel(order, previous);
+        }
+    }
+}
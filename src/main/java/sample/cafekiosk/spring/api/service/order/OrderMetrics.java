@@ -0,0 +1,71 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 생성 단계별 시간 (cafekiosk.order.create{phase}) 과 재고 부족 거절 수 (cafekiosk.stock.shortage{source})
+ * 주문마다 meter 를 찾지 않도록 미리 만들어 둔다.
+ */
+@Component
+public class OrderMetrics {
+
+    public enum Phase {
+
+        PRODUCT_LOOKUP("product_lookup"),
+        STOCK_DEDUCTION("stock_deduction"),
+        PERSIST("persist"),
+        RESPONSE_MAPPING("response_mapping");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Counter orderStockShortage;
+    private final Counter bulkStockShortage;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("cafekiosk.order.create")
+                    .description("주문 생성 단계별 소요 시간")
+                    .tag("phase", phase.tag)
+                    .register(meterRegistry));
+        }
+        this.orderStockShortage = stockShortageCounter(meterRegistry, "order");
+        this.bulkStockShortage = stockShortageCounter(meterRegistry, "bulk");
+    }
+
+    /**
+     * startNanos 부터 지금까지를 phase 시간으로 기록하고, 다음 단계의 시작 시각(지금)을 돌려준다.
+     */
+    public long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseTimers.get(phase).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void orderStockShortage() {
+        orderStockShortage.increment();
+    }
+
+    public void bulkStockShortage() {
+        bulkStockShortage.increment();
+    }
+
+    private static Counter stockShortageCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("cafekiosk.stock.shortage")
+                .description("재고 부족으로 거절된 주문 수")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
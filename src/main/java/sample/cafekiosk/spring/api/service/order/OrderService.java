@@ -1,20 +1,31 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderLineServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBulkCreateResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderBulkCreateResult;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.api.service.stock.StockDeductors;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderLineAggregator;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
-import sample.cafekiosk.spring.domain.stock.Stock;
-import sample.cafekiosk.spring.domain.stock.StockRepository;
+import sample.cafekiosk.spring.domain.stock.StockChangedEvent;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,92 +36,207 @@ import java.util.stream.Collectors;
 public class OrderService {
 
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
     private final OrderRepository orderRepository;
-    private final StockRepository stockRepository;
+    private final StockDeductors stockDeductors;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderMetrics orderMetrics;
+    private final OrderEventJournal orderEventJournal;
 
     /**
      * 주문 생성 로직
-     * 1. 주문 상품 번호로 상품을 조회한다.
-     * 1-1. 상품 번호는 중복이 될 수 있다. -> findProductsBy() 에서 중복된 상품 번호로 중복된 상품 조회
-     * 2. 주문하고자 하는 상품에는 재고가 있는 상품이 존재하기 때문에 재고가 있는 상품인지 체크한다.
-     * 2-1. 재고가 있는 상품의 상품 번호로 재고 정보를 가져온다.(Stock)
-     * 2-2. 재고 리스트를 순회하면 성능이 안나오므로 Map으로 만든다. Map<주문상품번호, 재고>
-     * 3. 재고가 있는 상품의 리스트를 Map으로 변환해서 각 상품의 갯수를 집계한다.
-     * 4. 재고를 차감한다.
+     * 1. 주문 라인(상품번호, 수량)의 상품을 조회한다.
+     * 1-1. 같은 상품번호는 한 라인의 수량으로 합친다. -> 상품 10개 주문도 주문 상품 row 는 1개
+     * 2~3. OrderLineAggregator 가 주문 라인을 한 번 돌면서 총 금액과 재고 상품별 갯수를 집계한다.
+     * 4. 재고를 차감한다. -> 차감 방식은 StockDeductor 로 분리 (cafekiosk.stock.deduction-mode)
+     * 5. 주문 journal 에 주문 생성 / 재고 차감 이벤트를 같은 트랜잭션으로 남긴다.
+     * 단계별 시간은 cafekiosk.order.create{phase} 로 기록한다.
+     * (persist 는 영속화까지만, insert 는 커밋 시점이라 http.server.requests 에 포함된다.)
      */
 
-    private static List<String> extractStockProductNumbers(List<Product> products) {
-        // 재고 차감 체크가 필요한 상품들 filter (2)
-        return products.stream()
-                .filter(product -> ProductType.containsStockType(product.getType()))
-                .map(Product::getProductNumber)
-                .collect(Collectors.toList());
-    }
-
-    private static Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
-        // 상품별 counting (3) Map<주문상품번호,주문상품번호 갯수>
-        return stockProductNumbers.stream()
-                .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
-    }
-
     /**
      * 재고 감소 -> 동시성 고민
-     * optimistic lock / pessimistic lock / ...
+     * conditional update / pessimistic lock 중 설정된 방식으로 차감한다.
      */
     public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
-        List<String> productNumbers = request.getProductNumbers();
-        List<Product> products = findProductsBy(productNumbers); //(1-1)
+        long phaseStartNanos = System.nanoTime();
+        List<OrderLineServiceRequest> lines = request.toOrderLines(); //(1-1)
+        Map<String, Product> productMap = findProductMapBy(lines);
+        if (productMap.size() != lines.size()) {
+            throw new IllegalArgumentException("존재하지 않는 상품이 포함되어 있습니다.");
+        }
 
-        deductStockQuantities(products);
+        // 집계 버퍼는 호출마다 만든다. (virtual thread 는 요청마다 새 스레드라 ThreadLocal 로 재사용해도 할당이 줄지 않는다.)
+        OrderLineAggregator orderLines = aggregateLines(new OrderLineAggregator(), lines, productMap); //(2~3)
+        phaseStartNanos = orderMetrics.record(OrderMetrics.Phase.PRODUCT_LOOKUP, phaseStartNanos);
 
-        Order order = Order.create(products, registeredDateTime);
+        deductStockQuantities(orderLines);
+        phaseStartNanos = orderMetrics.record(OrderMetrics.Phase.STOCK_DEDUCTION, phaseStartNanos);
+
+        Order order = Order.create(orderLines, registeredDateTime);
         Order savedOrder = orderRepository.save(order);
+        orderEventJournal.appendCreated(List.of(savedOrder)); //(5)
+        phaseStartNanos = orderMetrics.record(OrderMetrics.Phase.PERSIST, phaseStartNanos);
 
-        return OrderResponse.of(savedOrder);
+        OrderResponse response = OrderResponse.of(savedOrder);
+        orderMetrics.record(OrderMetrics.Phase.RESPONSE_MAPPING, phaseStartNanos);
+        return response;
     }
 
-    public List<Product> findProductsBy(List<String> productNumbers) {
-        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers); // productNumbers = {"001", "001", "002"} 이거라면
-        // products = { 아메리카노객체, 라떼객체 }
-        Map<String, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getProductNumber, p -> p)); // 중복되는 주문번호로 상품 여러개 가져오기 위해
-        // {
-        //  {"001" : 아메리카노객체},
-        //  {"002" : 라떼객체}
-        // }
-
-        return productNumbers.stream() //productNumbers = {"001", "001", "002"}로 중복 제거된 map 내부에서 각 product 객체들 가져옴
-                .map(productMap::get)
+    /**
+     * 일괄 주문 (오프라인으로 쌓인 주문을 한 번에 올리는 경우)
+     * 1. 모든 주문의 상품번호를 모아서 상품/재고를 한 번씩만 조회한다.
+     * 2. 재고 스냅샷 위에서 요청 순서대로 주문을 시뮬레이션한다. -> 없는 상품, 재고 부족 주문은 실패로 기록하고 나머지는 계속 진행
+     * 3. 성공한 주문들의 수량을 상품별로 합쳐서 StockDeductor 로 한 번에 차감한다.
+     *    -> 스냅샷 이후 다른 주문이 재고를 가져가서 차감에 실패하면 일괄 주문 전체가 롤백된다. (클라이언트가 다시 시도)
+     * 4. Order / OrderProduct 는 SEQUENCE id 라서 saveAll 이 JDBC batch insert 로 나간다.
+     */
+    public OrderBulkCreateResponse createOrders(List<OrderCreateServiceRequest> requests, LocalDateTime registeredDateTime) {
+        List<List<OrderLineServiceRequest>> requestLines = requests.stream()
+                .map(OrderCreateServiceRequest::toOrderLines)
                 .collect(Collectors.toList());
-        // {
-        //  {"001" : 아메리카노객체},
-        //  {"001" : 아메리카노객체},
-        //  {"002" : 라떼객체}
-        // }
+        List<String> distinctProductNumbers = new ArrayList<>(requestLines.stream()
+                .flatMap(lines -> lines.stream().map(OrderLineServiceRequest::getProductNumber))
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        Map<String, Product> productMap = productCache.getAll(distinctProductNumbers, productRepository::findAllByProductNumberIn);
+        Map<String, Integer> remainingQuantities = createStockSnapshotBy(productMap.values());
+
+        List<OrderBulkCreateResult> results = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        List<Integer> orderIndexes = new ArrayList<>();
+        Map<String, Integer> deductQuantities = new HashMap<>();
+
+        // 일괄 주문 안에서는 버퍼 하나를 주문마다 reset 해서 재사용한다.
+        OrderLineAggregator orderLines = new OrderLineAggregator();
+        for (int index = 0; index < requests.size(); index++) {
+            List<OrderLineServiceRequest> lines = requestLines.get(index);
+            if (!lines.stream().allMatch(line -> productMap.containsKey(line.getProductNumber()))) {
+                results.add(OrderBulkCreateResult.failure(index, "존재하지 않는 상품이 포함되어 있습니다."));
+                continue;
+            }
+            if (lines.stream().anyMatch(line -> line.getQuantity() < 1)) {
+                results.add(OrderBulkCreateResult.failure(index, "주문 수량은 1개 이상이어야 합니다."));
+                continue;
+            }
+
+            aggregateLines(orderLines, lines, productMap);
+            if (!reserveFromSnapshot(remainingQuantities, orderLines)) {
+                orderMetrics.bulkStockShortage();
+                results.add(OrderBulkCreateResult.failure(index, "재고가 부족한 상품이 있습니다."));
+                continue;
+            }
+
+            orderLines.forEachStockQuantity((productNumber, quantity) -> deductQuantities.merge(productNumber, quantity, Integer::sum));
+            orders.add(Order.create(orderLines, registeredDateTime));
+            orderIndexes.add(index);
+            results.add(null);
+        }
+
+        if (!deductQuantities.isEmpty()) {
+            stockDeductors.current().deduct(deductQuantities);
+            eventPublisher.publishEvent(new StockChangedEvent(deductQuantities.keySet()));
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        orderEventJournal.appendCreated(savedOrders);
+        for (int i = 0; i < savedOrders.size(); i++) {
+            int index = orderIndexes.get(i);
+            results.set(index, OrderBulkCreateResult.success(index, OrderResponse.of(savedOrders.get(i))));
+        }
+
+        return OrderBulkCreateResponse.of(results);
+    }
+
+    private Map<String, Integer> createStockSnapshotBy(Collection<Product> products) {
+        List<String> stockProductNumbers = new ArrayList<>();
+        for (Product product : products) {
+            if (ProductType.containsStockType(product.getType())) {
+                stockProductNumbers.add(product.getProductNumber());
+            }
+        }
+        if (stockProductNumbers.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        // 지금 차감 방식의 기준 수량으로 읽는다. (ledger 면 아직 DB 에 반영되지 않은 예약까지 빠진 장부 수량)
+        // DB 방식은 엔티티로 읽으면 pessimistic-lock 차감이 잠근 뒤에도 스냅샷 수량의 엔티티를 그대로 받아서 다른 주문의 차감을 덮어쓰므로 projection 으로 읽는다.
+        return stockDeductors.current().getQuantities(stockProductNumbers).stream()
+                .collect(Collectors.toMap(StockQuantity::getProductNumber, StockQuantity::getQuantity));
+    }
+
+    /**
+     * 스냅샷에 남은 재고로 주문 하나를 받을 수 있으면 스냅샷에서 빼고 true
+     */
+    private static boolean reserveFromSnapshot(Map<String, Integer> remainingQuantities, OrderLineAggregator orderLines) {
+        for (int i = 0; i < orderLines.getStockProductCount(); i++) {
+            int remaining = remainingQuantities.getOrDefault(orderLines.getStockProductNumberAt(i), 0);
+            if (remaining < orderLines.getStockQuantityAt(i)) {
+                return false;
+            }
+        }
+
+        orderLines.forEachStockQuantity((productNumber, quantity) -> remainingQuantities.merge(productNumber, -quantity, Integer::sum));
+        return true;
     }
 
-    private void deductStockQuantities(List<Product> products) {
-        List<String> stockProductNumbers = extractStockProductNumbers(products);
+    /**
+     * 주문 조회 -> 주문 상품/상품까지 한 번에 읽어서 주문 상품 수와 상관없이 쿼리 1번
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(Long orderId) {
+        Order order = orderRepository.findWithOrderProductsById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+
+        return OrderResponse.of(order);
+    }
 
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
-        Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
+    /**
+     * 일자별 주문 조회 -> 주문 수, 주문 상품 수와 상관없이 쿼리 1번
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrders(LocalDate orderDate) {
+        return orderRepository.findWithOrderProductsBy(orderDate.atStartOfDay(), orderDate.plusDays(1).atStartOfDay()).stream()
+                .map(OrderResponse::of)
+                .collect(Collectors.toList());
+    }
 
-        // 재고 차감 시도
-        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
+    private Map<String, Product> findProductMapBy(List<OrderLineServiceRequest> lines) {
+        List<String> productNumbers = new ArrayList<>(lines.size());
+        for (OrderLineServiceRequest line : lines) {
+            productNumbers.add(line.getProductNumber());
+        }
+        // 캐시에 없는 상품번호만 모아서 한 번에 조회한다.
+        return productCache.getAll(productNumbers, productRepository::findAllByProductNumberIn);
+    }
 
-            if (stock.isQuantityLessThan(quantity)) {
-                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+    /**
+     * 주문 라인 -> OrderLineAggregator (상품은 productMap 에서 꺼낸다. 상품이 모두 있는지는 호출하는 쪽에서 확인)
+     */
+    static OrderLineAggregator aggregateLines(OrderLineAggregator orderLines, List<OrderLineServiceRequest> lines, Map<String, Product> productMap) {
+        orderLines.reset();
+        for (int i = 0, size = lines.size(); i < size; i++) {
+            OrderLineServiceRequest line = lines.get(i);
+            if (line.getQuantity() < 1) {
+                throw new IllegalArgumentException("주문 수량은 1개 이상이어야 합니다.");
             }
-            stock.deductQuantity(quantity);
+            orderLines.add(productMap.get(line.getProductNumber()), line.getQuantity());
         }
+        return orderLines;
     }
 
-    private Map<String, Stock> createStockMapBy(List<String> stockProductNumbers) {
-        // 재고 엔티티 조회 (2-1)
-        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
-        return stocks.stream()
-                .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
+    private void deductStockQuantities(OrderLineAggregator orderLines) {
+        if (!orderLines.hasStockProducts()) {
+            return;
+        }
+
+        // 재고 차감 시도 (4)
+        Map<String, Integer> deductQuantities = orderLines.toStockQuantityMap();
+        try {
+            stockDeductors.current().deduct(deductQuantities);
+        } catch (IllegalArgumentException e) {
+            orderMetrics.orderStockShortage(); // StockDeductor 는 재고 부족일 때만 IllegalArgumentException 을 던진다.
+            throw e;
+        }
+        eventPublisher.publishEvent(new StockChangedEvent(deductQuantities.keySet())); // 커밋 이후 키오스크에 재고 변경 전달
     }
 }
@@ -3,44 +3,33 @@ package sample.cafekiosk.spring.api.service.order;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
-import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollup;
 
 import java.time.LocalDate;
-import java.util.List;
 
 @RequiredArgsConstructor
 @Service
 public class OrderStatisticsService {
 
-    private final OrderRepository orderRepository;
+    private final DailySalesRollupService dailySalesRollupService;
     private final MailService mailService;
 
     public boolean sendOrderStatisticsMail(LocalDate orderDate, String email) {
-        // 해당 일자에 결제완료 된 주문들을 가져와서
-        List<Order> orders = orderRepository.findOrdersBy(
-                orderDate.atStartOfDay(), // 17일 이라고 하면 17일 0시(00:00)을 의미함
-                orderDate.plusDays(1).atStartOfDay(), //18일 0시(00:00)
-                OrderStatus.PAYMENY_COMPLETED
-        );
+        // 해당 일자에 결제완료 된 주문들의 매출 집계 row 를 읽어서 (주문 엔티티를 전부 불러오지 않는다)
+        // 집계가 없는 날짜라면 sum/count 쿼리로 계산한다.
+        DailySalesRollup rollup = dailySalesRollupService.getOrBackfill(orderDate, OrderStatus.PAYMENY_COMPLETED);
 
         // 총 매출 합계를 계산하고
-        int totalAmount = orders.stream()
-                .mapToInt(Order::getTotalPrice)
-                .sum();
+        long totalAmount = rollup.getTotalAmount();
 
-        // 메일 전송
-        boolean result = mailService.sendMail("no-reply@cafekiosk.com",
+        // 메일 서버를 기다리지 않고 outbox 에 넣는다. (전송, 재시도, 이력 저장은 MailOutboxWorker)
+        mailService.enqueueMail("no-reply@cafekiosk.com",
                 email,
                 String.format("[매출통계] %s", orderDate),
                 String.format("총 매출 합계는 %s원입니다.", totalAmount)
         );
 
-        if (!result) {
-            throw new IllegalArgumentException("매출 통계 메일 전송에 실패했습니다.");
-        }
-
         return true;
     }
 
@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum SalesAggregationMode {
+
+    AUTO("기간이 짧으면 PARALLEL, 길면 SQL"),
+    SQL("DB 에서 group by 로 집계"),
+    PARALLEL("일 단위로 나눠서 fork-join 으로 병렬 집계");
+
+    private final String text;
+
+    public SalesAggregationMode resolve(long days, int parallelMaxDays) {
+        if (this != AUTO) {
+            return this;
+        }
+        return days > parallelMaxDays ? SQL : PARALLEL;
+    }
+}
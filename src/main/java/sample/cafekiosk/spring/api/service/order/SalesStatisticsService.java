@@ -0,0 +1,138 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.response.SalesStatisticsResponse;
+import sample.cafekiosk.spring.config.OrderProperties;
+import sample.cafekiosk.spring.domain.order.OrderExportRow;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.sales.SalesAggregate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 기간 매출 통계 (합계 / 시간대별 / 상품별 / 상위 N개 상품)
+ * - SQL : group by 두 번(시간대별, 상품별)으로 DB 에서 집계한다. 기간이 길어도 돌려받는 행 수가 일정하다.
+ * - PARALLEL : 기간을 하루 단위로 나눠서 fork-join 으로 동시에 읽고 메모리에서 집계한 뒤 합친다.
+ *   하루치는 keyset 페이지로 읽으므로 메모리에는 (parallelism x pageSize) 주문만 올라간다.
+ * 조회는 모두 readOnly 트랜잭션이라 replica 가 있으면 replica 에서 읽는다.
+ */
+@Service
+public class SalesStatisticsService {
+
+    private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final OrderProperties.Statistics properties;
+
+    // 일 단위 작업은 JDBC 를 기다리므로 공용 풀(commonPool)을 쓰지 않고, 동시 커넥션 수를 parallelism 으로 제한한다.
+    private final ForkJoinPool forkJoinPool;
+
+    public SalesStatisticsService(OrderRepository orderRepository,
+                                  OrderProductRepository orderProductRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  OrderProperties orderProperties) {
+        this.orderRepository = orderRepository;
+        this.orderProductRepository = orderProductRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = orderProperties.getStatistics();
+        this.forkJoinPool = new ForkJoinPool(properties.getParallelism());
+    }
+
+    /**
+     * [startDate, endDate) 사이 orderStatus 주문의 매출 통계
+     */
+    public SalesStatisticsResponse getStatistics(LocalDate startDate, LocalDate endDate, OrderStatus orderStatus,
+                                                 int topN, SalesAggregationMode mode) {
+        if (!startDate.isBefore(endDate)) {
+            throw new IllegalArgumentException("통계 종료일은 시작일 이후여야 합니다.");
+        }
+        long days = ChronoUnit.DAYS.between(startDate, endDate);
+        if (days > properties.getMaxRangeDays()) {
+            throw new IllegalArgumentException(String.format("통계 기간은 최대 %d일입니다.", properties.getMaxRangeDays()));
+        }
+        if (topN < 1) {
+            throw new IllegalArgumentException("상위 상품 수는 1 이상이어야 합니다.");
+        }
+
+        SalesAggregationMode resolvedMode = mode.resolve(days, properties.getParallelMaxDays());
+        SalesAggregate aggregate = resolvedMode == SalesAggregationMode.SQL
+                ? aggregateInDatabase(startDate.atStartOfDay(), endDate.atStartOfDay(), orderStatus)
+                : forkJoinPool.invoke(new DailyAggregationTask(startDate, endDate, orderStatus));
+
+        return SalesStatisticsResponse.of(startDate, endDate, orderStatus, resolvedMode, aggregate, topN);
+    }
+
+    @PreDestroy
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+
+    private SalesAggregate aggregateInDatabase(LocalDateTime start, LocalDateTime end, OrderStatus orderStatus) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            SalesAggregate aggregate = new SalesAggregate();
+            orderRepository.sumHourlySalesBy(start, end, orderStatus).forEach(aggregate::addHourly);
+            orderProductRepository.sumProductSalesBy(start, end, orderStatus).forEach(aggregate::addProduct);
+            return aggregate;
+        });
+    }
+
+    private SalesAggregate aggregateDay(LocalDate salesDate, OrderStatus orderStatus) {
+        LocalDateTime start = salesDate.atStartOfDay();
+        LocalDateTime end = salesDate.plusDays(1).atStartOfDay();
+        SalesAggregate aggregate = new SalesAggregate();
+
+        OrderExportRow last = null;
+        List<OrderExportRow> page;
+        do {
+            OrderExportRow after = last;
+            page = readOnlyTransactionTemplate.execute(status ->
+                    orderRepository.findExportPage(start, end, orderStatus, after, properties.getPageSize()));
+            page.forEach(aggregate::add);
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == properties.getPageSize());
+
+        return aggregate;
+    }
+
+    /**
+     * [startDate, endDate) 를 반으로 나눠가며 하루가 될 때까지 쪼개고, 하루치 집계를 merge 로 합친다.
+     */
+    private class DailyAggregationTask extends RecursiveTask<SalesAggregate> {
+
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final OrderStatus orderStatus;
+
+        private DailyAggregationTask(LocalDate startDate, LocalDate endDate, OrderStatus orderStatus) {
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.orderStatus = orderStatus;
+        }
+
+        @Override
+        protected SalesAggregate compute() {
+            long days = ChronoUnit.DAYS.between(startDate, endDate);
+            if (days == 1) {
+                return aggregateDay(startDate, orderStatus);
+            }
+
+            LocalDate middle = startDate.plusDays(days / 2);
+            DailyAggregationTask left = new DailyAggregationTask(startDate, middle, orderStatus);
+            DailyAggregationTask right = new DailyAggregationTask(middle, endDate, orderStatus);
+            left.fork();
+            SalesAggregate rightAggregate = right.compute();
+            return left.join().merge(rightAggregate);
+        }
+    }
+}
@@ -4,16 +4,40 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @NoArgsConstructor
 public class OrderCreateServiceRequest {
 
+    // 상품 하나당 수량 1 (중복 가능) - lines 가 없을 때만 사용한다.
     private List<String> productNumbers;
 
+    private List<OrderLineServiceRequest> lines;
+
     @Builder
-    private OrderCreateServiceRequest(List<String> productNumbers) {
+    private OrderCreateServiceRequest(List<String> productNumbers, List<OrderLineServiceRequest> lines) {
         this.productNumbers = productNumbers;
+        this.lines = lines;
+    }
+
+    /**
+     * 상품번호별로 수량을 합친 주문 라인 (처음 나온 순서 유지)
+     * {"001", "001", "002"} -> [{001, 2}, {002, 1}]
+     */
+    public List<OrderLineServiceRequest> toOrderLines() {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        if (lines != null && !lines.isEmpty()) {
+            lines.forEach(line -> quantities.merge(line.getProductNumber(), line.getQuantity(), Integer::sum));
+        } else if (productNumbers != null) {
+            productNumbers.forEach(productNumber -> quantities.merge(productNumber, 1, Integer::sum));
+        }
+
+        List<OrderLineServiceRequest> orderLines = new ArrayList<>(quantities.size());
+        quantities.forEach((productNumber, quantity) -> orderLines.add(OrderLineServiceRequest.of(productNumber, quantity)));
+        return orderLines;
     }
 }
@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class OrderLineServiceRequest {
+
+    private String productNumber;
+    private int quantity;
+
+    @Builder
+    private OrderLineServiceRequest(String productNumber, int quantity) {
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+    }
+
+    public static OrderLineServiceRequest of(String productNumber, int quantity) {
+        return OrderLineServiceRequest.builder()
+                .productNumber(productNumber)
+                .quantity(quantity)
+                .build();
+    }
+}
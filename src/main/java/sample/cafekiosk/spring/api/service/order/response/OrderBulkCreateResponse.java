@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class OrderBulkCreateResponse {
+    private int successCount;
+    private int failureCount;
+    private List<OrderBulkCreateResult> results;
+
+    @Builder
+    private OrderBulkCreateResponse(int successCount, int failureCount, List<OrderBulkCreateResult> results) {
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.results = results;
+    }
+
+    public static OrderBulkCreateResponse of(List<OrderBulkCreateResult> results) {
+        int successCount = (int) results.stream()
+                .filter(OrderBulkCreateResult::isSuccess)
+                .count();
+
+        return OrderBulkCreateResponse.builder()
+                .successCount(successCount)
+                .failureCount(results.size() - successCount)
+                .results(results)
+                .build();
+    }
+}
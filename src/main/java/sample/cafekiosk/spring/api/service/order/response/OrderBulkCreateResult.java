@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 일괄 주문의 주문 한 건 결과 (index 는 요청 리스트에서의 위치)
+ */
+@Getter
+public class OrderBulkCreateResult {
+    private int index;
+    private boolean success;
+    private OrderResponse order;
+    private String message;
+
+    @Builder
+    private OrderBulkCreateResult(int index, boolean success, OrderResponse order, String message) {
+        this.index = index;
+        this.success = success;
+        this.order = order;
+        this.message = message;
+    }
+
+    public static OrderBulkCreateResult success(int index, OrderResponse order) {
+        return OrderBulkCreateResult.builder()
+                .index(index)
+                .success(true)
+                .order(order)
+                .build();
+    }
+
+    public static OrderBulkCreateResult failure(int index, String message) {
+        return OrderBulkCreateResult.builder()
+                .index(index)
+                .success(false)
+                .message(message)
+                .build();
+    }
+}
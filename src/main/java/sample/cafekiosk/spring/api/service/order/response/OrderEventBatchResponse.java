@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.orderevent.OrderEvent;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * nextCursor : 다음 요청의 after 로 넘긴다. (이벤트가 없으면 요청한 after 그대로)
+ */
+@Getter
+public class OrderEventBatchResponse {
+    private long nextCursor;
+    private List<OrderEventResponse> events;
+
+    @Builder
+    private OrderEventBatchResponse(long nextCursor, List<OrderEventResponse> events) {
+        this.nextCursor = nextCursor;
+        this.events = events;
+    }
+
+    public static OrderEventBatchResponse of(long after, List<OrderEvent> events) {
+        return OrderEventBatchResponse.builder()
+                .nextCursor(events.isEmpty() ? after : events.get(events.size() - 1).getId())
+                .events(events.stream()
+                        .map(OrderEventResponse::of)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
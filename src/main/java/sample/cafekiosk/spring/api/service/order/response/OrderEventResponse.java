@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderevent.OrderEvent;
+import sample.cafekiosk.spring.domain.orderevent.OrderEventType;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class OrderEventResponse {
+    private Long id;
+    private Long orderId;
+    private OrderEventType eventType;
+    private OrderStatus orderStatus;
+    private OrderStatus previousStatus;
+    private Integer totalPrice;
+    private String detail;
+    private LocalDateTime recordedDateTime;
+
+    @Builder
+    private OrderEventResponse(Long id, Long orderId, OrderEventType eventType, OrderStatus orderStatus, OrderStatus previousStatus,
+                               Integer totalPrice, String detail, LocalDateTime recordedDateTime) {
+        this.id = id;
+        this.orderId = orderId;
+        this.eventType = eventType;
+        this.orderStatus = orderStatus;
+        this.previousStatus = previousStatus;
+        this.totalPrice = totalPrice;
+        this.detail = detail;
+        this.recordedDateTime = recordedDateTime;
+    }
+
+    public static OrderEventResponse of(OrderEvent event) {
+        return OrderEventResponse.builder()
+                .id(event.getId())
+                .orderId(event.getOrderId())
+                .eventType(event.getEventType())
+                .orderStatus(event.getOrderStatus())
+                .previousStatus(event.getPreviousStatus())
+                .totalPrice(event.getTotalPrice())
+                .detail(event.getDetail())
+                .recordedDateTime(event.getRecordedDateTime())
+                .build();
+    }
+}
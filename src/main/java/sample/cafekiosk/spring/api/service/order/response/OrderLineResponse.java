@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 주문 라인 응답 (같은 상품은 한 라인의 수량으로 합쳐서 내려준다.)
+ * unitPrice 는 주문 시점의 단가 -> 이후 상품 가격이 바뀌어도 주문 금액은 그대로
+ */
+@Getter
+public class OrderLineResponse {
+
+    private String productNumber;
+    private ProductType type;
+    private String name;
+    private int unitPrice;
+    private int quantity;
+    private int linePrice;
+
+    @Builder
+    private OrderLineResponse(String productNumber, ProductType type, String name, int unitPrice, int quantity, int linePrice) {
+        this.productNumber = productNumber;
+        this.type = type;
+        this.name = name;
+        this.unitPrice = unitPrice;
+        this.quantity = quantity;
+        this.linePrice = linePrice;
+    }
+
+    public static OrderLineResponse of(OrderProduct orderProduct) {
+        return OrderLineResponse.builder()
+                .productNumber(orderProduct.getProduct().getProductNumber())
+                .type(orderProduct.getProduct().getType())
+                .name(orderProduct.getProduct().getName())
+                .unitPrice(orderProduct.getUnitPrice())
+                .quantity(orderProduct.getQuantity())
+                .linePrice(orderProduct.getLinePrice())
+                .build();
+    }
+}
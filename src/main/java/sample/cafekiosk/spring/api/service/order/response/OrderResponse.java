@@ -2,8 +2,8 @@ package sample.cafekiosk.spring.api.service.order.response;
 
 import lombok.Builder;
 import lombok.Getter;
-import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,30 +12,36 @@ import java.util.stream.Collectors;
 @Getter
 public class OrderResponse {
     private Long id;
+    private OrderStatus orderStatus;
+    private Long version;
     private int totalPrice;
     private LocalDateTime registeredDateTime;
-    private List<ProductResponse> products;
+    private List<OrderLineResponse> lines;
 
     @Builder
-    private OrderResponse(Long id, int totalPrice, LocalDateTime registerDateTime, List<ProductResponse> products) {
+    private OrderResponse(Long id, OrderStatus orderStatus, Long version, int totalPrice, LocalDateTime registerDateTime, List<OrderLineResponse> lines) {
         this.id = id;
+        this.orderStatus = orderStatus;
+        this.version = version;
         this.totalPrice = totalPrice;
         this.registeredDateTime = registerDateTime;
-        this.products = products;
+        this.lines = lines;
     }
 
     public static OrderResponse of(Order order) {
         return OrderResponse.builder()
                 .id(order.getId())
+                .orderStatus(order.getOrderStatus())
+                .version(order.getVersion())
                 .totalPrice(order.getTotalPrice())
                 .registerDateTime(order.getRegisteredDateTime())
-                .products(convertOrderToProductResponse(order))
+                .lines(convertOrderToLineResponse(order))
                 .build();
     }
 
-    private static List<ProductResponse> convertOrderToProductResponse(Order order) {
+    private static List<OrderLineResponse> convertOrderToLineResponse(Order order) {
         return order.getOrderProducts().stream()
-                .map(orderProduct -> ProductResponse.of(orderProduct.getProduct()))
+                .map(OrderLineResponse::of)
                 .collect(Collectors.toList());
     }
 }
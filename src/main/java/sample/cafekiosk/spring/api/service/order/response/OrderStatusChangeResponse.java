@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/**
+ * 일괄 상태 변경 결과
+ * skippedCount : 없는 주문이거나 이미 from 이 아닌 상태였던 주문 수
+ */
+@Getter
+public class OrderStatusChangeResponse {
+    private OrderStatus from;
+    private OrderStatus to;
+    private int requestedCount;
+    private int changedCount;
+    private int skippedCount;
+
+    @Builder
+    private OrderStatusChangeResponse(OrderStatus from, OrderStatus to, int requestedCount, int changedCount, int skippedCount) {
+        this.from = from;
+        this.to = to;
+        this.requestedCount = requestedCount;
+        this.changedCount = changedCount;
+        this.skippedCount = skippedCount;
+    }
+
+    public static OrderStatusChangeResponse of(OrderStatus from, OrderStatus to, int requestedCount, int changedCount) {
+        return OrderStatusChangeResponse.builder()
+                .from(from)
+                .to(to)
+                .requestedCount(requestedCount)
+                .changedCount(changedCount)
+                .skippedCount(requestedCount - changedCount)
+                .build();
+    }
+}
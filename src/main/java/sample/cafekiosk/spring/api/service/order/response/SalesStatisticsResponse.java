@@ -0,0 +1,92 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.order.SalesAggregationMode;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.ProductSalesSummary;
+import sample.cafekiosk.spring.domain.sales.SalesAggregate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Getter
+public class SalesStatisticsResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private OrderStatus orderStatus;
+    private SalesAggregationMode mode;
+    private long totalAmount;
+    private long orderCount;
+    private List<HourlySales> hourlySales;
+    private List<ProductSales> productSales;
+    private List<ProductSales> topProducts;
+
+    @Builder
+    private SalesStatisticsResponse(LocalDate startDate, LocalDate endDate, OrderStatus orderStatus, SalesAggregationMode mode,
+                                    long totalAmount, long orderCount, List<HourlySales> hourlySales,
+                                    List<ProductSales> productSales, List<ProductSales> topProducts) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.orderStatus = orderStatus;
+        this.mode = mode;
+        this.totalAmount = totalAmount;
+        this.orderCount = orderCount;
+        this.hourlySales = hourlySales;
+        this.productSales = productSales;
+        this.topProducts = topProducts;
+    }
+
+    public static SalesStatisticsResponse of(LocalDate startDate, LocalDate endDate, OrderStatus orderStatus,
+                                             SalesAggregationMode mode, SalesAggregate aggregate, int topN) {
+        List<ProductSales> productSales = aggregate.getProductSales().stream()
+                .map(ProductSales::of)
+                .collect(Collectors.toList());
+
+        return SalesStatisticsResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .orderStatus(orderStatus)
+                .mode(mode)
+                .totalAmount(aggregate.getTotalAmount())
+                .orderCount(aggregate.getOrderCount())
+                .hourlySales(IntStream.range(0, 24)
+                        .mapToObj(hour -> new HourlySales(hour, aggregate.getHourlyAmount(hour), aggregate.getHourlyCount(hour)))
+                        .collect(Collectors.toList()))
+                .productSales(productSales)
+                .topProducts(productSales.subList(0, Math.min(topN, productSales.size())))
+                .build();
+    }
+
+    @Getter
+    public static class HourlySales {
+        private int hour;
+        private long totalAmount;
+        private long orderCount;
+
+        private HourlySales(int hour, long totalAmount, long orderCount) {
+            this.hour = hour;
+            this.totalAmount = totalAmount;
+            this.orderCount = orderCount;
+        }
+    }
+
+    @Getter
+    public static class ProductSales {
+        private String productNumber;
+        private long quantity;
+        private long amount;
+
+        private ProductSales(String productNumber, long quantity, long amount) {
+            this.productNumber = productNumber;
+            this.quantity = quantity;
+            this.amount = amount;
+        }
+
+        private static ProductSales of(ProductSalesSummary summary) {
+            return new ProductSales(summary.getProductNumber(), summary.getQuantity(), summary.getAmount());
+        }
+    }
+}
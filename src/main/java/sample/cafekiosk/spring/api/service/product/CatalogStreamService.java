@@ -0,0 +1,328 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import sample.cafekiosk.spring.api.service.product.response.CatalogChangeResponse;
+import sample.cafekiosk.spring.api.service.stock.StockDeductors;
+import sample.cafekiosk.spring.config.ProductProperties;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+import sample.cafekiosk.spring.domain.stock.StockChangedEvent;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품(판매상태/가격) / 재고 변경분을 키오스크에 SSE 로 밀어준다.
+ * 1. 변경은 커밋 이후에 이벤트 id 를 붙여서 최근 이벤트 버퍼(ring buffer)에 쌓고, 모든 구독자의 큐에 넣기만 한다. (발행 스레드는 I/O 를 하지 않는다.)
+ * 2. 구독자마다 큐를 두고, 적은 수의 dispatcher 스레드가 큐를 비우면서 write 한다.
+ *    -> 연결이 수천 개여도 서블릿 스레드는 잡지 않는다. (SseEmitter = async servlet) 느린 구독자는 큐가 넘치면 끊는다.
+ *    -> write 자체는 blocking 이다. 클라이언트가 읽지 않아서 TCP 버퍼가 차면 dispatcher 스레드가 그 write 에서 멈춘다.
+ *       write 가 writeTimeout 보다 오래 걸리는 구독자는 더 이상 이벤트를 넣지 않고 끊고,
+ *       멈춘 write 는 server.tomcat.connection-timeout (= 소켓 write timeout) 에서 예외로 풀린다.
+ *       emitter.complete() 는 send() 와 같은 락을 잡으므로 dispatcher 스레드에서만 부른다. (발행 스레드가 멈춘 write 를 기다리지 않도록)
+ * 3. Last-Event-ID 로 다시 연결하면 버퍼에서 그 이후 이벤트부터 보낸다. 버퍼보다 오래된 id 거나 밀린 이벤트가 maxPendingEvents 보다 많으면
+ *    RESET 을 보내서 전체 목록을 다시 받게 한다. (다 밀어 넣으면 큐가 넘쳐서 다시 연결할 때마다 끊긴다.)
+ * 4. 재고는 주문마다 보내지 않고 stockFlushInterval 마다 바뀐 상품번호를 모아서 한 번에 조회해서 보낸다.
+ *    -> 수량은 지금 차감 방식의 기준으로 읽는다. (ledger 면 DB 가 아니라 장부 수량)
+ */
+@Slf4j
+@Service
+public class CatalogStreamService {
+
+    static final String RESET = "RESET";
+
+    // 이벤트 id = {서버 기동 시각}:{순번} -> 재시작 전의 Last-Event-ID 를 구분한다.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final StockDeductors stockDeductors;
+    private final ObjectMapper objectMapper;
+    private final ProductProperties.Stream properties;
+
+    private final ExecutorService dispatcher;
+
+    // 발행(버퍼 추가 + 큐 넣기)과 구독(버퍼 재전송 + 등록)의 순서를 맞추기 위한 락
+    private final Object publishLock = new Object();
+    private final ArrayDeque<StreamEvent> recentEvents = new ArrayDeque<>();
+    private long lastEventId;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Set<String> changedStockProductNumbers = ConcurrentHashMap.newKeySet();
+
+    public CatalogStreamService(StockDeductors stockDeductors, ObjectMapper objectMapper, ProductProperties productProperties) {
+        this.stockDeductors = stockDeductors;
+        this.objectMapper = objectMapper;
+        this.properties = productProperties.getStream();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(properties.getDispatcherThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "catalog-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (publishLock) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        publish(CatalogChangeResponse.ofProduct(event.getProduct(), LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        changedStockProductNumbers.addAll(event.getProductNumbers());
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.product.stream.stock-flush-interval-millis:200}")
+    public void flushStockChanges() {
+        if (changedStockProductNumbers.isEmpty()) {
+            return;
+        }
+
+        List<String> productNumbers = new ArrayList<>(changedStockProductNumbers);
+        changedStockProductNumbers.removeAll(productNumbers);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (StockQuantity stock : stockDeductors.current().getQuantities(productNumbers)) {
+            publish(CatalogChangeResponse.ofStock(stock, now));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.product.stream.heartbeat-interval-millis:15000}")
+    public void sendHeartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(StreamEvent.HEARTBEAT));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public String getLastEventId() {
+        synchronized (publishLock) {
+            return toEventId(lastEventId);
+        }
+    }
+
+    void publish(CatalogChangeResponse change) {
+        String data = serialize(change);
+
+        synchronized (publishLock) {
+            lastEventId++;
+            StreamEvent event = new StreamEvent(lastEventId, toEventId(lastEventId), change.getType(), data);
+            recentEvents.addLast(event);
+            if (recentEvents.size() > properties.getBufferSize()) {
+                recentEvents.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private void replay(Subscriber subscriber, String lastEventId) {
+        long sequence = parseSequence(lastEventId);
+        StreamEvent oldest = recentEvents.peekFirst();
+        boolean missedEvents = oldest == null ? sequence < this.lastEventId : sequence < oldest.getId() - 1;
+        boolean tooFarBehind = this.lastEventId - sequence > properties.getMaxPendingEvents();
+        if (sequence < 0 || missedEvents || tooFarBehind || sequence > this.lastEventId) {
+            // 버퍼에 없는 이벤트가 있거나, 밀린 이벤트가 구독자 큐보다 많거나, 서버가 재시작해서 id 가 이어지지 않는다.
+            // -> 전체 목록(GET /selling)을 다시 받게 한다.
+            subscriber.offer(new StreamEvent(this.lastEventId, toEventId(this.lastEventId), RESET, "{}"));
+            return;
+        }
+
+        for (StreamEvent event : recentEvents) {
+            if (event.getId() > sequence) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    /**
+     * @return 이 서버가 발급한 id 면 순번, 아니면 -1
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf(':');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String toEventId(long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    private String serialize(CatalogChangeResponse change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("변경 이벤트를 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdownNow();
+    }
+
+    private static class StreamEvent {
+
+        private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null, null);
+
+        private final long id;
+        private final String eventId;
+        private final String name;
+        private final String data;
+
+        private StreamEvent(long id, String eventId, String name, String data) {
+            this.id = id;
+            this.eventId = eventId;
+            this.name = name;
+            this.data = data;
+        }
+
+        private long getId() {
+            return id;
+        }
+
+        private SseEmitter.SseEventBuilder toSseEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(eventId)
+                    .name(name)
+                    .data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * 구독자별 큐 -> dispatcher 스레드 하나만 이 큐를 비우도록 scheduled 플래그로 막는다.
+     */
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<StreamEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+
+        // 진행 중인 write 를 시작한 시각 (System.nanoTime, write 중이 아니면 0)
+        private volatile long writeStartedAt;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(StreamEvent event) {
+            if (closed) {
+                return;
+            }
+            if (isWriteStalled()) {
+                log.info("write 가 {} 넘게 끝나지 않는 구독자의 연결을 끊습니다.", properties.getWriteTimeout());
+                close();
+                return;
+            }
+            if (pendingCount.incrementAndGet() > properties.getMaxPendingEvents()) {
+                log.info("이벤트를 따라오지 못하는 구독자의 연결을 끊습니다.");
+                close();
+                return;
+            }
+
+            pendingEvents.offer(event);
+            schedule();
+        }
+
+        private boolean isWriteStalled() {
+            long startedAt = writeStartedAt;
+            return startedAt != 0 && System.nanoTime() - startedAt > properties.getWriteTimeout().toNanos();
+        }
+
+        private void schedule() {
+            if ((closed || !pendingEvents.isEmpty()) && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                StreamEvent event;
+                while (!closed && (event = pendingEvents.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    writeStartedAt = System.nanoTime();
+                    emitter.send(event.toSseEvent());
+                    writeStartedAt = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 끊었거나 write timeout 이 지났다.
+                closed = true;
+                subscribers.remove(this);
+            } finally {
+                writeStartedAt = 0;
+                scheduled.set(false);
+            }
+
+            if (closed) {
+                pendingEvents.clear();
+                emitter.complete();
+                return;
+            }
+            // drain 이 끝나는 사이에 들어온 이벤트
+            schedule();
+        }
+
+        /**
+         * 발행 / 구독 스레드에서 불러도 막히지 않는다. -> emitter 는 dispatcher 스레드가 닫는다.
+         */
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            pendingEvents.clear();
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.config.ProductProperties;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 상품번호 -> 상품 near-cache
+ * - 최대 크기를 넘으면 가장 오래 사용하지 않은 상품부터 제거한다. (LRU)
+ * - TTL 이 지난 상품은 다시 DB 에서 읽는다.
+ * - 상품이 생성/변경되면 ProductChangedEvent 로 커밋 이후에 갱신한다.
+ */
+@Component
+public class ProductCache {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, CachedProduct> products = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    @Autowired
+    public ProductCache(ProductProperties productProperties) {
+        this(productProperties.getCache().getMaxSize(), productProperties.getCache().getTtl(), Clock.systemUTC());
+    }
+
+    ProductCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * 캐시에 있는 상품은 바로 돌려주고, 없는 상품번호만 모아서 loader 로 한 번에 조회한다.
+     */
+    public Map<String, Product> getAll(Collection<String> productNumbers, Function<List<String>, List<Product>> loader) {
+        Map<String, Product> result = new HashMap<>();
+        List<String> missingProductNumbers = new ArrayList<>();
+
+        synchronized (this) {
+            Instant now = clock.instant();
+            for (String productNumber : new LinkedHashSet<>(productNumbers)) {
+                CachedProduct cachedProduct = products.get(productNumber);
+                if (cachedProduct != null && cachedProduct.isExpired(now)) {
+                    products.remove(productNumber);
+                    evictionCount.incrementAndGet();
+                    cachedProduct = null;
+                }
+
+                if (cachedProduct == null) {
+                    missCount.incrementAndGet();
+                    missingProductNumbers.add(productNumber);
+                    continue;
+                }
+                hitCount.incrementAndGet();
+                result.put(productNumber, cachedProduct.getProduct());
+            }
+        }
+
+        if (!missingProductNumbers.isEmpty()) {
+            List<Product> loadedProducts = loader.apply(missingProductNumbers);
+            loadedProducts.forEach(product -> result.put(product.getProductNumber(), product));
+            putAll(loadedProducts);
+        }
+
+        return result;
+    }
+
+    public synchronized void put(Product product) {
+        putAll(List.of(product));
+    }
+
+    public synchronized void evict(String productNumber) {
+        products.remove(productNumber);
+    }
+
+    public synchronized void invalidateAll() {
+        products.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.getProduct();
+        evict(product.getProductNumber());
+        put(product);
+    }
+
+    public synchronized int size() {
+        return products.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private synchronized void putAll(List<Product> loadedProducts) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        loadedProducts.forEach(product -> products.put(product.getProductNumber(), new CachedProduct(product, expiresAt)));
+
+        Iterator<String> eldest = products.keySet().iterator();
+        while (products.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private static class CachedProduct {
+
+        private final Product product;
+        private final Instant expiresAt;
+
+        private CachedProduct(Product product, Instant expiresAt) {
+            this.product = product;
+            this.expiresAt = expiresAt;
+        }
+
+        private Product getProduct() {
+            return product;
+        }
+
+        private boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
+    }
+}
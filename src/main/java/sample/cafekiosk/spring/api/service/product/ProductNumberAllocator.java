@@ -0,0 +1,130 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.config.ProductProperties;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequence;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품번호 발급기
+ * 1. DB 시퀀스(product_number_sequence)에서 blockSize 만큼의 번호 구간을 별도 트랜잭션으로 가져온다.
+ * 2. 구간 안의 번호는 AtomicLong 으로 락 없이 나눠준다.
+ * 3. 구간을 다 쓴 스레드만 다음 구간을 가져온다.
+ * -> 서버 재시작 시 다 쓰지 못한 구간은 버려지므로 번호는 유일하지만 연속적이지 않을 수 있다.
+ */
+@Component
+public class ProductNumberAllocator {
+
+    private static final String SEQUENCE_NAME = "product_number";
+
+    private final ProductRepository productRepository;
+    private final ProductNumberSequenceRepository productNumberSequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String numberFormat;
+    private final int blockSize;
+
+    private volatile Block block = Block.EMPTY;
+
+    // 구간을 가져오는 동안 DB 트랜잭션을 돈다. -> synchronized 대신 ReentrantLock (virtual thread pinning 방지)
+    private final Lock refillLock = new ReentrantLock();
+
+    public ProductNumberAllocator(ProductRepository productRepository,
+                                  ProductNumberSequenceRepository productNumberSequenceRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ProductProperties productProperties) {
+        this.productRepository = productRepository;
+        this.productNumberSequenceRepository = productNumberSequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.numberFormat = "%0" + productProperties.getNumber().getWidth() + "d";
+        this.blockSize = productProperties.getNumber().getBlockSize();
+    }
+
+    public String allocate() {
+        while (true) {
+            Block current = block;
+            long number = current.next();
+            if (number > 0) {
+                return String.format(numberFormat, number);
+            }
+            refill(current);
+        }
+    }
+
+    /**
+     * 메모리에 들고 있는 구간과 시퀀스를 비운다. 다음 발급은 마지막 상품번호 다음부터 시작한다.
+     */
+    public void reset() {
+        refillLock.lock();
+        try {
+            block = Block.EMPTY;
+            productNumberSequenceRepository.deleteAllInBatch();
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block != exhausted) {
+                return; // 다른 스레드가 이미 새 구간을 가져왔다.
+            }
+
+            block = transactionTemplate.execute(status -> fetchBlock());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버가 먼저 시퀀스를 만들었다. -> 다음 루프에서 update 로 가져간다.
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block fetchBlock() {
+        if (productNumberSequenceRepository.increaseNextValue(SEQUENCE_NAME, blockSize) == 0) {
+            long first = latestProductNumber() + 1;
+            productNumberSequenceRepository.saveAndFlush(new ProductNumberSequence(SEQUENCE_NAME, first + blockSize));
+            return new Block(first, first + blockSize);
+        }
+
+        long end = productNumberSequenceRepository.findById(SEQUENCE_NAME)
+                .orElseThrow(() -> new IllegalStateException("상품번호 시퀀스가 없습니다."))
+                .getNextValue();
+        return new Block(end - blockSize, end);
+    }
+
+    private long latestProductNumber() {
+        // 시퀀스가 처음 만들어질 때만 기존 상품번호 다음부터 이어서 발급한다.
+        String latestProductNumber = productRepository.findLatestProductNumber();
+        if (latestProductNumber == null) {
+            return 0;
+        }
+        return Long.parseLong(latestProductNumber);
+    }
+
+    private static class Block {
+
+        private static final Block EMPTY = new Block(0, 0);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+
+        private long next() {
+            long number = next.getAndIncrement();
+            return number < end ? number : -1;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package sample.cafekiosk.spring.api.service.product;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 
@@ -25,35 +28,51 @@ import java.util.stream.Collectors;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductNumberAllocator productNumberAllocator;
+    private final SellingProductCatalog sellingProductCatalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     // productNumber 생성
     // 001 002 003 004
-    // DB에서 마지막 저장된 Product의 상품 번호를 읽어와서 + 1
-    // ex) 009(기존 마지막 상품번호) -> 010 (새로 생성한 상품번호)
-    // 동시성 이슈도 생길 수 있음
+    // 기존에는 DB에서 마지막 저장된 Product의 상품 번호를 읽어와서 + 1 -> 동시에 등록하면 같은 번호가 나왔다.
+    // 이제는 ProductNumberAllocator 가 DB 시퀀스에서 번호 구간을 받아서 겹치지 않게 나눠준다.
+    // 상품번호에는 unique 제약조건이 걸려있다.
     @Transactional
     public ProductResponse createProduct(ProductCreateServiceRequest request) {
-        String nextProductNumber = createNextProductNumber();
+        String nextProductNumber = productNumberAllocator.allocate();
 
         Product product = request.toEntity(nextProductNumber);
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct)); // 커밋 이후 상품 캐시 갱신
 
         return ProductResponse.of(savedProduct);
     }
 
-    private String createNextProductNumber() {
-        String latestProductNumber = productRepository.findLatestProductNumber();
-        if (latestProductNumber == null) {
-            return "001";
-        }
+    @Transactional
+    public ProductResponse changeSellingStatus(String productNumber, ProductSellingStatus sellingStatus) {
+        Product product = getProduct(productNumber);
+        product.changeSellingStatus(sellingStatus);
+        eventPublisher.publishEvent(new ProductChangedEvent(product));
+
+        return ProductResponse.of(product);
+    }
 
-        int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-        int nextProductNumberInt = latestProductNumberInt + 1;
+    @Transactional
+    public ProductResponse changePrice(String productNumber, int price) {
+        Product product = getProduct(productNumber);
+        product.changePrice(price);
+        eventPublisher.publishEvent(new ProductChangedEvent(product));
 
-        // 9 -> 009, 10 -> 010
-        return String.format("%03d", nextProductNumberInt);
+        return ProductResponse.of(product);
     }
 
+    /**
+     * 판매 상품 목록 스냅샷 (미리 직렬화한 응답 본문 + ETag), 상품이 바뀔 때만 DB 를 다시 읽는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 스냅샷이 있으면 커넥션도 잡지 않는다.
+    public SellingProductSnapshot getSellingProductCatalog() {
+        return sellingProductCatalog.get();
+    }
 
     public List<ProductResponse> getSellingProducts() {
         List<Product> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
@@ -63,4 +82,8 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
+    private Product getProduct(String productNumber) {
+        return productRepository.findByProductNumber(productNumber)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+    }
 }
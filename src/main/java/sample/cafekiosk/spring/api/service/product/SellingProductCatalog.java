@@ -0,0 +1,99 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 키오스크가 몇 초마다 조회하는 판매 상품 목록을 메모리 스냅샷으로 들고 있는다.
+ * - 상품이 생성/변경되면(ProductChangedEvent, 커밋 이후) 스냅샷을 버리고, 다음 조회 때 한 번만 다시 만든다.
+ * - 이벤트가 몰려도 조회가 없으면 다시 만들지 않는다.
+ */
+@Component
+public class SellingProductCatalog {
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile SellingProductSnapshot snapshot;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong rebuildCount = new AtomicLong();
+
+    // synchronized 안에서 DB 를 읽으면 virtual thread 가 carrier 스레드에 고정(pinning)된다. -> ReentrantLock
+    private final Lock rebuildLock = new ReentrantLock();
+
+    public SellingProductCatalog(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public SellingProductSnapshot get() {
+        SellingProductSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * rebuild() 와 같은 락을 잡으므로, 다시 만드는 도중에 들어온 무효화도 잃어버리지 않는다.
+     */
+    public void invalidate() {
+        rebuildLock.lock();
+        try {
+            snapshot = null;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    // 스냅샷이 없을 때 동시에 들어온 조회들은 한 번만 DB 를 읽는다.
+    private SellingProductSnapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            if (snapshot != null) {
+                return snapshot;
+            }
+
+            List<ProductResponse> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay()).stream()
+                    .map(ProductResponse::of)
+                    .collect(Collectors.toList());
+            snapshot = SellingProductSnapshot.of(version.incrementAndGet(), products, serialize(products));
+            rebuildCount.incrementAndGet();
+
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private byte[] serialize(List<ProductResponse> products) {
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.ok(products));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("판매 상품 목록을 직렬화할 수 없습니다.", e);
+        }
+    }
+}
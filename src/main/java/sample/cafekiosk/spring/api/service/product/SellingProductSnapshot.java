@@ -0,0 +1,68 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * 판매 상품 목록 스냅샷
+ * json 은 ApiResponse 로 감싼 응답 본문을 미리 직렬화해 둔 것 -> 요청마다 다시 직렬화하지 않는다.
+ * etag 는 본문 바이트의 해시라서 내용이 같으면 다시 만들어도 같은 값이다. (strong ETag)
+ */
+@Getter
+public class SellingProductSnapshot {
+
+    private final long version;
+    private final List<ProductResponse> products;
+    private final byte[] json;
+    private final String etag;
+
+    private SellingProductSnapshot(long version, List<ProductResponse> products, byte[] json, String etag) {
+        this.version = version;
+        this.products = products;
+        this.json = json;
+        this.etag = etag;
+    }
+
+    public static SellingProductSnapshot of(long version, List<ProductResponse> products, byte[] json) {
+        return new SellingProductSnapshot(version, List.copyOf(products), json, createEtag(json));
+    }
+
+    private static String createEtag(byte[] json) {
+        try {
+            byte[] hashed = MessageDigest.getInstance("SHA-256").digest(json);
+
+            StringBuilder etag = new StringBuilder("\"");
+            for (int i = 0; i < 16; i++) {
+                etag.append(String.format("%02x", hashed[i]));
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * If-None-Match 헤더 값 ("\"a\", \"b\"", W/ 접두어, * 포함) 중에 현재 ETag 가 있는지
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
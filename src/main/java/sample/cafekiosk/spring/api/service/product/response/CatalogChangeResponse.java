@@ -0,0 +1,60 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 키오스크로 보내는 변경분 (SSE data)
+ * PRODUCT -> 판매상태/가격 등 상품 정보, STOCK -> 현재 재고 수량
+ */
+@Getter
+public class CatalogChangeResponse {
+
+    public static final String PRODUCT = "PRODUCT";
+    public static final String STOCK = "STOCK";
+
+    private String type;
+    private String productNumber;
+    private String name;
+    private ProductSellingStatus sellingStatus;
+    private Integer price;
+    private Integer quantity;
+    private LocalDateTime occurredDateTime;
+
+    @Builder
+    private CatalogChangeResponse(String type, String productNumber, String name, ProductSellingStatus sellingStatus,
+                                  Integer price, Integer quantity, LocalDateTime occurredDateTime) {
+        this.type = type;
+        this.productNumber = productNumber;
+        this.name = name;
+        this.sellingStatus = sellingStatus;
+        this.price = price;
+        this.quantity = quantity;
+        this.occurredDateTime = occurredDateTime;
+    }
+
+    public static CatalogChangeResponse ofProduct(Product product, LocalDateTime occurredDateTime) {
+        return CatalogChangeResponse.builder()
+                .type(PRODUCT)
+                .productNumber(product.getProductNumber())
+                .name(product.getName())
+                .sellingStatus(product.getSellingStatus())
+                .price(product.getPrice())
+                .occurredDateTime(occurredDateTime)
+                .build();
+    }
+
+    public static CatalogChangeResponse ofStock(StockQuantity stock, LocalDateTime occurredDateTime) {
+        return CatalogChangeResponse.builder()
+                .type(STOCK)
+                .productNumber(stock.getProductNumber())
+                .quantity(stock.getQuantity())
+                .occurredDateTime(occurredDateTime)
+                .build();
+    }
+}
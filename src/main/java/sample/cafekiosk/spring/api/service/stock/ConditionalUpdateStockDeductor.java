@@ -0,0 +1,67 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.stock.StockDeduction;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 엔티티를 읽지 않고 update ... where quantity >= ? 한 문장으로 차감한다.
+ * 검사와 차감이 DB 안에서 한 번에 일어나므로 lost update 가 없고, 락은 update 하는 동안만 잡힌다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ConditionalUpdateStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.CONDITIONAL_UPDATE;
+    }
+
+    @Transactional
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        // 상품번호 순으로 정렬해서 update 순서(= row 락 순서)를 고정한다.
+        List<StockDeduction> deductions = new TreeMap<>(quantities).entrySet().stream()
+                .map(entry -> new StockDeduction(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+
+        int[] updatedCounts = stockRepository.deductQuantitiesIfSufficient(deductions);
+        for (int updatedCount : updatedCounts) {
+            if (updatedCount == 0) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+        }
+    }
+
+    @Transactional
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        stockRepository.restoreQuantities(new TreeMap<>(quantities).entrySet().stream()
+                .map(entry -> new StockDeduction(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<StockQuantity> getQuantities(Collection<String> productNumbers) {
+        return stockRepository.findQuantitiesByProductNumberIn(productNumbers);
+    }
+}
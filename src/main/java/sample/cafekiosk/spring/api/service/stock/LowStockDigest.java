@@ -0,0 +1,91 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.mail.MailService;
+import sample.cafekiosk.spring.config.StockProperties;
+import sample.cafekiosk.spring.domain.stock.LowStockAlert;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 부족 digest
+ * 1. 차감하는 쪽(조건부 update / 비관적 락 / 재고 장부 반영)은 low_watermark 이하가 된 재고를 DETECTED 로 표시만 한다. (주문 경로에 조회/메일 없음)
+ * 2. 주기마다 DETECTED 재고를 NOTIFIED 로 claim 하고, 한 통의 메일로 묶어서 outbox 에 넣는다.
+ * 3. 재입고로 low_watermark 를 넘은 재고는 ARMED 로 돌려서 다음 부족 때 다시 알린다.
+ */
+@Slf4j
+@Component
+public class LowStockDigest {
+
+    private final StockRepository stockRepository;
+    private final MailService mailService;
+    private final TransactionTemplate transactionTemplate;
+    private final StockProperties.LowWatermark properties;
+
+    public LowStockDigest(StockRepository stockRepository,
+                          MailService mailService,
+                          PlatformTransactionManager transactionManager,
+                          StockProperties stockProperties) {
+        this.stockRepository = stockRepository;
+        this.mailService = mailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = stockProperties.getLowWatermark();
+    }
+
+    /**
+     * @return 이번 digest 에 담긴 재고 수 (보낼 것이 없으면 0)
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.low-watermark.digest-interval-millis:60000}")
+    public int send() {
+        Integer notified = transactionTemplate.execute(status -> {
+            stockRepository.rearmRecoveredLowStockAlerts();
+
+            List<Stock> detected = stockRepository.findAllByLowStockAlertOrderByProductNumber(LowStockAlert.DETECTED);
+            if (detected.isEmpty()) {
+                return 0;
+            }
+
+            List<Stock> claimed = claim(detected);
+            if (claimed.isEmpty()) {
+                return 0; // 다른 서버가 먼저 보냈다.
+            }
+
+            // outbox 저장과 claim 이 같은 트랜잭션이라 둘 중 하나만 반영되는 일은 없다.
+            mailService.enqueueMail(properties.getFromEmail(),
+                    properties.getToEmail(),
+                    String.format("[재고부족] %d개 상품", claimed.size()),
+                    createContent(claimed)
+            );
+            return claimed.size();
+        });
+
+        if (notified != null && notified > 0) {
+            log.info("재고 부족 digest 를 outbox 에 넣었습니다. products={}", notified);
+        }
+        return notified == null ? 0 : notified;
+    }
+
+    /**
+     * 한 건씩 DETECTED -> NOTIFIED 로 바꾸고, 이쪽에서 바꾼 재고만 돌려준다.
+     * -> 다른 서버가 일부를 먼저 가져갔으면 그 재고는 이 digest 에 담지 않는다. (상품번호 순으로 update 해서 서버끼리 데드락 없음)
+     */
+    List<Stock> claim(List<Stock> detected) {
+        return detected.stream()
+                .filter(stock -> stockRepository.claimLowStockAlert(stock.getId()) == 1)
+                .collect(Collectors.toList());
+    }
+
+    private static String createContent(List<Stock> stocks) {
+        return stocks.stream()
+                .map(stock -> String.format("%s : 남은 수량 %d (기준 %d)",
+                        stock.getProductNumber(), stock.getQuantity(), stock.getLowWatermark()))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,72 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockDeduction;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * select ... for update 로 재고를 잠근 뒤 엔티티에서 차감한다. (변경감지로 update)
+ * 락은 항상 상품번호 순으로 잡기 때문에 여러 상품을 주문하는 요청끼리 데드락이 생기지 않는다.
+ */
+@RequiredArgsConstructor
+@Component
+public class PessimisticLockStockDeductor implements StockDeductor {
+
+    private final StockRepository stockRepository;
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.PESSIMISTIC_LOCK;
+    }
+
+    @Transactional
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        TreeMap<String, Integer> sortedQuantities = new TreeMap<>(quantities);
+        List<Stock> stocks = stockRepository.findAllByProductNumberInForUpdate(sortedQuantities.keySet());
+        Map<String, Stock> stockMap = stocks.stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
+
+        for (Map.Entry<String, Integer> entry : sortedQuantities.entrySet()) {
+            Stock stock = stockMap.get(entry.getKey());
+            int quantity = entry.getValue();
+
+            if (stock == null || stock.isQuantityLessThan(quantity)) {
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+            stock.deductQuantity(quantity);
+        }
+    }
+
+    @Transactional
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        // 되돌리는 쪽은 재고 부족 검사가 없으므로 잠그지 않고 update 한 문장으로 더한다.
+        stockRepository.restoreQuantities(new TreeMap<>(quantities).entrySet().stream()
+                .map(entry -> new StockDeduction(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<StockQuantity> getQuantities(Collection<String> productNumbers) {
+        return stockRepository.findQuantitiesByProductNumberIn(productNumbers);
+    }
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockDeductionMode {
+
+    CONDITIONAL_UPDATE("조건부 update 로 원자적 차감"),
+    PESSIMISTIC_LOCK("상품번호 순으로 비관적 락을 잡고 차감"),
+    LEDGER("메모리 재고 장부에서 예약하고 DB 에는 모아서 반영");
+
+    private final String text;
+}
@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface StockDeductor {
+
+    StockDeductionMode getMode();
+
+    /**
+     * Map<상품번호, 차감 수량> 만큼 재고를 차감한다.
+     * 하나라도 재고가 부족하면 IllegalArgumentException 을 던지고, 호출한 트랜잭션은 롤백되어야 한다.
+     */
+    void deduct(Map<String, Integer> quantities);
+
+    /**
+     * Map<상품번호, 수량> 만큼 재고를 되돌린다. (주문 취소)
+     * 호출한 트랜잭션이 롤백되면 되돌린 수량도 반영되지 않아야 한다.
+     */
+    void restore(Map<String, Integer> quantities);
+
+    /**
+     * 이 방식으로 주문할 때 기준이 되는 재고 수량을 조회한다. (ledger 는 DB 가 아니라 장부 수량)
+     */
+    List<StockQuantity> getQuantities(Collection<String> productNumbers);
+}
@@ -0,0 +1,38 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.config.StockProperties;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 설정(cafekiosk.stock.deduction-mode)에 따라 사용할 재고 차감 방식을 골라준다.
+ */
+@Component
+public class StockDeductors {
+
+    private final Map<StockDeductionMode, StockDeductor> deductors = new EnumMap<>(StockDeductionMode.class);
+    private final StockProperties stockProperties;
+
+    public StockDeductors(List<StockDeductor> deductors, StockProperties stockProperties) {
+        deductors.forEach(deductor -> this.deductors.put(deductor.getMode(), deductor));
+        this.stockProperties = stockProperties;
+
+        // 설정한 방식의 빈이 없으면 첫 주문이 아니라 기동할 때 실패한다.
+        current();
+    }
+
+    public StockDeductor current() {
+        return get(stockProperties.getDeductionMode());
+    }
+
+    public StockDeductor get(StockDeductionMode mode) {
+        StockDeductor deductor = deductors.get(mode);
+        if (deductor == null) {
+            throw new IllegalStateException("사용할 수 없는 재고 차감 방식입니다. mode=" + mode);
+        }
+        return deductor;
+    }
+}
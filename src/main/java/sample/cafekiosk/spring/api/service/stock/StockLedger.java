@@ -0,0 +1,357 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.stock.response.StockReconciliationResponse;
+import sample.cafekiosk.spring.config.StockProperties;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockDeduction;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 메모리 재고 장부
+ * 1. 주문은 상품번호별 AtomicInteger 에서 CAS 로 재고를 예약한다. (DB 왕복 없음)
+ * 2. 예약은 journal 에 먼저 기록하고, 상품별 미반영 수량(pending)에 합산한다.
+ * 3. flush() 가 주기적으로 pending 을 모아서 stock 테이블에 batch update 한다. (write-behind)
+ * 4. 재시작 시 journal 에서 DB 에 반영되지 못한 예약을 다시 반영한 뒤 장부를 채운다.
+ *    -> DB 반영 후 F 마커를 쓰기 전에 죽으면 한 번 더 차감될 수는 있지만(과소 재고), 초과 판매는 생기지 않는다.
+ * 5. 장부 밖에서 바뀐 DB 재고(입고, 직접 수정)는 resync() 가 주기적으로 읽어서 장부에 다시 맞춘다. (장부 = DB - 미반영 예약)
+ */
+@Slf4j
+@Conditional(StockLedgerCondition.class)
+@Component
+public class StockLedger implements StockDeductor {
+
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockLedgerJournal journal;
+
+    private final Map<String, AtomicInteger> available = new ConcurrentHashMap<>();
+    private volatile Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    // 예약(read lock)끼리는 동시에 진행하고, flush / resync 가 pending 을 바꿔치기하거나 장부를 다시 맞출 때(write lock)만 잠깐 막는다.
+    // 장부 수량과 pending 은 항상 같은 read lock 안에서 함께 바꾼다. (resync 가 그 사이를 보면 예약 하나가 사라진다.)
+    private final ReadWriteLock pendingLock = new ReentrantReadWriteLock();
+
+    public StockLedger(StockRepository stockRepository,
+                       PlatformTransactionManager transactionManager,
+                       StockProperties stockProperties) {
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new StockLedgerJournal(
+                Paths.get(stockProperties.getLedger().getJournalPath()),
+                stockProperties.getLedger().isFsync()
+        );
+    }
+
+    @Override
+    public StockDeductionMode getMode() {
+        return StockDeductionMode.LEDGER;
+    }
+
+    @Override
+    public void deduct(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        TreeMap<String, Integer> sortedQuantities = new TreeMap<>(quantities);
+        loadMissing(sortedQuantities.keySet());
+        reserve(sortedQuantities);
+        releaseOnRollback(sortedQuantities);
+    }
+
+    /**
+     * 되돌린 수량은 취소가 커밋된 뒤에 장부와 journal 에 반영한다.
+     * -> 롤백되면 아무것도 하지 않고, 커밋 직후 죽으면 되돌린 수량만 빠진다. (과소 재고)
+     */
+    @Override
+    public void restore(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+
+        TreeMap<String, Integer> sortedQuantities = new TreeMap<>(quantities);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(sortedQuantities);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(sortedQuantities);
+            }
+        });
+    }
+
+    @Override
+    public List<StockQuantity> getQuantities(Collection<String> productNumbers) {
+        loadMissing(productNumbers);
+        return productNumbers.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(available::containsKey)
+                .map(productNumber -> new StockQuantity(productNumber, available.get(productNumber).get()))
+                .collect(Collectors.toList());
+    }
+
+    @PostConstruct
+    public synchronized void recover() {
+        Map<String, Integer> unflushed = journal.readUnflushed();
+        List<StockDeduction> deductions = toDeductions(unflushed);
+        if (!deductions.isEmpty()) {
+            log.info("재고 장부 복구 - DB 에 반영되지 않은 예약 {}건을 반영합니다.", deductions.size());
+            transactionTemplate.executeWithoutResult(status -> stockRepository.applyDeductions(deductions));
+        }
+        journal.markFlushed(journal.lastSequence());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        // 이미 예약이 시작된 상품은 덮어쓰지 않는다.
+        stockRepository.findAll()
+                .forEach(stock -> available.putIfAbsent(stock.getProductNumber(), new AtomicInteger(stock.getQuantity())));
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.ledger.flush-interval-millis:200}")
+    public synchronized void flush() {
+        Map<String, AtomicInteger> drained;
+        long flushedSequence;
+
+        pendingLock.writeLock().lock();
+        try {
+            drained = pending;
+            pending = new ConcurrentHashMap<>();
+            flushedSequence = journal.lastSequence();
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+
+        List<StockDeduction> deductions = toDeductions(toQuantities(drained));
+        if (!deductions.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> stockRepository.applyDeductions(deductions));
+            } catch (RuntimeException e) {
+                log.warn("재고 장부 flush 실패 - 다음 주기에 다시 반영합니다.", e);
+                record(toQuantities(drained), false);
+                return;
+            }
+        }
+
+        journal.markFlushed(flushedSequence);
+        journal.truncateIfFlushed(flushedSequence);
+    }
+
+    /**
+     * 장부에 올라온 상품의 DB 수량을 다시 읽어서 장부 수량을 DB - 미반영 예약으로 맞춘다.
+     * flush 와 같은 모니터를 잡으므로 DB 를 읽은 뒤 장부를 맞추기 전까지 pending 이 DB 에 반영되지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.ledger.sync-interval-millis:60000}")
+    public synchronized void resync() {
+        flush();
+
+        Map<String, Integer> databaseQuantities = stockRepository.findQuantitiesByProductNumberIn(new ArrayList<>(available.keySet())).stream()
+                .collect(Collectors.toMap(StockQuantity::getProductNumber, StockQuantity::getQuantity));
+
+        pendingLock.writeLock().lock();
+        try {
+            Map<String, Integer> pendingSnapshot = toQuantities(pending);
+            databaseQuantities.forEach((productNumber, databaseQuantity) -> available
+                    .computeIfAbsent(productNumber, p -> new AtomicInteger())
+                    .set(databaseQuantity - pendingSnapshot.getOrDefault(productNumber, 0)));
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 장부 수량과 DB 수량을 비교한다. (장부 = DB - 미반영 예약)
+     */
+    public synchronized List<StockReconciliationResponse> reconcile() {
+        Map<String, Integer> ledgerSnapshot;
+        Map<String, Integer> pendingSnapshot;
+
+        pendingLock.writeLock().lock();
+        try {
+            ledgerSnapshot = toQuantities(available);
+            pendingSnapshot = toQuantities(pending);
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+
+        Map<String, Integer> databaseQuantities = stockRepository.findAllByProductNumberIn(new ArrayList<>(ledgerSnapshot.keySet())).stream()
+                .collect(Collectors.toMap(Stock::getProductNumber, Stock::getQuantity));
+
+        return new TreeMap<>(ledgerSnapshot).entrySet().stream()
+                .map(entry -> StockReconciliationResponse.builder()
+                        .productNumber(entry.getKey())
+                        .ledgerQuantity(entry.getValue())
+                        .databaseQuantity(databaseQuantities.getOrDefault(entry.getKey(), 0))
+                        .pendingQuantity(pendingSnapshot.getOrDefault(entry.getKey(), 0))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 남은 예약을 DB 에 반영하고 장부를 비운다. 이후 주문부터 DB 수량으로 다시 채워진다.
+     */
+    public synchronized void reload() {
+        flush();
+        available.clear();
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        journal.close();
+    }
+
+    private void loadMissing(Collection<String> productNumbers) {
+        List<String> missingProductNumbers = productNumbers.stream()
+                .filter(productNumber -> !available.containsKey(productNumber))
+                .collect(Collectors.toList());
+        if (missingProductNumbers.isEmpty()) {
+            return;
+        }
+
+        stockRepository.findAllByProductNumberIn(missingProductNumbers)
+                .forEach(stock -> available.putIfAbsent(stock.getProductNumber(), new AtomicInteger(stock.getQuantity())));
+    }
+
+    private void reserve(Map<String, Integer> quantities) {
+        pendingLock.readLock().lock();
+        try {
+            Map<String, Integer> reserved = new HashMap<>();
+            for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                AtomicInteger counter = available.get(entry.getKey());
+                if (counter == null || !tryDecrement(counter, entry.getValue())) {
+                    restoreReserved(reserved);
+                    throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+                }
+                reserved.put(entry.getKey(), entry.getValue());
+            }
+
+            try {
+                record(quantities, true);
+            } catch (RuntimeException e) {
+                restoreReserved(reserved);
+                throw e;
+            }
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    private void release(Map<String, Integer> quantities) {
+        loadMissing(quantities.keySet());
+        Map<String, Integer> released = new HashMap<>();
+        quantities.forEach((productNumber, quantity) -> released.put(productNumber, -quantity));
+
+        pendingLock.readLock().lock();
+        try {
+            record(released, true);
+            quantities.forEach((productNumber, quantity) -> {
+                AtomicInteger counter = available.get(productNumber);
+                if (counter != null) {
+                    counter.addAndGet(quantity);
+                }
+            });
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    private void releaseOnRollback(Map<String, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    Map<String, Integer> released = new HashMap<>();
+                    quantities.forEach((productNumber, quantity) -> released.put(productNumber, -quantity));
+
+                    pendingLock.readLock().lock();
+                    try {
+                        restoreReserved(quantities);
+                        record(released, true);
+                    } finally {
+                        pendingLock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    // 호출하는 쪽이 이미 read lock 을 잡고 있어도 된다. (재진입)
+    private void record(Map<String, Integer> deltas, boolean journaled) {
+        pendingLock.readLock().lock();
+        try {
+            if (journaled) {
+                journal.append(deltas);
+            }
+            Map<String, AtomicInteger> target = pending;
+            deltas.forEach((productNumber, delta) ->
+                    target.computeIfAbsent(productNumber, p -> new AtomicInteger()).addAndGet(delta));
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    private void restoreReserved(Map<String, Integer> quantities) {
+        quantities.forEach((productNumber, quantity) -> available.get(productNumber).addAndGet(quantity));
+    }
+
+    private static boolean tryDecrement(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private static Map<String, Integer> toQuantities(Map<String, AtomicInteger> counters) {
+        Map<String, Integer> quantities = new HashMap<>();
+        counters.forEach((productNumber, counter) -> quantities.put(productNumber, counter.get()));
+        return quantities;
+    }
+
+    private static List<StockDeduction> toDeductions(Map<String, Integer> quantities) {
+        return new TreeMap<>(quantities).entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new StockDeduction(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+}
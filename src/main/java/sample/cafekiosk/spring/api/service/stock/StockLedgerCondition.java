@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * cafekiosk.stock.deduction-mode 가 ledger 일 때만 장부 관련 빈을 만든다.
+ * StockProperties 와 같은 방식(relaxed binding)으로 enum 에 바인딩해서 비교한다.
+ * -> @ConditionalOnProperty(havingValue = "ledger") 는 문자열을 그대로 비교해서 LEDGER 같은 값이면 빈이 빠진다.
+ */
+public class StockLedgerCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return Binder.get(context.getEnvironment())
+                .bind("cafekiosk.stock.deduction-mode", StockDeductionMode.class)
+                .map(StockDeductionMode.LEDGER::equals)
+                .orElse(false);
+    }
+}
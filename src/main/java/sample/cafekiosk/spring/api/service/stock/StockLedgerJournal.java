@@ -0,0 +1,150 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 재고 예약 append-only journal
+ * R {seq} {상품번호} {수량} : 예약(양수) / 예약 취소(음수)
+ * F {seq}                 : seq 까지의 예약이 DB 에 반영되었음
+ * -> 재시작 시 마지막 F 이후의 R 만 다시 DB 에 반영하면 된다.
+ */
+public class StockLedgerJournal implements Closeable {
+
+    private static final String RESERVED = "R";
+    private static final String FLUSHED = "F";
+
+    private final Path path;
+    private final boolean fsync;
+    private FileChannel channel;
+    private long lastSequence;
+
+    public StockLedgerJournal(Path path, boolean fsync) {
+        this.path = path;
+        this.fsync = fsync;
+        this.lastSequence = readLastSequence();
+        this.channel = open(StandardOpenOption.APPEND);
+    }
+
+    public synchronized long append(Map<String, Integer> deltas) {
+        long sequence = ++lastSequence;
+
+        StringBuilder records = new StringBuilder();
+        deltas.forEach((productNumber, delta) -> records.append(RESERVED).append(' ')
+                .append(sequence).append(' ')
+                .append(productNumber).append(' ')
+                .append(delta).append('\n'));
+        write(records.toString());
+
+        return sequence;
+    }
+
+    public synchronized void markFlushed(long sequence) {
+        write(FLUSHED + " " + sequence + "\n");
+    }
+
+    /**
+     * 모든 예약이 DB 에 반영된 상태라면 파일을 비워서 journal 이 끝없이 커지지 않게 한다.
+     */
+    public synchronized void truncateIfFlushed(long flushedSequence) {
+        if (lastSequence != flushedSequence) {
+            return;
+        }
+        close();
+        channel = open(StandardOpenOption.TRUNCATE_EXISTING);
+        markFlushed(flushedSequence);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * 마지막 F 이후에 기록된 예약을 상품번호별로 합산한다.
+     */
+    public synchronized Map<String, Integer> readUnflushed() {
+        TreeMap<Long, Map<String, Integer>> unflushed = new TreeMap<>();
+        for (String line : readLines()) {
+            String[] tokens = line.split(" ");
+            long sequence = Long.parseLong(tokens[1]);
+
+            if (RESERVED.equals(tokens[0])) {
+                unflushed.computeIfAbsent(sequence, s -> new HashMap<>())
+                        .merge(tokens[2], Integer.parseInt(tokens[3]), Integer::sum);
+            }
+            if (FLUSHED.equals(tokens[0])) {
+                unflushed.headMap(sequence, true).clear();
+            }
+        }
+
+        Map<String, Integer> deltas = new HashMap<>();
+        unflushed.values().forEach(reservation -> reservation.forEach((productNumber, delta) ->
+                deltas.merge(productNumber, delta, Integer::sum)));
+        return deltas;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readLastSequence() {
+        long sequence = 0;
+        for (String line : readLines()) {
+            sequence = Math.max(sequence, Long.parseLong(line.split(" ")[1]));
+        }
+        return sequence;
+    }
+
+    private List<String> readLines() {
+        try {
+            if (Files.notExists(path)) {
+                return List.of();
+            }
+            return Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel open(StandardOpenOption mode) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String records) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(records.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.stock.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class StockReconciliationResponse {
+
+    private String productNumber;
+    private int ledgerQuantity;
+    private int databaseQuantity;
+    private int pendingQuantity;
+    private boolean matched;
+
+    @Builder
+    private StockReconciliationResponse(String productNumber, int ledgerQuantity, int databaseQuantity, int pendingQuantity) {
+        this.productNumber = productNumber;
+        this.ledgerQuantity = ledgerQuantity;
+        this.databaseQuantity = databaseQuantity;
+        this.pendingQuantity = pendingQuantity;
+        // 장부 수량 = DB 수량 - 아직 DB 에 반영되지 않은 예약 수량
+        this.matched = ledgerQuantity == databaseQuantity - pendingQuantity;
+    }
+}
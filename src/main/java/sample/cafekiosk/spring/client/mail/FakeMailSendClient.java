@@ -0,0 +1,51 @@
+package sample.cafekiosk.spring.client.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.config.MailProperties;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 실제 메일 서버 없이 전송 처리량/지연을 측정하기 위한 가짜 클라이언트
+ * cafekiosk.mail.fake.enabled=true 일 때만 MailSendClient 대신 주입된다.
+ */
+@Slf4j
+@Primary
+@ConditionalOnProperty(prefix = "cafekiosk.mail.fake", name = "enabled", havingValue = "true")
+@Component
+public class FakeMailSendClient extends MailSendClient {
+
+    private final MailProperties.Fake properties;
+
+    public FakeMailSendClient(MailProperties mailProperties) {
+        this.properties = mailProperties.getFake();
+    }
+
+    @Override
+    public boolean sendMail(String fromEmail, String toEmail, String subject, String content) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long latencyMillis = properties.getLatency().toMillis();
+        long jitterMillis = properties.getJitter().toMillis();
+        if (jitterMillis > 0) {
+            latencyMillis += random.nextLong(jitterMillis + 1);
+        }
+
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        if (random.nextDouble() < properties.getFailureRate()) {
+            log.info("가짜 메일 전송 실패 {}", toEmail);
+            return false;
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+package sample.cafekiosk.spring.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayProperties;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * cafekiosk.datasource.replica.enabled=true 일 때만 primary / replica 두 풀을 만든다.
+ * 애플리케이션(JPA, JdbcTemplate, Flyway)은 @Primary 인 LazyConnectionDataSourceProxy 하나만 본다.
+ * replica.url 이 없으면 replica 풀도 spring.datasource 를 가리킨다. (로컬: 복제가 없으니 같은 DB 를 두 풀로 나눠서 라우팅만 확인)
+ * -> heartbeat 도 같은 DB 에서 읽으므로 지연이 0 으로 보이고, readOnly 트랜잭션이 계속 primary 로 돌아가지 않는다.
+ */
+@ConditionalOnProperty(prefix = "cafekiosk.datasource.replica", name = "enabled", havingValue = "true")
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceRoutingProperties routingProperties,
+                                              DataSourceProperties dataSourceProperties,
+                                              FlywayProperties flywayProperties) {
+        DataSourceRoutingProperties.Replica replica = routingProperties.getReplica();
+        if (!StringUtils.hasText(replica.getUrl())) {
+            HikariDataSource replicaDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            replicaDataSource.setPoolName("replica");
+            return replicaDataSource;
+        }
+
+        HikariDataSource replicaDataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .driverClassName(replica.getDriverClassName())
+                .build();
+        replicaDataSource.setPoolName("replica");
+
+        if (replica.isMigrate()) {
+            Flyway.configure()
+                    .dataSource(replicaDataSource)
+                    .locations(flywayProperties.getLocations().toArray(new String[0]))
+                    .load()
+                    .migrate();
+        }
+        return replicaDataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource);
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * cafekiosk.datasource.routed{target} : primary / replica 로 보낸 커넥션(트랜잭션) 수
+     * cafekiosk.datasource.replica.fallback : replica 를 쓸 수 없어서 primary 로 보낸 readOnly 트랜잭션 수
+     * cafekiosk.datasource.replica.lag : 마지막으로 확인한 replica 지연 (초)
+     */
+    @Bean
+    public MeterBinder readWriteRoutingMetrics(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return registry -> {
+            for (DataSourceType type : DataSourceType.values()) {
+                FunctionCounter.builder("cafekiosk.datasource.routed", readWriteRoutingDataSource, dataSource -> dataSource.getRoutedCount(type))
+                        .tag("target", type.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            FunctionCounter.builder("cafekiosk.datasource.replica.fallback", readWriteRoutingDataSource, ReadWriteRoutingDataSource::getFallbackCount)
+                    .register(registry);
+            Gauge.builder("cafekiosk.datasource.replica.lag", readWriteRoutingDataSource, dataSource -> {
+                        Duration lag = dataSource.getReplicaLag();
+                        return lag == null ? Double.NaN : lag.toMillis() / 1000.0;
+                    })
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               HikariDataSource replicaDataSource,
+                                               ReadWriteRoutingDataSource readWriteRoutingDataSource,
+                                               DataSourceRoutingProperties routingProperties) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, readWriteRoutingDataSource,
+                routingProperties.getReplica().getMaxLag());
+    }
+}
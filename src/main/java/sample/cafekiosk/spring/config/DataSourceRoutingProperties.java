@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cafekiosk.datasource")
+public class DataSourceRoutingProperties {
+
+    private final Replica replica = new Replica();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        // true 면 readOnly 트랜잭션은 replica 로 보낸다. (false 면 spring.datasource 하나만 사용)
+        private boolean enabled = false;
+
+        // 없으면 spring.datasource 와 같은 DB 를 replica 풀로도 쓴다.
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        // replica 지연이 이 시간을 넘으면 readOnly 트랜잭션도 primary 로 보낸다.
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        // replication_heartbeat 로 replica 지연을 확인하는 주기
+        private long lagCheckIntervalMillis = 1_000;
+
+        // 실제 복제가 없는 별도 replica 에 primary 와 같은 마이그레이션을 적용한다. (테스트용)
+        // -> heartbeat 가 복제되지 않으므로 max-lag 이 지나면 readOnly 트랜잭션도 primary 로 돌아간다.
+        private boolean migrate = false;
+    }
+}
@@ -0,0 +1,7 @@
+package sample.cafekiosk.spring.config;
+
+public enum DataSourceType {
+
+    PRIMARY,
+    REPLICA
+}
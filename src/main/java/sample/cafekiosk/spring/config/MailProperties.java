@@ -0,0 +1,77 @@
+package sample.cafekiosk.spring.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import sample.cafekiosk.spring.api.service.mail.MailHistoryMode;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cafekiosk.mail")
+public class MailProperties {
+
+    private final Outbox outbox = new Outbox();
+
+    private final Fake fake = new Fake();
+
+    private final History history = new History();
+
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        // outbox 를 읽어서 전송하는 주기
+        private long pollIntervalMillis = 500;
+
+        // 한 번에 꺼내서 전송할 메일 수 (= MailSendHistory batch insert 크기)
+        private int batchSize = 100;
+
+        // 동시에 메일 서버에 붙는 전송 작업 수 (virtual thread 를 못 쓰는 JDK 에서는 플랫폼 스레드 수)
+        private int concurrency = 16;
+
+        // 이 횟수만큼 실패하면 FAILED 로 두고 더 이상 재시도하지 않는다.
+        private int maxAttempts = 5;
+
+        // 재시도 간격은 initialBackoff * 2^(시도횟수 - 1), 최대 maxBackoff
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofMinutes(5);
+
+        // SENDING 상태로 이 시간 넘게 남아 있으면 전송 중에 서버가 죽은 것으로 보고 다시 PENDING 으로 돌린다.
+        private Duration sendingTimeout = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Fake {
+
+        // true 면 실제 메일 서버 대신 FakeMailSendClient 를 사용한다. (로컬 부하 측정용)
+        private boolean enabled = false;
+
+        // 전송 1건당 지연 시간 = latency + 0 ~ jitter
+        private Duration latency = Duration.ofMillis(50);
+        private Duration jitter = Duration.ZERO;
+
+        // 0.0 ~ 1.0, 이 확률로 전송 실패(false)를 돌려준다.
+        private double failureRate = 0.0;
+    }
+
+    @Getter
+    @Setter
+    public static class History {
+
+        // 전송 이력 저장 방식 (jpa / mapped-log)
+        private MailHistoryMode mode = MailHistoryMode.JPA;
+
+        // mapped-log 세그먼트 파일을 둘 디렉터리
+        private String directory = "mail-history";
+
+        // 세그먼트 하나의 크기, 다 차면 다음 세그먼트 파일을 만든다. (메일 한 건이 이보다 크면 기록할 수 없다.)
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        // true 면 append 할 때마다 디스크에 반영될 때까지 기다린다.
+        private boolean fsync = false;
+    }
+}
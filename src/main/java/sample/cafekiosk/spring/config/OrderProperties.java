@@ -0,0 +1,77 @@
+package sample.cafekiosk.spring.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cafekiosk.order")
+public class OrderProperties {
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Export export = new Export();
+
+    private final Statistics statistics = new Statistics();
+
+    private final Lifecycle lifecycle = new Lifecycle();
+
+    private final Journal journal = new Journal();
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+
+        // 메모리에 들고 있을 최근 Idempotency-Key 수 (넘어가면 가장 오래 안 쓴 키부터 제거, 제거된 키는 DB 에서 찾는다.)
+        private int cacheSize = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Export {
+
+        // 내보내기 한 페이지(= 메모리에 동시에 올라가는 주문 수), 페이지마다 응답을 flush 한다.
+        private int pageSize = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Statistics {
+
+        // 한 번에 조회할 수 있는 최대 기간 (일)
+        private int maxRangeDays = 366;
+
+        // mode=AUTO 일 때 이 일수까지는 일 단위 병렬 집계, 넘으면 DB group by 집계
+        private int parallelMaxDays = 31;
+
+        // 일 단위 집계를 동시에 돌리는 수 (= 동시에 잡는 커넥션 수라서 커넥션 풀보다 작게 둔다.)
+        private int parallelism = 4;
+
+        // 병렬 집계에서 하루치 주문을 나눠 읽는 페이지 크기
+        private int pageSize = 5_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Lifecycle {
+
+        // 일괄 상태 변경 update 한 문장에 넣는 주문 id 수 (in 절 크기)
+        private int batchSize = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Journal {
+
+        // 한 번에 읽을 수 있는 최대 이벤트 수
+        private int maxReadSize = 1_000;
+
+        // snapshot 주기, 한 트랜잭션에서 snapshot 에 반영하는 이벤트 수
+        private long snapshotIntervalMillis = 60_000;
+        private int snapshotBatchSize = 10_000;
+
+        // replay 할 때 DB 에서 한 번에 가져오는 행 수
+        private int replayFetchSize = 10_000;
+    }
+}
@@ -0,0 +1,67 @@
+package sample.cafekiosk.spring.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cafekiosk.product")
+public class ProductProperties {
+
+    private final Cache cache = new Cache();
+
+    private final Number number = new Number();
+
+    private final Stream stream = new Stream();
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        // 캐시에 담아둘 최대 상품 수 (넘어가면 가장 오래 안 쓴 상품부터 제거)
+        private int maxSize = 1_000;
+
+        // 상품 변경 이벤트를 놓쳐도 이 시간이 지나면 DB 에서 다시 읽는다.
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Number {
+
+        // 상품번호 자리수 (3 -> 001, 4 -> 0001), 자리수를 넘는 번호는 그대로 늘어난다.
+        private int width = 3;
+
+        // 한 번에 DB 에서 가져와 메모리에서 나눠줄 상품번호 개수
+        private int blockSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Stream {
+
+        // Last-Event-ID 로 다시 연결했을 때 이어서 보내줄 수 있는 최근 이벤트 수
+        private int bufferSize = 1_024;
+
+        // 구독자 한 명에게 밀려 있을 수 있는 최대 이벤트 수 (넘으면 연결을 끊고, 클라이언트는 Last-Event-ID 로 다시 붙는다.)
+        private int maxPendingEvents = 256;
+
+        // 구독자에게 이벤트를 써주는 스레드 수 (연결 수와 무관, 느린 구독자가 있어도 이 스레드만 잡힌다.)
+        private int dispatcherThreads = 4;
+
+        // SSE 연결 유지 시간 (끊기면 클라이언트가 Last-Event-ID 로 다시 연결)
+        private Duration timeout = Duration.ofMinutes(30);
+
+        // 이벤트 하나를 쓰는 데 이보다 오래 걸리는 구독자는 끊는다. (멈춘 write 는 server.tomcat.connection-timeout 에서 풀린다.)
+        private Duration writeTimeout = Duration.ofSeconds(10);
+
+        // 프록시가 idle 연결을 끊지 않도록 보내는 heartbeat 주기
+        private long heartbeatIntervalMillis = 15_000;
+
+        // 재고 변경은 이 주기마다 모아서 한 번에 조회해서 보낸다.
+        private long stockFlushIntervalMillis = 200;
+    }
+}
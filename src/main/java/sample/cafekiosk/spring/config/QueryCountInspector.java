@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 준비하는 SQL 수를 스레드별로 센다. (요청 하나 = 스레드 하나)
+ * JdbcTemplate 으로 직접 실행하는 쿼리(재고 batch update, 주문 내보내기)는 세지 않는다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> QUERY_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        QUERY_COUNT.get()[0]++;
+        return sql;
+    }
+
+    public void reset() {
+        QUERY_COUNT.get()[0] = 0;
+    }
+
+    public long getCount() {
+        return QUERY_COUNT.get()[0];
+    }
+}
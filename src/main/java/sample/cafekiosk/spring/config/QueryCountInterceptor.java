@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 하나에서 실행된 쿼리 수를 cafekiosk.http.db.queries{method, uri} 로 기록한다. -> N+1 이 생기면 max/평균이 튄다.
+ * uri 는 /api/v1/orders/{orderId} 처럼 매핑 패턴으로 남긴다. (id 마다 meter 가 생기지 않도록)
+ */
+public class QueryCountInterceptor implements HandlerInterceptor {
+
+    private final QueryCountInspector queryCountInspector;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountInterceptor(QueryCountInspector queryCountInspector, MeterRegistry meterRegistry) {
+        this.queryCountInspector = queryCountInspector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCountInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder("cafekiosk.http.db.queries")
+                .description("요청 하나에서 실행된 쿼리 수")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .register(meterRegistry)
+                .record(queryCountInspector.getCount());
+    }
+}
@@ -0,0 +1,112 @@
+package sample.cafekiosk.spring.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * readOnly 트랜잭션 -> replica, 그 외 -> primary
+ * 1. replica 지연이 허용치를 넘었거나(ReplicaLagMonitor) 커넥션을 얻지 못하면 primary 로 보낸다. (fallback)
+ * 2. 트랜잭션이 readOnly 인지는 트랜잭션 시작 이후에 정해지므로 LazyConnectionDataSourceProxy 로 감싸서
+ *    첫 쿼리를 실행할 때 커넥션을 고르도록 한다.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    // 처음 지연을 확인하기 전까지는 replica 를 쓰지 않는다.
+    private volatile boolean replicaAvailable = false;
+    private volatile Duration replicaLag;
+
+    private final Map<DataSourceType, LongAdder> routedCounts = new EnumMap<>(DataSourceType.class);
+    private final LongAdder fallbackCount = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        for (DataSourceType type : DataSourceType.values()) {
+            routedCounts.put(type, new LongAdder());
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isReadOnlyTransaction()) {
+            if (replicaAvailable) {
+                try {
+                    Connection connection = replica.getConnection();
+                    routedCounts.get(DataSourceType.REPLICA).increment();
+                    return connection;
+                } catch (SQLException e) {
+                    log.warn("replica 커넥션을 얻지 못해 primary 로 보냅니다.", e);
+                    replicaAvailable = false;
+                }
+            }
+            fallbackCount.increment();
+        }
+
+        Connection connection = primary.getConnection();
+        routedCounts.get(DataSourceType.PRIMARY).increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // 계정을 직접 지정하는 경우는 관리 작업뿐이라 primary 로 보낸다.
+        return primary.getConnection(username, password);
+    }
+
+    public void updateReplicaLag(Duration lag, Duration maxLag) {
+        boolean available = lag.compareTo(maxLag) <= 0;
+        if (available != replicaAvailable) {
+            log.info("replica {} (지연 {}ms, 허용 {}ms)", available ? "사용" : "제외", lag.toMillis(), maxLag.toMillis());
+        }
+        this.replicaLag = lag;
+        this.replicaAvailable = available;
+    }
+
+    public void markReplicaUnavailable() {
+        this.replicaLag = null;
+        this.replicaAvailable = false;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    /**
+     * @return 마지막으로 확인한 replica 지연, 확인하지 못했으면 null
+     */
+    public Duration getReplicaLag() {
+        return replicaLag;
+    }
+
+    /**
+     * @return type 으로 보낸 커넥션(트랜잭션) 수
+     */
+    public long getRoutedCount(DataSourceType type) {
+        return routedCounts.get(type).sum();
+    }
+
+    /**
+     * @return readOnly 트랜잭션인데 replica 를 쓸 수 없어서 primary 로 보낸 수
+     */
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    private static boolean isReadOnlyTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
@@ -0,0 +1,56 @@
+package sample.cafekiosk.spring.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * replica 지연 확인
+ * 1. primary 의 replication_heartbeat 에 현재 시각을 쓴다.
+ * 2. replica 에서 같은 row 를 읽어서 (현재 시각 - 읽은 시각) 을 지연으로 본다. -> 복제가 따라오고 있으면 거의 0
+ * 3. 지연이 cafekiosk.datasource.replica.max-lag 를 넘거나 확인에 실패하면 readOnly 트랜잭션도 primary 로 보낸다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String WRITE_HEARTBEAT_SQL = "update replication_heartbeat set beat_at = ? where id = 1";
+
+    private static final String READ_HEARTBEAT_SQL = "select beat_at from replication_heartbeat where id = 1";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReadWriteRoutingDataSource routingDataSource, Duration maxLag) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.routingDataSource = routingDataSource;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.datasource.replica.lag-check-interval-millis:1000}")
+    public void check() {
+        try {
+            primaryJdbcTemplate.update(WRITE_HEARTBEAT_SQL, Timestamp.valueOf(LocalDateTime.now()));
+
+            List<Timestamp> beats = replicaJdbcTemplate.queryForList(READ_HEARTBEAT_SQL, Timestamp.class);
+            if (beats.isEmpty() || beats.get(0) == null) {
+                routingDataSource.markReplicaUnavailable();
+                return;
+            }
+
+            Duration lag = Duration.between(beats.get(0).toLocalDateTime(), LocalDateTime.now());
+            routingDataSource.updateReplicaLag(lag.isNegative() ? Duration.ZERO : lag, maxLag);
+        } catch (RuntimeException e) {
+            log.warn("replica 지연 확인 실패 - readOnly 트랜잭션도 primary 로 보냅니다.", e);
+            routingDataSource.markReplicaUnavailable();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionMode;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cafekiosk.stock")
+public class StockProperties {
+
+    private StockDeductionMode deductionMode = StockDeductionMode.CONDITIONAL_UPDATE;
+
+    private final Ledger ledger = new Ledger();
+
+    private final LowWatermark lowWatermark = new LowWatermark();
+
+    @Getter
+    @Setter
+    public static class Ledger {
+
+        // 재고 예약 journal 파일 경로 (서버가 죽어도 DB 에 반영되지 않은 예약을 복구하기 위해)
+        private String journalPath = "stock-ledger.journal";
+
+        // true 면 예약마다 fsync -> OS 장애까지 견디지만 느려진다.
+        private boolean fsync = false;
+
+        // pending 예약을 stock 테이블에 반영하는 주기
+        private long flushIntervalMillis = 200;
+
+        // 장부 밖에서 바뀐 DB 재고(입고 등)를 장부에 다시 맞추는 주기
+        private long syncIntervalMillis = 60000;
+    }
+
+    @Getter
+    @Setter
+    public static class LowWatermark {
+
+        // 재고 부족 digest 를 모아서 보내는 주기 (이 시간 동안 감지된 상품은 메일 한 통으로 묶인다.)
+        private long digestIntervalMillis = 60000;
+
+        private String fromEmail = "no-reply@cafekiosk.com";
+
+        // 재고 부족 digest 를 받을 주소
+        private String toEmail = "stock@cafekiosk.com";
+    }
+}
@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+/**
+ * virtual thread 실행 모드 (cafekiosk.virtual-threads.enabled=true, JDK 21~)
+ * 1. Tomcat 요청 처리 -> 요청마다 virtual thread (고정 스레드풀 200개가 JDBC/메일 대기로 다 막히던 문제)
+ * 2. @Async, MVC 비동기 응답(StreamingResponseBody 등) -> applicationTaskExecutor 를 virtual thread 로
+ * 3. 메일 outbox 전송은 JDK 21 이면 원래 virtual thread 로 보낸다. (MailOutboxWorker)
+ * 스레드가 더 이상 동시성을 막지 않으므로 DB 커넥션 풀이 실제 상한이 된다. -> virtual-threads 프로필에서 Hikari 풀 크기/대기 시간을 조정
+ */
+@ConditionalOnProperty(prefix = "cafekiosk.virtual-threads", name = "enabled", havingValue = "true")
+@Configuration
+public class VirtualThreadConfig {
+
+    public VirtualThreadConfig() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("virtual thread 는 JDK 21 이상에서만 사용할 수 있습니다. (./gradlew -PvirtualThreads bootRun)");
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {
+            TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME
+    })
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+}
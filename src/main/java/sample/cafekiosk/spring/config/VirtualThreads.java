@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * virtual thread (JDK 21~) 헬퍼
+ * 기본 빌드는 JDK 11 이라 Executors.newVirtualThreadPerTaskExecutor() 를 리플렉션으로 찾는다.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 작업마다 virtual thread 를 하나씩 만드는 executor
+     *
+     * @throws IllegalStateException JDK 21 미만에서 실행한 경우
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual thread 는 JDK 21 이상에서만 사용할 수 있습니다. (./gradlew -PvirtualThreads bootRun)", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package sample.cafekiosk.spring.domain.history.mail;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전송에 성공한 메일 한 건 (저장 방식과 상관없이 MailHistorySink 에 넘기는 값)
+ */
+@Getter
+public class MailHistoryRecord {
+
+    private final String fromEmail;
+    private final String toEmail;
+    private final String subject;
+    private final String content;
+    private final LocalDateTime sentDateTime;
+
+    @Builder
+    private MailHistoryRecord(String fromEmail, String toEmail, String subject, String content, LocalDateTime sentDateTime) {
+        this.fromEmail = fromEmail;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.content = content;
+        this.sentDateTime = sentDateTime;
+    }
+
+    public MailSendHistory toHistory() {
+        return MailSendHistory.builder()
+                .fromEmail(fromEmail)
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(content)
+                .build();
+    }
+}
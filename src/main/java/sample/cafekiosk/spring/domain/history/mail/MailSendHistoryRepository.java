@@ -1,9 +1,22 @@
 package sample.cafekiosk.spring.domain.history.mail;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface MailSendHistoryRepository extends JpaRepository<MailSendHistory, Long> {
 
+    /**
+     * 받는 사람의 [startDateTime, endDateTime) 전송 이력 -> (to_email, created_date_time) 인덱스
+     */
+    @Query("select h from MailSendHistory h " +
+            "where h.toEmail = :toEmail " +
+            "and h.createdDateTime >= :startDateTime " +
+            "and h.createdDateTime < :endDateTime " +
+            "order by h.createdDateTime, h.id")
+    List<MailSendHistory> findAllByToEmail(String toEmail, LocalDateTime startDateTime, LocalDateTime endDateTime);
 }
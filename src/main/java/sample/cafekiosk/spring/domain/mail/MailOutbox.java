@@ -0,0 +1,101 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntitiy;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 보낼 메일을 먼저 저장해두는 outbox
+ * 요청 스레드는 저장만 하고 끝나고, MailOutboxWorker 가 꺼내서 전송한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+@Entity
+public class MailOutbox extends BaseEntitiy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fromEmail;
+    private String toEmail;
+    @Lob
+    private String subject;
+
+    @Lob
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private MailOutboxStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // claim 한 worker 를 구분하는 토큰 (claim 에 성공한 row 만 다시 읽기 위해)
+    private String claimToken;
+
+    private LocalDateTime claimedAt;
+
+    @Builder
+    private MailOutbox(String fromEmail, String toEmail, String subject, String content, MailOutboxStatus status, LocalDateTime nextAttemptAt) {
+        this.fromEmail = fromEmail;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.content = content;
+        this.status = status;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public static MailOutbox create(String fromEmail, String toEmail, String subject, String content, LocalDateTime now) {
+        return MailOutbox.builder()
+                .fromEmail(fromEmail)
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(content)
+                .status(MailOutboxStatus.PENDING)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    /**
+     * 실패 -> maxAttempts 미만이면 지수 백오프 뒤에 다시 PENDING, 아니면 FAILED
+     */
+    public void markFailed(LocalDateTime now, int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.attempts++;
+        if (this.attempts >= maxAttempts) {
+            this.status = MailOutboxStatus.FAILED;
+            return;
+        }
+
+        this.status = MailOutboxStatus.PENDING;
+        this.claimToken = null;
+        this.claimedAt = null;
+        this.nextAttemptAt = now.plus(backoff(attempts, initialBackoff, maxBackoff));
+    }
+
+    static Duration backoff(int attempts, Duration initialBackoff, Duration maxBackoff) {
+        // 2^30 이상은 어차피 maxBackoff 를 넘으므로 shift 오버플로우를 막는다.
+        int exponent = Math.min(attempts - 1, 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << exponent);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    @Query("select m.id from MailOutbox m " +
+            "where m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.PENDING " +
+            "and m.nextAttemptAt <= :now " +
+            "order by m.nextAttemptAt, m.id")
+    List<Long> findReadyIds(LocalDateTime now, Pageable pageable);
+
+    /**
+     * PENDING -> SENDING 조건부 update
+     * 여러 서버가 같은 row 를 읽어도 update 에 성공한 쪽만 전송한다.
+     */
+    @Modifying
+    @Query("update MailOutbox m " +
+            "set m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.SENDING, " +
+            "m.claimToken = :claimToken, m.claimedAt = :claimedAt " +
+            "where m.id in :ids " +
+            "and m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.PENDING")
+    int claim(Collection<Long> ids, String claimToken, LocalDateTime claimedAt);
+
+    List<MailOutbox> findAllByStatusAndClaimToken(MailOutboxStatus status, String claimToken);
+
+    /**
+     * SENDING -> SENT 조건부 update
+     * 전송하는 사이 claim 이 풀려서(releaseStaleClaims) 다른 worker 가 다시 가져갔으면 0 -> 결과를 반영하지 않는다.
+     */
+    @Modifying
+    @Query("update MailOutbox m " +
+            "set m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.SENT, " +
+            "m.attempts = m.attempts + 1 " +
+            "where m.id = :id " +
+            "and m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.SENDING " +
+            "and m.claimToken = :claimToken")
+    int markSent(Long id, String claimToken);
+
+    /**
+     * SENDING -> PENDING(재시도) / FAILED 조건부 update (markSent 와 같은 조건)
+     */
+    @Modifying
+    @Query("update MailOutbox m " +
+            "set m.status = :status, m.attempts = :attempts, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.claimToken = null, m.claimedAt = null " +
+            "where m.id = :id " +
+            "and m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.SENDING " +
+            "and m.claimToken = :claimToken")
+    int markFailed(Long id, String claimToken, MailOutboxStatus status, int attempts, LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Query("update MailOutbox m " +
+            "set m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.PENDING, " +
+            "m.claimToken = null, m.claimedAt = null " +
+            "where m.status = sample.cafekiosk.spring.domain.mail.MailOutboxStatus.SENDING " +
+            "and m.claimedAt < :claimedBefore")
+    int releaseStaleClaims(LocalDateTime claimedBefore);
+
+    long countByStatus(MailOutboxStatus status);
+}
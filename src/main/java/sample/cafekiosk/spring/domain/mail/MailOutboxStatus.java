@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MailOutboxStatus {
+
+    PENDING("전송 대기"),
+    SENDING("전송 중"),
+    SENT("전송 완료"),
+    FAILED("전송 실패");
+
+    private final String text;
+
+}
@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+@Getter
+public class HourlySalesSummary {
+
+    private final int hour;
+    private final long totalAmount;
+    private final long orderCount;
+
+    public HourlySalesSummary(Integer hour, Long totalAmount, Long orderCount) {
+        this.hour = hour;
+        this.totalAmount = totalAmount == null ? 0 : totalAmount;
+        this.orderCount = orderCount == null ? 0 : orderCount;
+    }
+}
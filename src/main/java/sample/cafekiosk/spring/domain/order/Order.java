@@ -12,37 +12,47 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_registered_date_time", columnList = "registered_date_time, id"),
+        @Index(name = "idx_orders_order_status_registered_date_time", columnList = "order_status, registered_date_time")
+})
 @Entity
 public class Order extends BaseEntitiy {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+    @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
+    @Column(name = "order_status")
     private OrderStatus orderStatus;
 
     private int totalPrice;
 
+    @Column(name = "registered_date_time")
     private LocalDateTime registeredDateTime;
 
-    @OneToMany(mappedBy = "order")
+    // 상태 변경끼리 겹치면 나중에 커밋하는 쪽이 실패한다. (일괄 상태 변경 update 도 version 을 올린다.)
+    @Version
+    private Long version;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderProduct> orderProducts = new ArrayList<>();
 
     @Builder
     private Order(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+        this(new OrderLineAggregator().aggregate(products), orderStatus, registeredDateTime);
+    }
+
+    private Order(OrderLineAggregator orderLines, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
         this.orderStatus = orderStatus;
-        this.totalPrice = calculateTotalPrice(products);
+        this.totalPrice = orderLines.getTotalPrice();
         this.registeredDateTime = registeredDateTime;
-        this.orderProducts = products.stream()
-                .map(product -> new OrderProduct(this, product))
-                .collect(Collectors.toList());
-
+        this.orderProducts = createOrderProducts(orderLines);
     }
 
     public static Order create(List<Product> products, LocalDateTime registeredDateTime) {
@@ -53,9 +63,38 @@ public class Order extends BaseEntitiy {
                 .build();
     }
 
-    private int calculateTotalPrice(List<Product> products) {
-        return products.stream()
-                .mapToInt(Product::getPrice)
-                .sum();
+    /**
+     * 이미 집계한 주문 라인으로 생성 -> 총 금액을 다시 계산하지 않는다.
+     */
+    public static Order create(OrderLineAggregator orderLines, LocalDateTime registeredDateTime) {
+        return new Order(orderLines, OrderStatus.INIT, registeredDateTime);
+    }
+
+    public void completePayment() {
+        if (!orderStatus.canTransitionTo(OrderStatus.PAYMENY_COMPLETED)) {
+            throw new IllegalArgumentException("결제를 완료할 수 없는 주문입니다.");
+        }
+        this.orderStatus = OrderStatus.PAYMENY_COMPLETED;
+    }
+
+    /**
+     * OrderStatus 에 정의된 전이만 허용한다.
+     */
+    public void changeStatus(OrderStatus next) {
+        if (!orderStatus.canTransitionTo(next)) {
+            throw new IllegalArgumentException(String.format("%s 상태의 주문은 %s 상태로 바꿀 수 없습니다.", orderStatus.getText(), next.getText()));
+        }
+        this.orderStatus = next;
+    }
+
+    /**
+     * 같은 상품은 주문 상품 한 줄(수량, 주문 시점 단가)로 만든다.
+     */
+    private List<OrderProduct> createOrderProducts(OrderLineAggregator orderLines) {
+        List<OrderProduct> orderProducts = new ArrayList<>(orderLines.getLineCount());
+        for (int i = 0; i < orderLines.getLineCount(); i++) {
+            orderProducts.add(new OrderProduct(this, orderLines.getProductAt(i), orderLines.getQuantityAt(i)));
+        }
+        return orderProducts;
     }
 }
@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 내보내기용 행 (엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않는다.)
+ */
+@Getter
+public class OrderExportRow {
+
+    private final Long id;
+    private final LocalDateTime registeredDateTime;
+    private final OrderStatus orderStatus;
+    private final int totalPrice;
+    private final List<Line> lines = new ArrayList<>();
+
+    public OrderExportRow(Long id, LocalDateTime registeredDateTime, OrderStatus orderStatus, int totalPrice) {
+        this.id = id;
+        this.registeredDateTime = registeredDateTime;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+    }
+
+    void addLine(Line line) {
+        lines.add(line);
+    }
+
+    @Getter
+    public static class Line {
+
+        private final String productNumber;
+        private final String name;
+        private final int price; // 주문 시점 단가
+        private final int quantity;
+
+        public Line(String productNumber, String name, int price, int quantity) {
+            this.productNumber = productNumber;
+            this.name = name;
+            this.price = price;
+            this.quantity = quantity;
+        }
+    }
+}
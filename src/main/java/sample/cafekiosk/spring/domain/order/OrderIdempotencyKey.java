@@ -0,0 +1,51 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+import sample.cafekiosk.spring.domain.BaseEntitiy;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Idempotency-Key -> 주문 id
+ * 주문과 같은 트랜잭션에서 저장되므로, 키가 남아 있으면 주문도 반드시 있다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class OrderIdempotencyKey extends BaseEntitiy implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    private Long orderId;
+
+    // 같은 키로 다른 주문 내용이 들어오는 것을 막기 위한 요청 해시
+    private String requestHash;
+
+    @Builder
+    private OrderIdempotencyKey(String idempotencyKey, Long orderId, String requestHash) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderId = orderId;
+        this.requestHash = requestHash;
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    /**
+     * 키를 직접 넣는 엔티티라서 save() 가 merge(select 후 insert) 로 가지 않도록 새 엔티티임을 알려준다.
+     */
+    @Override
+    public boolean isNew() {
+        return getCreatedDateTime() == null;
+    }
+}
@@ -0,0 +1,153 @@
+package sample.cafekiosk.spring.domain.order;
+
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * 주문 상품(상품, 수량)을 한 번만 돌면서 총 금액, 재고 상품별 수량, 주문 라인을 만든다.
+ * - 같은 상품이 여러 번 들어오면 한 라인의 수량으로 합친다. -> 주문 상품 row 는 상품 종류 수만큼만 생긴다.
+ * - 상품번호 -> 수량은 박싱 없이 배열 두 개(상품번호, int 수량)로 센다. 주문 한 건의 상품 종류는 몇 개 안 되므로 선형 탐색이 HashMap 보다 싸다.
+ * - reset() 후 재사용할 수 있다. (일괄 주문처럼 한 호출 안에서 여러 주문을 집계할 때) 스레드 안전하지 않다.
+ */
+public class OrderLineAggregator {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Product[] lineProducts = new Product[INITIAL_CAPACITY];
+    private int[] lineQuantities = new int[INITIAL_CAPACITY];
+    private int lineCount;
+    private int totalPrice;
+
+    private String[] stockProductNumbers = new String[INITIAL_CAPACITY];
+    private int[] stockQuantities = new int[INITIAL_CAPACITY];
+    private int stockProductCount;
+
+    /**
+     * 상품 하나당 수량 1 (중복된 상품은 수량으로 합친다.)
+     */
+    public OrderLineAggregator aggregate(List<Product> products) {
+        reset();
+        for (int i = 0, size = products.size(); i < size; i++) {
+            add(products.get(i), 1);
+        }
+        return this;
+    }
+
+    public OrderLineAggregator add(Product product, int quantity) {
+        totalPrice += product.getPrice() * quantity;
+        increaseLineQuantity(product, quantity);
+        if (ProductType.containsStockType(product.getType())) {
+            increaseStockQuantity(product.getProductNumber(), quantity);
+        }
+        return this;
+    }
+
+    public void reset() {
+        // 이전 주문의 상품/상품번호를 붙잡고 있지 않도록 사용한 칸만 비운다.
+        Arrays.fill(lineProducts, 0, lineCount, null);
+        Arrays.fill(stockProductNumbers, 0, stockProductCount, null);
+        lineCount = 0;
+        totalPrice = 0;
+        stockProductCount = 0;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public Product getProductAt(int index) {
+        return lineProducts[index];
+    }
+
+    public int getQuantityAt(int index) {
+        return lineQuantities[index];
+    }
+
+    public int getTotalPrice() {
+        return totalPrice;
+    }
+
+    public boolean hasStockProducts() {
+        return stockProductCount > 0;
+    }
+
+    public int getStockProductCount() {
+        return stockProductCount;
+    }
+
+    public String getStockProductNumberAt(int index) {
+        return stockProductNumbers[index];
+    }
+
+    public int getStockQuantityAt(int index) {
+        return stockQuantities[index];
+    }
+
+    public int getStockQuantity(String productNumber) {
+        int index = indexOf(stockProductNumbers, stockProductCount, productNumber);
+        return index < 0 ? 0 : stockQuantities[index];
+    }
+
+    public void forEachStockQuantity(ObjIntConsumer<String> consumer) {
+        for (int i = 0; i < stockProductCount; i++) {
+            consumer.accept(stockProductNumbers[i], stockQuantities[i]);
+        }
+    }
+
+    /**
+     * StockDeductor 에 넘길 Map<상품번호, 차감 수량> (재고 상품이 있을 때만 만든다.)
+     */
+    public Map<String, Integer> toStockQuantityMap() {
+        Map<String, Integer> quantities = new HashMap<>();
+        forEachStockQuantity(quantities::put);
+        return quantities;
+    }
+
+    private void increaseLineQuantity(Product product, int quantity) {
+        for (int i = 0; i < lineCount; i++) {
+            if (lineProducts[i].getProductNumber().equals(product.getProductNumber())) {
+                lineQuantities[i] += quantity;
+                return;
+            }
+        }
+
+        if (lineCount == lineProducts.length) {
+            lineProducts = Arrays.copyOf(lineProducts, lineCount * 2);
+            lineQuantities = Arrays.copyOf(lineQuantities, lineCount * 2);
+        }
+        lineProducts[lineCount] = product;
+        lineQuantities[lineCount] = quantity;
+        lineCount++;
+    }
+
+    private void increaseStockQuantity(String productNumber, int quantity) {
+        int index = indexOf(stockProductNumbers, stockProductCount, productNumber);
+        if (index >= 0) {
+            stockQuantities[index] += quantity;
+            return;
+        }
+
+        if (stockProductCount == stockProductNumbers.length) {
+            stockProductNumbers = Arrays.copyOf(stockProductNumbers, stockProductCount * 2);
+            stockQuantities = Arrays.copyOf(stockQuantities, stockProductCount * 2);
+        }
+        stockProductNumbers[stockProductCount] = productNumber;
+        stockQuantities[stockProductCount] = quantity;
+        stockProductCount++;
+    }
+
+    private static int indexOf(String[] productNumbers, int count, String productNumber) {
+        for (int i = 0; i < count; i++) {
+            if (productNumbers[i].equals(productNumber)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
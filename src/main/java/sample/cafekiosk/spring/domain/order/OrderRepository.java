@@ -1,14 +1,22 @@
 package sample.cafekiosk.spring.domain.order;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
     @Query("select o from Order o " +
             "where o.registeredDateTime >= :startDateTime " +
@@ -16,4 +24,77 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
             "and o.orderStatus = :orderStatus")
     List<Order> findOrdersBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
 
+    /**
+     * 주문 + 주문 상품 + 상품을 join 한 번으로 읽는다. (OrderResponse.of 에서 주문 상품마다 상품을 따로 조회하지 않도록)
+     */
+    @EntityGraph(attributePaths = {"orderProducts", "orderProducts.product"})
+    Optional<Order> findWithOrderProductsById(Long id);
+
+    /**
+     * 기간 내 주문 + 주문 상품 + 상품을 join 한 번으로 읽는다.
+     * 컬렉션 join 이라 주문이 주문 상품 수만큼 중복되므로 distinct 로 합치고, SQL 에는 distinct 를 넘기지 않는다.
+     * (컬렉션 fetch join 은 페이징을 메모리에서 하므로 페이징이 필요하면 주문 id 를 먼저 자르고 읽어야 한다.)
+     */
+    @EntityGraph(attributePaths = {"orderProducts", "orderProducts.product"})
+    @QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+    @Query("select distinct o from Order o " +
+            "where o.registeredDateTime >= :startDateTime " +
+            "and o.registeredDateTime < :endDateTime " +
+            "order by o.registeredDateTime, o.id")
+    List<Order> findWithOrderProductsBy(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    /**
+     * select sum(total_price), count(*)
+     * from orders
+     * where ... and order_status in (...) -> 주문 엔티티를 불러오지 않고 DB 에서 합계만 계산한다.
+     */
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderSalesSummary(sum(o.totalPrice), count(o)) " +
+            "from Order o " +
+            "where o.registeredDateTime >= :startDateTime " +
+            "and o.registeredDateTime < :endDateTime " +
+            "and o.orderStatus in :orderStatuses")
+    OrderSalesSummary sumSalesByStatusIn(LocalDateTime startDateTime, LocalDateTime endDateTime, Collection<OrderStatus> orderStatuses);
+
+    /**
+     * select hour(registered_date_time), sum(total_price), count(*)
+     * from orders
+     * where ...
+     * group by hour(registered_date_time) -> 기간이 길어도 최대 24행만 돌아온다.
+     */
+    @Query("select new sample.cafekiosk.spring.domain.order.HourlySalesSummary(hour(o.registeredDateTime), sum(o.totalPrice), count(o)) " +
+            "from Order o " +
+            "where o.registeredDateTime >= :startDateTime " +
+            "and o.registeredDateTime < :endDateTime " +
+            "and o.orderStatus = :orderStatus " +
+            "group by hour(o.registeredDateTime)")
+    List<HourlySalesSummary> sumHourlySalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    /**
+     * select id
+     * from orders
+     * where id in (...) and order_status = :status
+     * order by id
+     * for update;
+     * -> 일괄 변경할 주문에 락을 잡고 id 만 읽는다. (바꾼 주문과 journal 에 남길 주문이 같도록, id 순으로 잡아서 데드락 방지)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id from Order o " +
+            "where o.id in :ids " +
+            "and o.orderStatus = :orderStatus " +
+            "order by o.id")
+    List<Long> findIdsForUpdate(Collection<Long> ids, OrderStatus orderStatus);
+
+    /**
+     * update orders
+     * set order_status = :to, version = version + 1
+     * where id in (...) and order_status = :from
+     * -> 주문을 읽지 않고 한 문장으로 바꾼다. 그 사이 다른 상태로 바뀐 주문은 건너뛰고, 바뀐 row 수를 돌려준다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o " +
+            "set o.orderStatus = :to, o.version = o.version + 1, o.modifiedDateTime = :modifiedDateTime " +
+            "where o.id in :ids " +
+            "and o.orderStatus = :from")
+    int changeStatusIn(Collection<Long> ids, OrderStatus from, OrderStatus to, LocalDateTime modifiedDateTime);
+
 }
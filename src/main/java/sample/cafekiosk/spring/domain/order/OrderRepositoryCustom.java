@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * select ... from orders
+     * where registered_date_time >= ? and registered_date_time < ? [and order_status = ?]
+     * and (registered_date_time, id) > (이전 페이지 마지막 주문)
+     * order by registered_date_time, id
+     * limit ?
+     * -> offset 없이 (registeredDateTime, id) 기준으로 다음 페이지를 읽는다. (keyset pagination)
+     * 페이지 주문들의 주문 상품은 order_id in (...) 한 번으로 채운다.
+     *
+     * @param after 이전 페이지의 마지막 주문, 첫 페이지는 null
+     */
+    List<OrderExportRow> findExportPage(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus,
+                                        OrderExportRow after, int pageSize);
+}
@@ -0,0 +1,94 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String EXPORT_PAGE_SQL = "select o.id, o.registered_date_time, o.order_status, o.total_price " +
+            "from orders o " +
+            "where o.registered_date_time >= ? and o.registered_date_time < ? " +
+            "%s" +
+            "%s" +
+            "order by o.registered_date_time, o.id " +
+            "limit ?";
+
+    private static final String STATUS_CONDITION = "and o.order_status = ? ";
+
+    private static final String AFTER_CONDITION = "and (o.registered_date_time > ? or (o.registered_date_time = ? and o.id > ?)) ";
+
+    private static final String EXPORT_LINES_SQL = "select op.order_id, p.product_number, p.name, op.unit_price, op.quantity " +
+            "from order_product op " +
+            "join product p on p.id = op.product_id " +
+            "where op.order_id in (%s) " +
+            "order by op.order_id, op.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<OrderExportRow> findExportPage(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus,
+                                               OrderExportRow after, int pageSize) {
+        String sql = String.format(EXPORT_PAGE_SQL,
+                orderStatus == null ? "" : STATUS_CONDITION,
+                after == null ? "" : AFTER_CONDITION);
+
+        List<OrderExportRow> orders = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(pageSize);
+
+            int index = 1;
+            ps.setTimestamp(index++, Timestamp.valueOf(startDateTime));
+            ps.setTimestamp(index++, Timestamp.valueOf(endDateTime));
+            if (orderStatus != null) {
+                ps.setString(index++, orderStatus.name());
+            }
+            if (after != null) {
+                Timestamp afterDateTime = Timestamp.valueOf(after.getRegisteredDateTime());
+                ps.setTimestamp(index++, afterDateTime);
+                ps.setTimestamp(index++, afterDateTime);
+                ps.setLong(index++, after.getId());
+            }
+            ps.setInt(index, pageSize);
+            return ps;
+        }, (rs, rowNum) -> new OrderExportRow(
+                rs.getLong("id"),
+                rs.getTimestamp("registered_date_time").toLocalDateTime(),
+                OrderStatus.valueOf(rs.getString("order_status")),
+                rs.getInt("total_price")
+        ));
+
+        fillLines(orders);
+        return orders;
+    }
+
+    private void fillLines(List<OrderExportRow> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        Map<Long, OrderExportRow> orderMap = new LinkedHashMap<>();
+        orders.forEach(order -> orderMap.put(order.getId(), order));
+
+        String placeholders = String.join(",", Collections.nCopies(orders.size(), "?"));
+        List<Object> orderIds = new ArrayList<>(orderMap.keySet());
+
+        jdbcTemplate.query(String.format(EXPORT_LINES_SQL, placeholders), rs -> {
+            orderMap.get(rs.getLong("order_id")).addLine(new OrderExportRow.Line(
+                    rs.getString("product_number"),
+                    rs.getString("name"),
+                    rs.getInt("unit_price"),
+                    rs.getInt("quantity")
+            ));
+        }, orderIds.toArray());
+    }
+}
@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+@Getter
+public class OrderSalesSummary {
+
+    private final long totalAmount;
+    private final long orderCount;
+
+    public OrderSalesSummary(Long totalAmount, Long orderCount) {
+        // 주문이 없으면 sum() 은 null 이다.
+        this.totalAmount = totalAmount == null ? 0 : totalAmount;
+        this.orderCount = orderCount == null ? 0 : orderCount;
+    }
+}
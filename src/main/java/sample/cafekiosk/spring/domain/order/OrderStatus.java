@@ -3,6 +3,14 @@ package sample.cafekiosk.spring.domain.order;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 @Getter
 @RequiredArgsConstructor
 public enum OrderStatus {
@@ -15,4 +23,53 @@ public enum OrderStatus {
     COMPLETED("처리완료");
 
     private final String text;
+
+    /**
+     * 주문생성 -> 결제완료 -> 주문접수 -> 처리완료
+     *        -> 결제실패 -> 주문취소
+     * 주문접수 전(주문생성, 결제실패, 결제완료)까지만 취소할 수 있다. 주문취소, 처리완료는 끝 상태
+     */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(INIT, EnumSet.of(PAYMENY_COMPLETED, PAYMENT_FAILED, CANCELED));
+        TRANSITIONS.put(PAYMENT_FAILED, EnumSet.of(CANCELED));
+        TRANSITIONS.put(PAYMENY_COMPLETED, EnumSet.of(RECEIVED, CANCELED));
+        TRANSITIONS.put(RECEIVED, EnumSet.of(COMPLETED));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    private static final Map<OrderStatus, Set<OrderStatus>> REACHED_STATUSES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        for (OrderStatus orderStatus : values()) {
+            REACHED_STATUSES.put(orderStatus, Collections.unmodifiableSet(collectReachedStatuses(orderStatus)));
+        }
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    /**
+     * 이 상태를 거쳐 간 주문이 지금 있을 수 있는 상태 (취소 제외)
+     * ex) 결제완료 -> [결제완료, 주문접수, 처리완료] : 주문접수/처리완료로 넘어간 주문도 결제완료 매출에 남는다.
+     */
+    public Set<OrderStatus> withLaterStatuses() {
+        return REACHED_STATUSES.get(this);
+    }
+
+    private static Set<OrderStatus> collectReachedStatuses(OrderStatus from) {
+        Set<OrderStatus> reached = EnumSet.of(from);
+        Deque<OrderStatus> queue = new ArrayDeque<>(reached);
+        while (!queue.isEmpty()) {
+            for (OrderStatus next : TRANSITIONS.get(queue.poll())) {
+                if (next != CANCELED && reached.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        return reached;
+    }
 }
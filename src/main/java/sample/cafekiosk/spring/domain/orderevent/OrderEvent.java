@@ -0,0 +1,103 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * 주문 이벤트 (order_event 한 행)
+ * detail
+ * - ORDER_CREATED : 상품번호:수량:단가,... (예: 001:2:4000,002:1:3000)
+ * - STOCK_DEDUCTED : 상품번호:수량,... (재고 상품만)
+ * id 는 journal 에 append 할 때 정해진다.
+ */
+@Getter
+public class OrderEvent {
+
+    private Long id;
+    private final Long orderId;
+    private final OrderEventType eventType;
+    private final OrderStatus orderStatus;
+    private final OrderStatus previousStatus;
+    private final Integer totalPrice;
+    private final String detail;
+    private final LocalDateTime recordedDateTime;
+
+    @Builder
+    private OrderEvent(Long id, Long orderId, OrderEventType eventType, OrderStatus orderStatus, OrderStatus previousStatus,
+                       Integer totalPrice, String detail, LocalDateTime recordedDateTime) {
+        this.id = id;
+        this.orderId = orderId;
+        this.eventType = eventType;
+        this.orderStatus = orderStatus;
+        this.previousStatus = previousStatus;
+        this.totalPrice = totalPrice;
+        this.detail = detail;
+        this.recordedDateTime = recordedDateTime;
+    }
+
+    public static OrderEvent created(Order order, LocalDateTime recordedDateTime) {
+        StringJoiner detail = new StringJoiner(",");
+        for (OrderProduct orderProduct : order.getOrderProducts()) {
+            detail.add(orderProduct.getProduct().getProductNumber() + ":" + orderProduct.getQuantity() + ":" + orderProduct.getUnitPrice());
+        }
+
+        return OrderEvent.builder()
+                .orderId(order.getId())
+                .eventType(OrderEventType.ORDER_CREATED)
+                .orderStatus(order.getOrderStatus())
+                .totalPrice(order.getTotalPrice())
+                .detail(detail.toString())
+                .recordedDateTime(recordedDateTime)
+                .build();
+    }
+
+    /**
+     * 재고 상품이 없는 주문이면 null
+     */
+    public static OrderEvent stockDeducted(Order order, LocalDateTime recordedDateTime) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (OrderProduct orderProduct : order.getOrderProducts()) {
+            Product product = orderProduct.getProduct();
+            if (ProductType.containsStockType(product.getType())) {
+                quantities.merge(product.getProductNumber(), orderProduct.getQuantity(), Integer::sum);
+            }
+        }
+        if (quantities.isEmpty()) {
+            return null;
+        }
+
+        StringJoiner detail = new StringJoiner(",");
+        quantities.forEach((productNumber, quantity) -> detail.add(productNumber + ":" + quantity));
+
+        return OrderEvent.builder()
+                .orderId(order.getId())
+                .eventType(OrderEventType.STOCK_DEDUCTED)
+                .detail(detail.toString())
+                .recordedDateTime(recordedDateTime)
+                .build();
+    }
+
+    public static OrderEvent statusChanged(Long orderId, OrderStatus previousStatus, OrderStatus orderStatus, LocalDateTime recordedDateTime) {
+        return OrderEvent.builder()
+                .orderId(orderId)
+                .eventType(OrderEventType.STATUS_CHANGED)
+                .orderStatus(orderStatus)
+                .previousStatus(previousStatus)
+                .recordedDateTime(recordedDateTime)
+                .build();
+    }
+
+    void assignId(long id) {
+        this.id = id;
+    }
+}
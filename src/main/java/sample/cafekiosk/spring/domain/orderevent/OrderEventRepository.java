@@ -0,0 +1,169 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * order_event journal (append only, JdbcTemplate)
+ * 주문과 같은 트랜잭션의 커넥션으로 insert 한다. -> 주문이 롤백되면 이벤트도 남지 않는다.
+ */
+@RequiredArgsConstructor
+@Repository
+public class OrderEventRepository {
+
+    // order_event_id 한 행을 update 로 잠그고 이벤트 수만큼 늘린다. 잠금은 커밋/롤백 때 풀린다.
+    // -> 다른 트랜잭션(다른 인스턴스 포함)의 append 는 앞 트랜잭션이 끝날 때까지 기다리므로 id 순서가 커밋 순서와 같다.
+    private static final String RESERVE_IDS_SQL = "update order_event_id set last_id = last_id + ? where id = 1";
+
+    private static final String LAST_ID_SQL = "select last_id from order_event_id where id = 1";
+
+    private static final String INSERT_SQL = "insert into order_event " +
+            "(id, order_id, event_type, order_status, previous_status, total_price, detail, recorded_date_time) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS = "select id, order_id, event_type, order_status, previous_status, total_price, detail, recorded_date_time " +
+            "from order_event ";
+
+    private static final String FIND_AFTER_SQL = SELECT_COLUMNS +
+            "where id > ? " +
+            "order by id " +
+            "limit ?";
+
+    private static final String FIND_BY_ORDER_ID_AFTER_SQL = SELECT_COLUMNS +
+            "where order_id = ? and id > ? " +
+            "order by id";
+
+    private static final String FOR_EACH_AFTER_SQL = SELECT_COLUMNS +
+            "where id > ? " +
+            "order by id";
+
+    private static final String FIND_CURSOR_SQL = "select last_event_id from order_event_cursor where consumer = ?";
+
+    private static final String SAVE_CURSOR_SQL = "merge into order_event_cursor (consumer, last_event_id, modified_date_time) " +
+            "key (consumer) values (?, ?, ?)";
+
+    private static final RowMapper<OrderEvent> ROW_MAPPER = (rs, rowNum) -> toEvent(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * id 를 정해서 JDBC batch insert 한다. (events 의 id 가 채워진다.)
+     * id 를 받은 뒤 커밋까지 다른 append 를 막으므로 트랜잭션 끝 무렵에 부른다.
+     */
+    public void append(List<OrderEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        assignIds(events);
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderEvent event = events.get(i);
+                ps.setLong(1, event.getId());
+                ps.setLong(2, event.getOrderId());
+                ps.setString(3, event.getEventType().name());
+                setStatus(ps, 4, event.getOrderStatus());
+                setStatus(ps, 5, event.getPreviousStatus());
+                if (event.getTotalPrice() == null) {
+                    ps.setNull(6, Types.INTEGER);
+                } else {
+                    ps.setInt(6, event.getTotalPrice());
+                }
+                ps.setString(7, event.getDetail());
+                ps.setTimestamp(8, Timestamp.valueOf(event.getRecordedDateTime()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+
+    /**
+     * afterId 다음 이벤트부터 limit 개
+     */
+    public List<OrderEvent> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query(FIND_AFTER_SQL, ROW_MAPPER, afterId, limit);
+    }
+
+    public List<OrderEvent> findAllByOrderIdAfter(Long orderId, long afterId) {
+        return jdbcTemplate.query(FIND_BY_ORDER_ID_AFTER_SQL, ROW_MAPPER, orderId, afterId);
+    }
+
+    /**
+     * afterId 다음 이벤트를 모두 id 순으로 흘려보낸다. (fetchSize 만큼씩 읽어서 전체를 메모리에 올리지 않는다.)
+     */
+    public void forEachAfter(long afterId, int fetchSize, Consumer<OrderEvent> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FOR_EACH_AFTER_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, afterId);
+            return ps;
+        }, rs -> {
+            consumer.accept(toEvent(rs));
+        });
+    }
+
+    /**
+     * 아직 읽은 적 없는 소비자는 0
+     */
+    public long findCursor(String consumer) {
+        List<Long> cursors = jdbcTemplate.queryForList(FIND_CURSOR_SQL, Long.class, consumer);
+        return cursors.isEmpty() ? 0L : cursors.get(0);
+    }
+
+    public void saveCursor(String consumer, long lastEventId) {
+        jdbcTemplate.update(SAVE_CURSOR_SQL, consumer, lastEventId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private void assignIds(List<OrderEvent> events) {
+        jdbcTemplate.update(RESERVE_IDS_SQL, events.size());
+        Long lastId = jdbcTemplate.queryForObject(LAST_ID_SQL, Long.class);
+
+        long nextId = lastId - events.size() + 1;
+        for (OrderEvent event : events) {
+            event.assignId(nextId++);
+        }
+    }
+
+    private static void setStatus(PreparedStatement ps, int index, OrderStatus orderStatus) throws SQLException {
+        if (orderStatus == null) {
+            ps.setNull(index, Types.VARCHAR);
+        } else {
+            ps.setString(index, orderStatus.name());
+        }
+    }
+
+    private static OrderEvent toEvent(ResultSet rs) throws SQLException {
+        String orderStatus = rs.getString("order_status");
+        String previousStatus = rs.getString("previous_status");
+        // 상태변경 / 재고차감 이벤트는 주문금액이 없다. (getInt 는 null 을 0 으로 읽는다.)
+        Integer totalPrice = rs.getObject("total_price", Integer.class);
+
+        return OrderEvent.builder()
+                .id(rs.getLong("id"))
+                .orderId(rs.getLong("order_id"))
+                .eventType(OrderEventType.valueOf(rs.getString("event_type")))
+                .orderStatus(orderStatus == null ? null : OrderStatus.valueOf(orderStatus))
+                .previousStatus(previousStatus == null ? null : OrderStatus.valueOf(previousStatus))
+                .totalPrice(totalPrice)
+                .detail(rs.getString("detail"))
+                .recordedDateTime(rs.getTimestamp("recorded_date_time").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderEventType {
+
+    ORDER_CREATED("주문생성"),
+    STOCK_DEDUCTED("재고차감"),
+    STATUS_CHANGED("상태변경");
+
+    private final String text;
+}
@@ -0,0 +1,60 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 전체 주문의 현재 상태 (snapshot + 이후 이벤트 replay 결과)
+ */
+public class OrderProjection {
+
+    private final Map<Long, OrderSnapshot> snapshots = new HashMap<>();
+    private long lastEventId;
+    private long appliedEventCount;
+
+    public void load(OrderSnapshot snapshot) {
+        snapshots.put(snapshot.getOrderId(), snapshot);
+        lastEventId = Math.max(lastEventId, snapshot.getLastEventId());
+    }
+
+    /**
+     * 주문생성 이벤트가 journal 에 없는 주문(journal 이전 주문)의 이벤트는 건너뛴다.
+     */
+    public void apply(OrderEvent event) {
+        if (event.getEventType() == OrderEventType.ORDER_CREATED) {
+            snapshots.putIfAbsent(event.getOrderId(), OrderSnapshot.of(event));
+        } else {
+            OrderSnapshot snapshot = snapshots.get(event.getOrderId());
+            if (snapshot != null) {
+                snapshot.apply(event);
+            }
+        }
+        lastEventId = Math.max(lastEventId, event.getId());
+        appliedEventCount++;
+    }
+
+    public OrderSnapshot get(Long orderId) {
+        return snapshots.get(orderId);
+    }
+
+    public int getOrderCount() {
+        return snapshots.size();
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    public long getAppliedEventCount() {
+        return appliedEventCount;
+    }
+
+    public Map<OrderStatus, Integer> countByStatus() {
+        Map<OrderStatus, Integer> counts = new EnumMap<>(OrderStatus.class);
+        snapshots.values().forEach(snapshot -> counts.merge(snapshot.getOrderStatus(), 1, Integer::sum));
+        return counts;
+    }
+}
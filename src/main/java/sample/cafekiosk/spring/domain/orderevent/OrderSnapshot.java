@@ -0,0 +1,52 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/**
+ * 주문 한 건의 이벤트를 lastEventId 까지 반영한 상태 (order_snapshot 한 행)
+ */
+@Getter
+public class OrderSnapshot {
+
+    private final Long orderId;
+    private OrderStatus orderStatus;
+    private final int totalPrice;
+    private long lastEventId;
+
+    @Builder
+    private OrderSnapshot(Long orderId, OrderStatus orderStatus, int totalPrice, long lastEventId) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.totalPrice = totalPrice;
+        this.lastEventId = lastEventId;
+    }
+
+    public static OrderSnapshot of(OrderEvent created) {
+        if (created.getEventType() != OrderEventType.ORDER_CREATED) {
+            throw new IllegalArgumentException("주문생성 이벤트로만 snapshot 을 시작할 수 있습니다.");
+        }
+
+        return OrderSnapshot.builder()
+                .orderId(created.getOrderId())
+                .orderStatus(created.getOrderStatus())
+                .totalPrice(created.getTotalPrice())
+                .lastEventId(created.getId())
+                .build();
+    }
+
+    /**
+     * 이미 반영한 이벤트(id <= lastEventId)는 건너뛴다. -> snapshot 과 이벤트가 겹쳐도 replay 결과는 같다.
+     */
+    public void apply(OrderEvent event) {
+        if (event.getId() <= lastEventId) {
+            return;
+        }
+
+        if (event.getEventType() == OrderEventType.STATUS_CHANGED) {
+            this.orderStatus = event.getOrderStatus();
+        }
+        this.lastEventId = event.getId();
+    }
+}
@@ -0,0 +1,87 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+@Repository
+public class OrderSnapshotRepository {
+
+    private static final String UPSERT_SQL = "merge into order_snapshot (order_id, order_status, total_price, last_event_id) " +
+            "key (order_id) values (?, ?, ?, ?)";
+
+    private static final String SELECT_COLUMNS = "select order_id, order_status, total_price, last_event_id from order_snapshot ";
+
+    private static final String FIND_BY_ORDER_ID_SQL = SELECT_COLUMNS + "where order_id = ?";
+
+    private static final String FIND_ALL_BY_ORDER_ID_IN_SQL = SELECT_COLUMNS + "where order_id in (%s)";
+
+    private static final RowMapper<OrderSnapshot> ROW_MAPPER = (rs, rowNum) -> toSnapshot(rs);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertAll(Collection<OrderSnapshot> snapshots) {
+        List<OrderSnapshot> rows = new ArrayList<>(snapshots);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderSnapshot snapshot = rows.get(i);
+                ps.setLong(1, snapshot.getOrderId());
+                ps.setString(2, snapshot.getOrderStatus().name());
+                ps.setInt(3, snapshot.getTotalPrice());
+                ps.setLong(4, snapshot.getLastEventId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    public Optional<OrderSnapshot> findByOrderId(Long orderId) {
+        return jdbcTemplate.query(FIND_BY_ORDER_ID_SQL, ROW_MAPPER, orderId).stream().findFirst();
+    }
+
+    public List<OrderSnapshot> findAllByOrderIdIn(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(orderIds.size(), "?"));
+        return jdbcTemplate.query(String.format(FIND_ALL_BY_ORDER_ID_IN_SQL, placeholders), ROW_MAPPER, orderIds.toArray());
+    }
+
+    public void forEach(int fetchSize, Consumer<OrderSnapshot> consumer) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_COLUMNS);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, rs -> {
+            consumer.accept(toSnapshot(rs));
+        });
+    }
+
+    private static OrderSnapshot toSnapshot(ResultSet rs) throws SQLException {
+        return OrderSnapshot.builder()
+                .orderId(rs.getLong("order_id"))
+                .orderStatus(OrderStatus.valueOf(rs.getString("order_status")))
+                .totalPrice(rs.getInt("total_price"))
+                .lastEventId(rs.getLong("last_event_id"))
+                .build();
+    }
+}
@@ -11,21 +11,40 @@ import javax.persistence.*;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_order_product_order_id", columnList = "order_id"),
+        @Index(name = "idx_order_product_product_id", columnList = "product_id")
+})
 @Entity
 public class OrderProduct extends BaseEntitiy {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_product_seq_generator")
+    @SequenceGenerator(name = "order_product_seq_generator", sequenceName = "order_product_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
     private Order order;
 
-    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
     private Product product;
 
-    public OrderProduct(Order order, Product product) {
+    private int quantity;
+
+    // 주문 시점의 상품 가격 (이후 상품 가격이 바뀌어도 주문 금액은 그대로)
+    @Column(name = "unit_price")
+    private int unitPrice;
+
+    public OrderProduct(Order order, Product product, int quantity) {
         this.order = order;
         this.product = product;
+        this.quantity = quantity;
+        this.unitPrice = product.getPrice();
+    }
+
+    public int getLinePrice() {
+        return unitPrice * quantity;
     }
 }
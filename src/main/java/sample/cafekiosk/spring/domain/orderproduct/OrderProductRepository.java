@@ -1,8 +1,34 @@
 package sample.cafekiosk.spring.domain.orderproduct;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
+
+    @Query("select new sample.cafekiosk.spring.domain.orderproduct.ProductSalesSummary(p.productNumber, sum(op.quantity), sum(op.unitPrice * op.quantity)) " +
+            "from OrderProduct op " +
+            "join op.order o " +
+            "join op.product p " +
+            "where o.registeredDateTime >= :startDateTime " +
+            "and o.registeredDateTime < :endDateTime " +
+            "and o.orderStatus = :orderStatus " +
+            "group by p.productNumber")
+    List<ProductSalesSummary> sumProductSalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    @Query("select new sample.cafekiosk.spring.domain.orderproduct.ProductSalesSummary(p.productNumber, sum(op.quantity), sum(op.unitPrice * op.quantity)) " +
+            "from OrderProduct op " +
+            "join op.order o " +
+            "join op.product p " +
+            "where o.registeredDateTime >= :startDateTime " +
+            "and o.registeredDateTime < :endDateTime " +
+            "and o.orderStatus in :orderStatuses " +
+            "group by p.productNumber")
+    List<ProductSalesSummary> sumProductSalesByStatusIn(LocalDateTime startDateTime, LocalDateTime endDateTime, Collection<OrderStatus> orderStatuses);
 }
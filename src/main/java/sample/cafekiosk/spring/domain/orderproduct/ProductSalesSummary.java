@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.domain.orderproduct;
+
+import lombok.Getter;
+
+@Getter
+public class ProductSalesSummary {
+
+    private final String productNumber;
+    private final long quantity;
+    private final long amount;
+
+    public ProductSalesSummary(String productNumber, Long quantity, Long amount) {
+        this.productNumber = productNumber;
+        this.quantity = quantity == null ? 0 : quantity;
+        this.amount = amount == null ? 0 : amount;
+    }
+}
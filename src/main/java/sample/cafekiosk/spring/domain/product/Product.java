@@ -9,6 +9,7 @@ import sample.cafekiosk.spring.domain.BaseEntitiy;
 import javax.persistence.*;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number", columnNames = "product_number"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Product extends BaseEntitiy {
@@ -17,6 +18,7 @@ public class Product extends BaseEntitiy {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "product_number")
     private String productNumber;
 
     @Enumerated(EnumType.STRING)
@@ -37,4 +39,15 @@ public class Product extends BaseEntitiy {
         this.name = name;
         this.price = price;
     }
+
+    public void changeSellingStatus(ProductSellingStatus sellingStatus) {
+        this.sellingStatus = sellingStatus;
+    }
+
+    public void changePrice(int price) {
+        if (price <= 0) {
+            throw new IllegalArgumentException("상품 가격은 양수여야 합니다.");
+        }
+        this.price = price;
+    }
 }
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상품이 생성/변경되었을 때 발행한다.
+ * 상품을 들고 있는 캐시들은 커밋 이후에 이 이벤트를 받아서 갱신한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    private final Product product;
+}
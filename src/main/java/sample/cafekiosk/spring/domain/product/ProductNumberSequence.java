@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 상품번호 블록 발급용 시퀀스
+ * nextValue 는 아직 어떤 서버에도 나눠주지 않은 첫 번째 번호이다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class ProductNumberSequence {
+
+    @Id
+    private String name;
+
+    private long nextValue;
+
+    public ProductNumberSequence(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+}
@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductNumberSequenceRepository extends JpaRepository<ProductNumberSequence, String> {
+
+    /**
+     * update product_number_sequence
+     * set next_value = next_value + :blockSize
+     * where name = :name
+     * -> row 락이 잡히므로 여러 서버가 동시에 블록을 가져가도 겹치지 않는다.
+     */
+    @Modifying
+    @Query("update ProductNumberSequence s " +
+            "set s.nextValue = s.nextValue + :blockSize " +
+            "where s.name = :name")
+    int increaseNextValue(String name, long blockSize);
+}
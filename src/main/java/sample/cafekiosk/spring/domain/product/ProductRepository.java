@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -18,6 +19,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
+    Optional<Product> findByProductNumber(String productNumber);
+
     @Query(value = "select p.product_Number from product p order by p.id desc limit 1", nativeQuery = true)
     String findLatestProductNumber();
 }
@@ -0,0 +1,56 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntitiy;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 일자/주문상태/상품별 판매 수량 집계
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_product_sales", columnNames = {"sales_date", "order_status", "product_number"}))
+@Entity
+public class DailyProductSales extends BaseEntitiy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status")
+    private OrderStatus orderStatus;
+
+    @Column(name = "product_number")
+    private String productNumber;
+
+    private long quantity;
+
+    private long amount;
+
+    @Builder
+    private DailyProductSales(LocalDate salesDate, OrderStatus orderStatus, String productNumber, long quantity, long amount) {
+        this.salesDate = salesDate;
+        this.orderStatus = orderStatus;
+        this.productNumber = productNumber;
+        this.quantity = quantity;
+        this.amount = amount;
+    }
+
+    public static DailyProductSales empty(LocalDate salesDate, OrderStatus orderStatus, String productNumber) {
+        return DailyProductSales.builder()
+                .salesDate(salesDate)
+                .orderStatus(orderStatus)
+                .productNumber(productNumber)
+                .build();
+    }
+}
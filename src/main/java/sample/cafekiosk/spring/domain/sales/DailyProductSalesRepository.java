@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, Long> {
+
+    List<DailyProductSales> findAllBySalesDateAndOrderStatus(LocalDate salesDate, OrderStatus orderStatus);
+
+    boolean existsBySalesDateAndOrderStatusAndProductNumber(LocalDate salesDate, OrderStatus orderStatus, String productNumber);
+
+    @Modifying
+    @Query("update DailyProductSales s " +
+            "set s.quantity = s.quantity + :quantity, s.amount = s.amount + :amount " +
+            "where s.salesDate = :salesDate " +
+            "and s.orderStatus = :orderStatus " +
+            "and s.productNumber = :productNumber")
+    int increase(LocalDate salesDate, OrderStatus orderStatus, String productNumber, long quantity, long amount);
+}
@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntitiy;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * 일자/주문상태별 매출 집계
+ * 주문이 결제완료 될 때마다 update ... set total_amount = total_amount + ? 로 누적한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_rollup", columnNames = {"sales_date", "order_status"}))
+@Entity
+public class DailySalesRollup extends BaseEntitiy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status")
+    private OrderStatus orderStatus;
+
+    private long totalAmount;
+
+    private long orderCount;
+
+    @Builder
+    private DailySalesRollup(LocalDate salesDate, OrderStatus orderStatus, long totalAmount, long orderCount) {
+        this.salesDate = salesDate;
+        this.orderStatus = orderStatus;
+        this.totalAmount = totalAmount;
+        this.orderCount = orderCount;
+    }
+}
@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, Long> {
+
+    Optional<DailySalesRollup> findBySalesDateAndOrderStatus(LocalDate salesDate, OrderStatus orderStatus);
+
+    boolean existsBySalesDateAndOrderStatus(LocalDate salesDate, OrderStatus orderStatus);
+
+    @Modifying
+    @Query("update DailySalesRollup r " +
+            "set r.totalAmount = r.totalAmount + :amount, r.orderCount = r.orderCount + :orderCount " +
+            "where r.salesDate = :salesDate " +
+            "and r.orderStatus = :orderStatus")
+    int increase(LocalDate salesDate, OrderStatus orderStatus, long amount, long orderCount);
+}
@@ -0,0 +1,96 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.HourlySalesSummary;
+import sample.cafekiosk.spring.domain.order.OrderExportRow;
+import sample.cafekiosk.spring.domain.orderproduct.ProductSalesSummary;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 기간 매출 집계 (합계 / 시간대별 / 상품별)
+ * 일 단위로 따로 집계한 뒤 merge 로 합칠 수 있다. -> 스레드마다 자기 집계만 쓰므로 동기화가 필요 없다.
+ */
+public class SalesAggregate {
+
+    private static final int HOURS = 24;
+
+    private static final Comparator<ProductSalesSummary> BY_AMOUNT_DESC = Comparator
+            .comparingLong(ProductSalesSummary::getAmount).reversed()
+            .thenComparing(Comparator.comparingLong(ProductSalesSummary::getQuantity).reversed())
+            .thenComparing(ProductSalesSummary::getProductNumber);
+
+    @Getter
+    private long totalAmount;
+
+    @Getter
+    private long orderCount;
+
+    private final long[] hourlyAmounts = new long[HOURS];
+    private final long[] hourlyCounts = new long[HOURS];
+
+    // 상품번호 -> {수량, 금액}
+    private final Map<String, long[]> products = new HashMap<>();
+
+    public void add(OrderExportRow order) {
+        int hour = order.getRegisteredDateTime().getHour();
+        totalAmount += order.getTotalPrice();
+        orderCount++;
+        hourlyAmounts[hour] += order.getTotalPrice();
+        hourlyCounts[hour]++;
+
+        for (OrderExportRow.Line line : order.getLines()) {
+            addProduct(line.getProductNumber(), line.getQuantity(), (long) line.getPrice() * line.getQuantity());
+        }
+    }
+
+    public void addHourly(HourlySalesSummary summary) {
+        totalAmount += summary.getTotalAmount();
+        orderCount += summary.getOrderCount();
+        hourlyAmounts[summary.getHour()] += summary.getTotalAmount();
+        hourlyCounts[summary.getHour()] += summary.getOrderCount();
+    }
+
+    public void addProduct(ProductSalesSummary summary) {
+        addProduct(summary.getProductNumber(), summary.getQuantity(), summary.getAmount());
+    }
+
+    public SalesAggregate merge(SalesAggregate other) {
+        totalAmount += other.totalAmount;
+        orderCount += other.orderCount;
+        for (int hour = 0; hour < HOURS; hour++) {
+            hourlyAmounts[hour] += other.hourlyAmounts[hour];
+            hourlyCounts[hour] += other.hourlyCounts[hour];
+        }
+        other.products.forEach((productNumber, sales) -> addProduct(productNumber, sales[0], sales[1]));
+        return this;
+    }
+
+    public long getHourlyAmount(int hour) {
+        return hourlyAmounts[hour];
+    }
+
+    public long getHourlyCount(int hour) {
+        return hourlyCounts[hour];
+    }
+
+    /**
+     * 금액이 큰 상품부터 (같으면 수량, 상품번호 순)
+     */
+    public List<ProductSalesSummary> getProductSales() {
+        return products.entrySet().stream()
+                .map(entry -> new ProductSalesSummary(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(BY_AMOUNT_DESC)
+                .collect(Collectors.toList());
+    }
+
+    private void addProduct(String productNumber, long quantity, long amount) {
+        long[] sales = products.computeIfAbsent(productNumber, p -> new long[2]);
+        sales[0] += quantity;
+        sales[1] += amount;
+    }
+}
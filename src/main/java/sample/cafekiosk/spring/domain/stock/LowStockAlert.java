@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ARMED -> (차감으로 lowWatermark 이하) -> DETECTED -> (digest 메일) -> NOTIFIED -> (재입고로 lowWatermark 초과) -> ARMED
+ * 한 번 DETECTED 가 되면 재입고 전까지는 주문이 계속 들어와도 다시 알리지 않는다.
+ */
+@RequiredArgsConstructor
+@Getter
+public enum LowStockAlert {
+
+    ARMED("알림 대기"),
+    DETECTED("재고 부족 감지"),
+    NOTIFIED("알림 완료");
+
+    private final String text;
+}
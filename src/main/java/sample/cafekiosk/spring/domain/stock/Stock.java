@@ -6,13 +6,23 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.domain.BaseEntitiy;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_product_number", columnNames = "product_number"),
+        indexes = @Index(name = "idx_stock_low_stock_alert", columnList = "low_stock_alert")
+)
 @Entity
 public class Stock extends BaseEntitiy {
 
@@ -20,14 +30,24 @@ public class Stock extends BaseEntitiy {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "product_number")
     private String productNumber; //연관관계 없이 설정
 
     private int quantity;
 
+    // 남은 수량이 이 값 이하가 되면 재고 부족 알림 (null 이면 알리지 않음)
+    @Column(name = "low_watermark")
+    private Integer lowWatermark;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "low_stock_alert", nullable = false, length = 20)
+    private LowStockAlert lowStockAlert = LowStockAlert.ARMED;
+
     @Builder
-    public Stock(String productNumber, int quantity) {
+    public Stock(String productNumber, int quantity, Integer lowWatermark) {
         this.productNumber = productNumber;
         this.quantity = quantity;
+        this.lowWatermark = lowWatermark;
     }
 
     public static Stock create(String productNumber, int quantity) {
@@ -46,5 +66,17 @@ public class Stock extends BaseEntitiy {
             throw new IllegalArgumentException("차감할 재고 수량이 없습니다.");
         }
         this.quantity -= quantity;
+        detectLowStock();
+    }
+
+    public boolean isAtOrBelowLowWatermark() {
+        return lowWatermark != null && quantity <= lowWatermark;
+    }
+
+    // 조건부 update / 재고 장부 반영 SQL 의 case 절과 같은 규칙 (StockRepositoryImpl)
+    private void detectLowStock() {
+        if (lowStockAlert == LowStockAlert.ARMED && isAtOrBelowLowWatermark()) {
+            this.lowStockAlert = LowStockAlert.DETECTED;
+        }
     }
 }
@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * 재고 수량이 바뀌었을 때 발행한다. (바뀐 수량은 담지 않는다. -> 필요한 쪽에서 모아서 한 번에 조회)
+ */
+@Getter
+@RequiredArgsConstructor
+public class StockChangedEvent {
+
+    private final Collection<String> productNumbers;
+}
@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class StockDeduction {
+
+    private final String productNumber;
+    private final int quantity;
+}
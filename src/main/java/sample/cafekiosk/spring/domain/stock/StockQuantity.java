@@ -0,0 +1,18 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.Getter;
+
+/**
+ * 재고 수량만 읽는 projection (영속성 컨텍스트에 Stock 엔티티를 올리지 않는다.)
+ */
+@Getter
+public class StockQuantity {
+
+    private final String productNumber;
+    private final int quantity;
+
+    public StockQuantity(String productNumber, Integer quantity) {
+        this.productNumber = productNumber;
+        this.quantity = quantity == null ? 0 : quantity;
+    }
+}
@@ -1,12 +1,63 @@
 package sample.cafekiosk.spring.domain.stock;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface StockRepository extends JpaRepository<Stock, Long> {
+public interface StockRepository extends JpaRepository<Stock, Long>, StockRepositoryCustom {
 
     List<Stock> findAllByProductNumberIn(List<String> productNumbers);
+
+    /**
+     * 수량만 읽는다. -> 같은 트랜잭션에서 나중에 for update 로 잠가 읽을 때 이미 관리 중인(옛 수량의) 엔티티를 돌려받지 않도록
+     */
+    @Query("select new sample.cafekiosk.spring.domain.stock.StockQuantity(s.productNumber, s.quantity) " +
+            "from Stock s " +
+            "where s.productNumber in :productNumbers")
+    List<StockQuantity> findQuantitiesByProductNumberIn(Collection<String> productNumbers);
+
+    /**
+     * select *
+     * from stock
+     * where product_number in (...)
+     * order by product_number
+     * for update;
+     * -> 상품번호 순으로 락을 잡아서 주문끼리 데드락이 생기지 않도록 한다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Stock s " +
+            "where s.productNumber in :productNumbers " +
+            "order by s.productNumber")
+    List<Stock> findAllByProductNumberInForUpdate(Collection<String> productNumbers);
+
+    List<Stock> findAllByLowStockAlertOrderByProductNumber(LowStockAlert lowStockAlert);
+
+    /**
+     * DETECTED -> NOTIFIED 조건부 update (한 건)
+     * 여러 서버가 같은 재고를 읽어도 update 에 성공한 쪽(1)만 digest 에 담는다.
+     */
+    @Modifying
+    @Query("update Stock s " +
+            "set s.lowStockAlert = sample.cafekiosk.spring.domain.stock.LowStockAlert.NOTIFIED " +
+            "where s.id = :id " +
+            "and s.lowStockAlert = sample.cafekiosk.spring.domain.stock.LowStockAlert.DETECTED")
+    int claimLowStockAlert(Long id);
+
+    /**
+     * 재입고로 low_watermark 를 넘은 재고는 다시 알릴 수 있게 ARMED 로 돌린다.
+     * 수량 비교를 DB 안에서 하므로 그 사이 들어온 차감과 엇갈리지 않는다.
+     */
+    @Modifying
+    @Query("update Stock s " +
+            "set s.lowStockAlert = sample.cafekiosk.spring.domain.stock.LowStockAlert.ARMED " +
+            "where s.lowStockAlert <> sample.cafekiosk.spring.domain.stock.LowStockAlert.ARMED " +
+            "and (s.lowWatermark is null or s.quantity > s.lowWatermark)")
+    int rearmRecoveredLowStockAlerts();
 }
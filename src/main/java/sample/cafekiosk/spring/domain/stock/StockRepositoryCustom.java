@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import java.util.List;
+
+public interface StockRepositoryCustom {
+
+    /**
+     * update stock
+     * set low_stock_alert = case when ... then 'DETECTED' ..., quantity = quantity - ?
+     * where product_number = ? and quantity >= ?
+     * -> 상품별로 한 문장씩 JDBC batch 로 실행하고, 상품별 변경된 row 수를 돌려준다. (0 이면 재고 부족)
+     */
+    int[] deductQuantitiesIfSufficient(List<StockDeduction> deductions);
+
+    /**
+     * update stock
+     * set low_stock_alert = case when ... then 'DETECTED' ..., quantity = quantity - ?
+     * where product_number = ?
+     * -> 이미 차감 가능 여부를 확인한 수량(재고 장부)을 DB 에 모아서 반영할 때 사용한다.
+     */
+    void applyDeductions(List<StockDeduction> deductions);
+
+    /**
+     * update stock
+     * set quantity = quantity + ?
+     * where product_number = ?
+     * -> 취소된 주문의 수량을 되돌린다.
+     */
+    void restoreQuantities(List<StockDeduction> deductions);
+}
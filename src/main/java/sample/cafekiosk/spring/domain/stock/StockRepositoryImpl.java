@@ -0,0 +1,98 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class StockRepositoryImpl implements StockRepositoryCustom {
+
+    // 차감 후 수량이 low_watermark 이하가 되면 같은 문장에서 DETECTED 로 바꾼다. (추가 조회 없음)
+    // quantity 보다 먼저 set 해서 DB 에 상관없이 차감 전 수량으로 계산되게 한다.
+    private static final String DETECT_LOW_STOCK = "low_stock_alert = case " +
+            "when low_stock_alert = 'ARMED' and quantity - ? <= low_watermark then 'DETECTED' " +
+            "else low_stock_alert end, ";
+
+    private static final String DEDUCT_QUANTITY_SQL = "update stock " +
+            "set " + DETECT_LOW_STOCK + "quantity = quantity - ?, modified_date_time = ? " +
+            "where product_number = ? and quantity >= ?";
+
+    private static final String APPLY_DEDUCTION_SQL = "update stock " +
+            "set " + DETECT_LOW_STOCK + "quantity = quantity - ?, modified_date_time = ? " +
+            "where product_number = ?";
+
+    private static final String RESTORE_QUANTITY_SQL = "update stock " +
+            "set quantity = quantity + ?, modified_date_time = ? " +
+            "where product_number = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] deductQuantitiesIfSufficient(List<StockDeduction> deductions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        return jdbcTemplate.batchUpdate(DEDUCT_QUANTITY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockDeduction deduction = deductions.get(i);
+                ps.setInt(1, deduction.getQuantity());
+                ps.setInt(2, deduction.getQuantity());
+                ps.setTimestamp(3, now);
+                ps.setString(4, deduction.getProductNumber());
+                ps.setInt(5, deduction.getQuantity());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deductions.size();
+            }
+        });
+    }
+
+    @Override
+    public void applyDeductions(List<StockDeduction> deductions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(APPLY_DEDUCTION_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockDeduction deduction = deductions.get(i);
+                ps.setInt(1, deduction.getQuantity());
+                ps.setInt(2, deduction.getQuantity());
+                ps.setTimestamp(3, now);
+                ps.setString(4, deduction.getProductNumber());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deductions.size();
+            }
+        });
+    }
+
+    @Override
+    public void restoreQuantities(List<StockDeduction> deductions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(RESTORE_QUANTITY_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockDeduction deduction = deductions.get(i);
+                ps.setInt(1, deduction.getQuantity());
+                ps.setTimestamp(2, now);
+                ps.setString(3, deduction.getProductNumber());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return deductions.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,6 @@
+-- 재고 부족 digest 처럼 여러 상품을 묶은 메일은 내용이 255자를 넘는다. -> 제목 / 내용은 길이 제한 없이 저장한다.
+alter table mail_outbox alter column subject set data type text;
+alter table mail_outbox alter column content set data type text;
+
+alter table mail_send_history alter column subject set data type text;
+alter table mail_send_history alter column content set data type text;
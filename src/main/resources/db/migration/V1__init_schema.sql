@@ -0,0 +1,130 @@
+-- ddl-auto: create 로 만들어지던 스키마 (엔티티 매핑과 같아야 한다. -> 로컬/테스트는 ddl-auto: validate 로 확인)
+
+create sequence orders_seq start with 1 increment by 50;
+create sequence order_product_seq start with 1 increment by 50;
+create sequence mail_send_history_seq start with 1 increment by 50;
+
+create table product
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    product_number     varchar(255),
+    type               varchar(255),
+    selling_status     varchar(255),
+    name               varchar(255),
+    price              integer not null,
+    primary key (id),
+    constraint uk_product_product_number unique (product_number)
+);
+
+create table product_number_sequence
+(
+    name       varchar(255) not null,
+    next_value bigint       not null,
+    primary key (name)
+);
+
+create table stock
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    product_number     varchar(255),
+    quantity           integer not null,
+    primary key (id)
+);
+
+create table orders
+(
+    id                   bigint not null,
+    created_date_time    timestamp,
+    modified_date_time   timestamp,
+    order_status         varchar(255),
+    total_price          integer not null,
+    registered_date_time timestamp,
+    primary key (id)
+);
+
+create table order_product
+(
+    id                 bigint not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    order_id           bigint,
+    product_id         bigint,
+    primary key (id)
+);
+
+create table order_idempotency_key
+(
+    idempotency_key    varchar(255) not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    order_id           bigint,
+    request_hash       varchar(255),
+    primary key (idempotency_key)
+);
+
+create table daily_sales_rollup
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    sales_date         date,
+    order_status       varchar(255),
+    total_amount       bigint not null,
+    order_count        bigint not null,
+    primary key (id),
+    constraint uk_daily_sales_rollup unique (sales_date, order_status)
+);
+
+create table daily_product_sales
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    sales_date         date,
+    order_status       varchar(255),
+    product_number     varchar(255),
+    quantity           bigint not null,
+    amount             bigint not null,
+    primary key (id),
+    constraint uk_daily_product_sales unique (sales_date, order_status, product_number)
+);
+
+create table mail_send_history
+(
+    id                 bigint not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    from_email         varchar(255),
+    to_email           varchar(255),
+    subject            varchar(255),
+    content            varchar(255),
+    primary key (id)
+);
+
+create table mail_outbox
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    from_email         varchar(255),
+    to_email           varchar(255),
+    subject            varchar(255),
+    content            varchar(255),
+    status             varchar(255),
+    attempts           integer not null,
+    next_attempt_at    timestamp,
+    claim_token        varchar(255),
+    claimed_at         timestamp,
+    primary key (id)
+);
+
+create index idx_mail_outbox_status_next_attempt on mail_outbox (status, next_attempt_at);
+
+alter table order_product
+    add constraint fk_order_product_order foreign key (order_id) references orders (id);
+alter table order_product
+    add constraint fk_order_product_product foreign key (product_id) references product (id);
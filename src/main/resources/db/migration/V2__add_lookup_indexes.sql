@@ -0,0 +1,15 @@
+-- 주문/재고 조회 경로가 table scan 이 되지 않도록 인덱스를 추가한다.
+
+-- findAllByProductNumberIn / 조건부 재고 차감 (상품번호당 재고는 하나)
+alter table stock
+    add constraint uk_stock_product_number unique (product_number);
+
+-- 일자별 주문 조회, 주문 내보내기 keyset ((registered_date_time, id) 순서로 읽는다.)
+create index idx_orders_registered_date_time on orders (registered_date_time, id);
+
+-- 매출 통계 (상태 = ? and 기간) -> 상태가 등호 조건이라 앞에 둔다.
+create index idx_orders_order_status_registered_date_time on orders (order_status, registered_date_time);
+
+-- 주문 상품 fetch join / order_id in (...) 조회
+create index idx_order_product_order_id on order_product (order_id);
+create index idx_order_product_product_id on order_product (product_id);
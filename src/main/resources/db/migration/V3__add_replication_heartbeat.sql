@@ -0,0 +1,10 @@
+-- ReplicaLagMonitor 가 primary 에 현재 시각을 쓰고 replica 에서 읽어서 복제 지연을 잰다.
+create table replication_heartbeat
+(
+    id      integer   not null,
+    beat_at timestamp not null,
+    primary key (id)
+);
+
+insert into replication_heartbeat (id, beat_at)
+values (1, current_timestamp);
@@ -0,0 +1,8 @@
+-- 상품별 재고 부족 알림 기준 (null 이면 알리지 않는다.)
+alter table stock add column low_watermark integer;
+
+-- ARMED / DETECTED / NOTIFIED (LowStockAlert)
+alter table stock add column low_stock_alert varchar(20) default 'ARMED' not null;
+
+-- digest 는 DETECTED 인 재고만 읽는다.
+create index idx_stock_low_stock_alert on stock (low_stock_alert);
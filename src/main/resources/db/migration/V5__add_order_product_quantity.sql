@@ -0,0 +1,27 @@
+-- 주문 상품을 상품 하나당 한 row 에서 (상품, 수량, 주문 시점 단가) 한 row 로 바꾼다.
+alter table order_product add column quantity integer default 1 not null;
+alter table order_product add column unit_price integer;
+
+-- 기존 row 는 주문 시점 가격을 알 수 없어서 현재 상품 가격으로 채운다.
+update order_product op
+set unit_price = (select p.price from product p where p.id = op.product_id);
+
+-- 기존 주문의 같은 상품 row 들은 가장 작은 id 의 row 하나로 합친다.
+update order_product op
+set quantity = (select count(*)
+                from order_product d
+                where d.order_id = op.order_id
+                  and d.product_id = op.product_id)
+where op.id = (select min(d.id)
+               from order_product d
+               where d.order_id = op.order_id
+                 and d.product_id = op.product_id);
+
+delete
+from order_product op
+where op.id > (select min(d.id)
+               from order_product d
+               where d.order_id = op.order_id
+                 and d.product_id = op.product_id);
+
+alter table order_product alter column unit_price set not null;
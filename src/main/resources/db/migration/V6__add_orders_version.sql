@@ -0,0 +1,2 @@
+-- 주문 상태 변경 낙관적 락 (@Version), 일괄 상태 변경 update 도 version 을 올린다.
+alter table orders add column version bigint default 0 not null;
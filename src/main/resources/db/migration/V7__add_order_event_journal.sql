@@ -0,0 +1,38 @@
+-- 주문 이벤트 journal (append only). id 순서가 읽는 순서(cursor)
+-- id 는 애플리케이션이 increment 만큼씩 블록으로 받아서 쓴다. (이벤트마다 시퀀스를 조회하지 않는다.)
+create sequence order_event_seq start with 1 increment by 50;
+
+create table order_event
+(
+    id                 bigint      not null,
+    order_id           bigint      not null,
+    event_type         varchar(30) not null,
+    order_status       varchar(30),
+    previous_status    varchar(30),
+    total_price        integer,
+    detail             varchar(100000),
+    recorded_date_time timestamp   not null,
+    primary key (id)
+);
+
+-- 주문 한 건 replay (snapshot 이후 이벤트)
+create index idx_order_event_order_id on order_event (order_id, id);
+
+-- 주문별 마지막 상태 (last_event_id 까지 반영). 전체 replay 는 snapshot 에서 시작한다.
+create table order_snapshot
+(
+    order_id      bigint      not null,
+    order_status  varchar(30) not null,
+    total_price   integer     not null,
+    last_event_id bigint      not null,
+    primary key (order_id)
+);
+
+-- 소비자별로 어디까지 읽었는지 (snapshot 도 소비자 중 하나)
+create table order_event_cursor
+(
+    consumer           varchar(100) not null,
+    last_event_id      bigint       not null,
+    modified_date_time timestamp,
+    primary key (consumer)
+);
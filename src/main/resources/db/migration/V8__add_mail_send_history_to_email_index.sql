@@ -0,0 +1,2 @@
+-- 받는 사람 + 기간으로 메일 전송 이력을 조회한다. (받는 사람이 등호 조건이라 앞에 둔다.)
+create index idx_mail_send_history_to_email on mail_send_history (to_email, created_date_time);
@@ -0,0 +1,14 @@
+-- 주문 이벤트 id 는 이 행을 잠근 채로 last_id 를 늘려서 받는다. (append 한 트랜잭션이 커밋/롤백할 때까지 다음 append 는 기다린다.)
+-- -> id 순서 = 커밋 순서라서 cursor(id > ?) 가 늦게 커밋된 이벤트를 건너뛰지 않는다. 롤백되면 늘린 값도 되돌아가서 빈 id 가 없다.
+create table order_event_id
+(
+    id      int    not null,
+    last_id bigint not null,
+    primary key (id)
+);
+
+insert into order_event_id (id, last_id)
+select 1, coalesce(max(id), 0)
+from order_event;
+
+drop sequence order_event_seq;
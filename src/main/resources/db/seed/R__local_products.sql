@@ -0,0 +1,5 @@
+-- 로컬 프로필에서만 쓰는 샘플 상품 (repeatable -> 내용이 바뀌면 다시 실행되므로 merge 로 넣는다.)
+merge into product(product_number, type, selling_status, name, price) key (product_number)
+values ('001', 'HANDMADE', 'SELLING', '아메리카노', 4000),
+       ('002', 'HANDMADE', 'HOLD', '카페라떼', 4500),
+       ('003', 'BAKERY', 'STOP_SELLING', '크루아상', 3500);
@@ -8,14 +8,37 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBulkCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBulkStatusChangeRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderLineRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.OrderEventJournal;
+import sample.cafekiosk.spring.api.service.order.OrderExportService;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.OrderLifecycleService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.SalesAggregationMode;
+import sample.cafekiosk.spring.api.service.order.SalesStatisticsService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = OrderController.class)
@@ -27,6 +50,21 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private SalesStatisticsService salesStatisticsService;
+
+    @MockBean
+    private OrderLifecycleService orderLifecycleService;
+
+    @MockBean
+    private OrderEventJournal orderEventJournal;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -52,6 +90,29 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.message").value("OK"));
     }
 
+    @DisplayName("Idempotency-Key 헤더가 있으면 키 기반으로 주문을 등록한다.")
+    @Test
+    void createOrderWithIdempotencyKey() throws Exception {
+        // given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .header("Idempotency-Key", "key-1")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"));
+
+        verify(orderIdempotencyService).createOrder(eq("key-1"), any(OrderCreateServiceRequest.class), any(LocalDateTime.class));
+        verify(orderService, never()).createOrder(any(), any());
+    }
+
     @DisplayName("신규 상품을 등록할 때 상품번호는 1개 이상이어야 한다.")
     @Test
     void createOrderWithEmptyProductNumbers() throws Exception {
@@ -75,4 +136,270 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.data").isEmpty());
     }
 
-}
\ No newline at end of file
+    @DisplayName("상품번호와 수량으로 신규 주문을 등록한다.")
+    @Test
+    void createOrderWithLines() throws Exception {
+        // given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .lines(List.of(
+                        OrderLineRequest.builder().productNumber("001").quantity(10).build(),
+                        OrderLineRequest.builder().productNumber("002").quantity(2).build()
+                ))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+
+    @DisplayName("상품번호와 수량으로 신규 주문을 등록할 때 수량은 1개 이상이어야 한다.")
+    @Test
+    void createOrderWithZeroQuantity() throws Exception {
+        // given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .lines(List.of(
+                        OrderLineRequest.builder().productNumber("001").quantity(0).build()
+                ))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/new")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("주문 수량은 1개 이상이어야 합니다."))
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @DisplayName("여러 주문을 한 번에 등록한다.")
+    @Test
+    void createOrders() throws Exception {
+        // given
+        OrderBulkCreateRequest request = OrderBulkCreateRequest.builder()
+                .orders(List.of(
+                        OrderCreateRequest.builder().productNumbers(List.of("001")).build(),
+                        OrderCreateRequest.builder().productNumbers(List.of("002")).build()
+                ))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/bulk")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+
+    @DisplayName("여러 주문을 한 번에 등록할 때 각 주문의 상품번호는 1개 이상이어야 한다.")
+    @Test
+    void createOrdersWithEmptyProductNumbers() throws Exception {
+        // given
+        OrderBulkCreateRequest request = OrderBulkCreateRequest.builder()
+                .orders(List.of(
+                        OrderCreateRequest.builder().productNumbers(List.of("001")).build(),
+                        OrderCreateRequest.builder().productNumbers(List.of()).build()
+                ))
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/bulk")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("상품 번호 리스트는 필수입니다."))
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @DisplayName("주문 상태를 변경한다.")
+    @Test
+    void changeOrderStatus() throws Exception {
+        // given
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+                .orderStatus(OrderStatus.CANCELED)
+                .version(3L)
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/1/status")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+
+        verify(orderLifecycleService).changeStatus(1L, OrderStatus.CANCELED, 3L);
+    }
+
+    @DisplayName("주문 상태를 변경할 때 변경할 상태는 필수값이다.")
+    @Test
+    void changeOrderStatusWithoutStatus() throws Exception {
+        // given
+        OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+                .version(3L)
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/1/status")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("변경할 주문 상태는 필수입니다."))
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @DisplayName("여러 주문의 상태를 한 번에 변경한다.")
+    @Test
+    void changeOrderStatuses() throws Exception {
+        // given
+        OrderBulkStatusChangeRequest request = OrderBulkStatusChangeRequest.builder()
+                .orderIds(List.of(1L, 2L, 3L))
+                .from(OrderStatus.PAYMENY_COMPLETED)
+                .to(OrderStatus.RECEIVED)
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/status/bulk")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+
+        verify(orderLifecycleService).changeStatuses(List.of(1L, 2L, 3L), OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED);
+    }
+
+    @DisplayName("여러 주문의 상태를 한 번에 변경할 때 주문 id 는 1개 이상이어야 한다.")
+    @Test
+    void changeOrderStatusesWithEmptyOrderIds() throws Exception {
+        // given
+        OrderBulkStatusChangeRequest request = OrderBulkStatusChangeRequest.builder()
+                .orderIds(List.of())
+                .from(OrderStatus.PAYMENY_COMPLETED)
+                .to(OrderStatus.RECEIVED)
+                .build();
+
+        // when // then
+        mockMvc.perform(
+                        post("/api/v1/orders/status/bulk")
+                                .content(objectMapper.writeValueAsString(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+                .andExpect(jsonPath("$.message").value("주문 id 리스트는 필수입니다."))
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @DisplayName("일자별 주문 목록을 조회한다.")
+    @Test
+    void getOrders() throws Exception {
+        // given
+        List<OrderResponse> result = List.of();
+        when(orderService.getOrders(LocalDate.of(2023, 3, 5))).thenReturn(result);
+
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders")
+                                .param("orderDate", "2023-03-05")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"))
+                .andExpect(jsonPath("$.data").isArray());
+    }
+
+    @DisplayName("주문 이벤트를 cursor 다음부터 읽는다.")
+    @Test
+    void getOrderEvents() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders/events")
+                                .param("after", "10")
+                                .param("size", "50")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+
+        verify(orderEventJournal).read(10L, 50);
+    }
+
+    @DisplayName("기간 내 주문을 CSV 로 내보낸다.")
+    @Test
+    void exportOrders() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders/export")
+                                .param("startDate", "2023-03-01")
+                                .param("endDate", "2023-04-01")
+                                .param("format", "CSV")
+                )
+                .andDo(print())
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders-2023-03-01-2023-04-01.csv\""));
+    }
+
+    @DisplayName("기간 매출 통계를 조회한다. 주문 상태와 상위 상품 수, 집계 방식은 생략할 수 있다.")
+    @Test
+    void getSalesStatistics() throws Exception {
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/orders/statistics")
+                                .param("startDate", "2023-03-01")
+                                .param("endDate", "2023-06-01")
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+
+        verify(salesStatisticsService).getStatistics(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 6, 1),
+                OrderStatus.PAYMENY_COMPLETED, 5, SalesAggregationMode.AUTO);
+    }
+
+}
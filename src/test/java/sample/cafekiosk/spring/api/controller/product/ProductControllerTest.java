@@ -6,10 +6,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.CatalogStreamService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.SellingProductSnapshot;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
@@ -20,6 +24,8 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +41,9 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private CatalogStreamService catalogStreamService;
+
     @DisplayName("신규 상품을 등록한다.")
     @Test
     void createProduct() throws Exception {
@@ -164,9 +173,9 @@ class ProductControllerTest {
     @Test
     void getSellingProducts() throws Exception {
         // given
-        List<ProductResponse> result = List.of();
+        SellingProductSnapshot snapshot = createSnapshot(List.of());
 
-        when(productService.getSellingProducts()).thenReturn(result);
+        when(productService.getSellingProductCatalog()).thenReturn(snapshot);
 
         // when // then
         mockMvc.perform(
@@ -174,9 +183,33 @@ class ProductControllerTest {
                 )
                 .andDo(print()) // 요청에 대한 로그를 더 자세하게 확인 가능
                 .andExpect(status().isOk()) //Status 상태코드 검증
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.getEtag()))
                 .andExpect(jsonPath("$.code").value("200"))
                 .andExpect(jsonPath("$.status").value("OK"))
                 .andExpect(jsonPath("$.message").value("OK"))
                 .andExpect(jsonPath("$.data").isArray());
     }
-}
\ No newline at end of file
+
+    @DisplayName("판매 상품 목록이 바뀌지 않았으면 본문 없이 304 를 응답한다.")
+    @Test
+    void getSellingProductsNotModified() throws Exception {
+        // given
+        SellingProductSnapshot snapshot = createSnapshot(List.of());
+
+        when(productService.getSellingProductCatalog()).thenReturn(snapshot);
+
+        // when // then
+        mockMvc.perform(
+                        get("/api/v1/products/selling")
+                                .header(HttpHeaders.IF_NONE_MATCH, snapshot.getEtag())
+                )
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, snapshot.getEtag()))
+                .andExpect(content().string(""));
+    }
+
+    private SellingProductSnapshot createSnapshot(List<ProductResponse> products) throws Exception {
+        return SellingProductSnapshot.of(1L, products, objectMapper.writeValueAsBytes(ApiResponse.ok(products)));
+    }
+}
@@ -0,0 +1,154 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class MailHistoryLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final LocalDateTime SENT = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("받는 사람의 기간 내 이력만 전송시각 순으로 읽는다.")
+    @Test
+    void findAllByToEmail() {
+        // given
+        MailHistoryLog log = new MailHistoryLog(tempDir, SEGMENT_SIZE, false);
+        log.append(List.of(
+                createRecord("a@test.com", "제목1", SENT.plusMinutes(2)),
+                createRecord("b@test.com", "제목2", SENT.plusMinutes(1)),
+                createRecord("a@test.com", "제목3", SENT),
+                createRecord("a@test.com", "제목4", SENT.plusMinutes(10))
+        ));
+
+        // when
+        List<MailHistoryRecord> records = log.findAllByToEmail("a@test.com", SENT, SENT.plusMinutes(10));
+
+        // then
+        assertThat(records)
+                .extracting("toEmail", "subject", "sentDateTime")
+                .containsExactly(
+                        tuple("a@test.com", "제목3", SENT),
+                        tuple("a@test.com", "제목1", SENT.plusMinutes(2))
+                );
+    }
+
+    @DisplayName("세그먼트가 다 차면 다음 세그먼트에 이어서 쓰고, 세그먼트를 넘어서도 조회된다.")
+    @Test
+    void rollSegment() {
+        // given
+        MailHistoryLog log = new MailHistoryLog(tempDir, SEGMENT_SIZE, false);
+
+        // when
+        log.append(createRecords(50));
+
+        // then
+        assertThat(log.segmentCount()).isGreaterThan(1);
+        assertThat(log.count()).isEqualTo(50);
+        assertThat(log.findAllByToEmail("to@test.com", SENT, SENT.plusHours(1)))
+                .extracting("subject")
+                .containsExactlyElementsOf(IntStream.range(0, 50).mapToObj(i -> "제목" + i).collect(Collectors.toList()));
+    }
+
+    @DisplayName("로그를 다시 열면 세그먼트를 읽어서 인덱스를 만들고 이어서 기록한다.")
+    @Test
+    void reopen() {
+        // given
+        MailHistoryLog log = new MailHistoryLog(tempDir, SEGMENT_SIZE, false);
+        log.append(createRecords(30));
+        log.close();
+
+        // when
+        MailHistoryLog reopened = new MailHistoryLog(tempDir, SEGMENT_SIZE, false);
+        reopened.append(List.of(createRecord("to@test.com", "제목30", SENT.plusMinutes(30))));
+
+        // then
+        assertThat(reopened.count()).isEqualTo(31);
+        assertThat(reopened.findAllByToEmail("to@test.com", SENT, SENT.plusHours(1)))
+                .hasSize(31)
+                .last()
+                .extracting("subject")
+                .isEqualTo("제목30");
+    }
+
+    @DisplayName("길이가 기록되지 않은 레코드(쓰는 도중 중단)부터는 로그의 끝으로 본다.")
+    @Test
+    void reopenWithTornRecord() throws IOException {
+        // given
+        MailHistoryLog log = new MailHistoryLog(tempDir, SEGMENT_SIZE, false);
+        log.append(List.of(createRecord("to@test.com", "제목", SENT)));
+        log.close();
+
+        // 두 번째 레코드의 본문만 쓰이고 길이는 0 으로 남은 상태
+        Path segment = tempDir.resolve("mail-history-0000000000.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            length.flip();
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), Integer.BYTES + length.getInt() + Integer.BYTES);
+        }
+
+        // when
+        MailHistoryLog reopened = new MailHistoryLog(tempDir, SEGMENT_SIZE, false);
+
+        // then
+        assertThat(reopened.count()).isEqualTo(1);
+        assertThat(reopened.findAllByToEmail("to@test.com", SENT, SENT.plusMinutes(1)))
+                .extracting("subject")
+                .containsExactly("제목");
+    }
+
+    @DisplayName("세그먼트보다 큰 메일 이력은 기록할 수 없다.")
+    @Test
+    void appendLargerThanSegment() {
+        // given
+        MailHistoryLog log = new MailHistoryLog(tempDir, SEGMENT_SIZE, false);
+        MailHistoryRecord record = MailHistoryRecord.builder()
+                .fromEmail("from@test.com")
+                .toEmail("to@test.com")
+                .subject("제목")
+                .content("a".repeat(SEGMENT_SIZE))
+                .sentDateTime(SENT)
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> log.append(List.of(record)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("세그먼트보다 큰 메일 이력은 기록할 수 없습니다.");
+        assertThat(log.count()).isZero();
+    }
+
+    private List<MailHistoryRecord> createRecords(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> createRecord("to@test.com", "제목" + i, SENT.plusMinutes(i)))
+                .collect(Collectors.toList());
+    }
+
+    private MailHistoryRecord createRecord(String toEmail, String subject, LocalDateTime sentDateTime) {
+        return MailHistoryRecord.builder()
+                .fromEmail("from@test.com")
+                .toEmail(toEmail)
+                .subject(subject)
+                .content("내용")
+                .sentDateTime(sentDateTime)
+                .build();
+    }
+}
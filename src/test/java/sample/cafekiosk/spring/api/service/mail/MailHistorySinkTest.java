@@ -0,0 +1,105 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.mail.response.MailHistoryResponse;
+import sample.cafekiosk.spring.config.MailProperties;
+import sample.cafekiosk.spring.domain.history.mail.MailHistoryRecord;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class MailHistorySinkTest {
+
+    @Autowired
+    private MailHistorySinks mailHistorySinks;
+
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("기본 설정에서는 메일 이력을 MailSendHistory 테이블에 저장한다.")
+    @Test
+    void currentIsJpa() {
+        // when
+        MailHistorySink sink = mailHistorySinks.current();
+
+        // then
+        assertThat(sink.getMode()).isEqualByComparingTo(MailHistoryMode.JPA);
+    }
+
+    @DisplayName("같은 이력을 기록하면 테이블과 mapped 로그에서 받는 사람 + 기간으로 같은 이력을 조회한다.")
+    @Test
+    void findAllByToEmail() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        List<MailHistoryRecord> records = List.of(
+                createRecord("a@test.com", "제목1", now),
+                createRecord("b@test.com", "제목2", now),
+                createRecord("a@test.com", "제목3", now)
+        );
+
+        MailHistorySink jpaSink = mailHistorySinks.get(MailHistoryMode.JPA);
+        MappedLogMailHistorySink mappedLogSink = new MappedLogMailHistorySink(createMappedLogProperties());
+
+        // when
+        jpaSink.recordAll(records);
+        mappedLogSink.recordAll(records);
+
+        // then
+        LocalDateTime start = now.minusMinutes(1);
+        LocalDateTime end = now.plusMinutes(1);
+        List<MailHistoryResponse> fromTable = jpaSink.findAllByToEmail("a@test.com", start, end);
+        List<MailHistoryResponse> fromLog = mappedLogSink.findAllByToEmail("a@test.com", start, end);
+        mappedLogSink.close();
+
+        assertThat(fromTable)
+                .extracting("toEmail", "subject", "content")
+                .containsExactly(
+                        tuple("a@test.com", "제목1", "내용"),
+                        tuple("a@test.com", "제목3", "내용")
+                );
+        assertThat(fromLog)
+                .extracting("toEmail", "subject", "content")
+                .containsExactly(
+                        tuple("a@test.com", "제목1", "내용"),
+                        tuple("a@test.com", "제목3", "내용")
+                );
+    }
+
+    private MailProperties createMappedLogProperties() {
+        MailProperties mailProperties = new MailProperties();
+        mailProperties.getHistory().setMode(MailHistoryMode.MAPPED_LOG);
+        mailProperties.getHistory().setDirectory(tempDir.toString());
+        return mailProperties;
+    }
+
+    private MailHistoryRecord createRecord(String toEmail, String subject, LocalDateTime sentDateTime) {
+        return MailHistoryRecord.builder()
+                .fromEmail("from@test.com")
+                .toEmail(toEmail)
+                .subject(subject)
+                .content("내용")
+                .sentDateTime(sentDateTime)
+                .build();
+    }
+}
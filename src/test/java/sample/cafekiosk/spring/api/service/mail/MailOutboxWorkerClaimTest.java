@@ -0,0 +1,109 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static sample.cafekiosk.spring.domain.mail.MailOutboxStatus.SENDING;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.mail.outbox.poll-interval-millis=3600000")
+class MailOutboxWorkerClaimTest {
+
+    private static final String OTHER_CLAIM_TOKEN = "other-worker";
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxWorker mailOutboxWorker;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private MailSendClient mailSendClient;
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("전송하는 사이 claim 이 풀려서 다른 worker 가 다시 가져간 메일은 전송에 성공해도 SENT 로 바꾸지 않고 이력도 남기지 않는다.")
+    @Test
+    void skipSentWhenClaimTaken() {
+        // given
+        mailService.enqueueMail("from@test.com", "to@test.com", "제목", "내용");
+        given(mailSendClient.sendMail(anyString(), anyString(), anyString(), anyString()))
+                .willAnswer(invocation -> {
+                    reclaimByOtherWorker();
+                    return true;
+                });
+
+        // when
+        mailOutboxWorker.drainOnce();
+
+        // then
+        assertThat(mailOutboxRepository.findAll())
+                .extracting("status", "claimToken", "attempts")
+                .containsExactly(tuple(SENDING, OTHER_CLAIM_TOKEN, 0));
+        assertThat(mailSendHistoryRepository.count()).isZero();
+    }
+
+    @DisplayName("전송하는 사이 claim 이 풀려서 다른 worker 가 다시 가져간 메일은 전송에 실패해도 재시도 상태로 되돌리지 않는다.")
+    @Test
+    void skipFailedWhenClaimTaken() {
+        // given
+        mailService.enqueueMail("from@test.com", "to@test.com", "제목", "내용");
+        given(mailSendClient.sendMail(anyString(), anyString(), anyString(), anyString()))
+                .willAnswer(invocation -> {
+                    reclaimByOtherWorker();
+                    return false;
+                });
+
+        // when
+        mailOutboxWorker.drainOnce();
+
+        // then
+        assertThat(mailOutboxRepository.findAll())
+                .extracting("status", "claimToken", "attempts")
+                .containsExactly(tuple(SENDING, OTHER_CLAIM_TOKEN, 0));
+    }
+
+    // sendingTimeout 이 지나서 다른 worker 가 SENDING 을 풀고 다시 claim 한 상황
+    private void reclaimByOtherWorker() {
+        LocalDateTime now = LocalDateTime.now();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            mailOutboxRepository.releaseStaleClaims(now.plusMinutes(1));
+            List<Long> ids = mailOutboxRepository.findAll().stream()
+                    .map(MailOutbox::getId)
+                    .collect(Collectors.toList());
+            mailOutboxRepository.claim(ids, OTHER_CLAIM_TOKEN, now);
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.mail.fake.enabled=true",
+        "cafekiosk.mail.fake.latency=0ms",
+        "cafekiosk.mail.fake.jitter=0ms",
+        "cafekiosk.mail.fake.failure-rate=0.2",
+        "cafekiosk.mail.outbox.max-attempts=50",
+        "cafekiosk.mail.outbox.initial-backoff=0s",
+        "cafekiosk.mail.outbox.poll-interval-millis=3600000"
+})
+class MailOutboxWorkerTest {
+
+    private static final int MAIL_COUNT = 30;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxWorker mailOutboxWorker;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("outbox 에 쌓인 메일은 실패해도 재시도해서 모두 전송되고, 전송된 메일만 이력이 남는다.")
+    @Test
+    void drain() {
+        // given
+        for (int i = 0; i < MAIL_COUNT; i++) {
+            mailService.enqueueMail("from@test.com", "to" + i + "@test.com", "제목", "내용");
+        }
+
+        // when
+        while (mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING) > 0) {
+            mailOutboxWorker.drain();
+        }
+
+        // then
+        assertThat(mailOutboxRepository.countByStatus(MailOutboxStatus.SENT)).isEqualTo(MAIL_COUNT);
+        assertThat(mailSendHistoryRepository.count()).isEqualTo(MAIL_COUNT);
+    }
+
+    @DisplayName("255자를 넘는 제목 / 내용도 outbox 에 쌓이고 그대로 전송 이력에 남는다.")
+    @Test
+    void drainLongMail() {
+        // given
+        String subject = "재".repeat(300);
+        String content = "고".repeat(5000);
+        mailService.enqueueMail("from@test.com", "to@test.com", subject, content);
+
+        // when
+        while (mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING) > 0) {
+            mailOutboxWorker.drain();
+        }
+
+        // then
+        assertThat(mailSendHistoryRepository.findAll())
+                .extracting("subject", "content")
+                .containsExactly(tuple(subject, content));
+    }
+}
@@ -1,5 +1,6 @@
 package sample.cafekiosk.spring.api.service.mail;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,8 +9,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class) // 이게 있어야 @Mock 에너테이션이 붙은 객체 만들어줌
@@ -23,6 +28,15 @@ class MailServiceTest {
     private MailSendHistoryRepository mailSendHistoryRepository;
     //MailSendHistoryRepository mailSendHistoryRepository = mock(MailSendHistoryRepository.class); 이것과 같음
 
+    @Mock
+    private MailHistorySinks mailHistorySinks;
+
+    @Mock
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Spy
+    private MailMetrics mailMetrics = new MailMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private MailService mailService;
     // MailService mailService = new MailService(mailSendClient, mailSendHistoryRepository); 이것과 같음
@@ -31,6 +45,7 @@ class MailServiceTest {
     @Test
     void sendMail() {
         // given
+        given(mailHistorySinks.current()).willReturn(new JpaMailHistorySink(mailSendHistoryRepository));
 //        Mockito.when(mailSendClient.sendMail(anyString(), anyString(), anyString(), anyString()))
 //                .thenReturn(true);
         BDDMockito.given(mailSendClient.sendMail(anyString(), anyString(), anyString(), anyString()))
@@ -48,4 +63,22 @@ class MailServiceTest {
         assertThat(result).isTrue();
         verify(mailSendHistoryRepository, times(1)).save(any(MailSendHistory.class));
     }
-}
\ No newline at end of file
+
+    @DisplayName("메일을 outbox 에 넣을 때는 메일 서버를 호출하지 않는다.")
+    @Test
+    void enqueueMail() {
+        // given
+        given(mailOutboxRepository.save(any(MailOutbox.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        mailService.enqueueMail("from@test.com", "to@test.com", "제목", "내용");
+
+        // then
+        ArgumentCaptor<MailOutbox> captor = ArgumentCaptor.forClass(MailOutbox.class);
+        verify(mailOutboxRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualByComparingTo(MailOutboxStatus.PENDING);
+        verify(mailSendClient, never()).sendMail(anyString(), anyString(), anyString(), anyString());
+        verify(mailSendHistoryRepository, never()).save(any(MailSendHistory.class));
+    }
+}
@@ -0,0 +1,186 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollup;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollupRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.CANCELED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.COMPLETED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.INIT;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.PAYMENY_COMPLETED;
+import static sample.cafekiosk.spring.domain.order.OrderStatus.RECEIVED;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class DailySalesRollupServiceTest {
+
+    @Autowired
+    private DailySalesRollupService dailySalesRollupService;
+
+    @Autowired
+    private OrderLifecycleService orderLifecycleService;
+
+    @Autowired
+    private DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        dailySalesRollupRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("매출 집계가 없는 마감된 날짜는 sum/count 쿼리로 계산해서 저장한다.")
+    @Test
+    void getOrBackfill() {
+        // given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 3000);
+        List<Product> products = List.of(product1, product2);
+        productRepository.saveAll(products);
+
+        createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 4, 23, 59, 59), products);
+        createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 5, 0, 0), products);
+        createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 5, 12, 0), List.of(product1));
+
+        // when
+        DailySalesRollup rollup = dailySalesRollupService.getOrBackfill(LocalDate.of(2023, 3, 5), PAYMENY_COMPLETED);
+
+        // then
+        assertThat(rollup)
+                .extracting("totalAmount", "orderCount")
+                .containsExactly(5000L, 2L);
+        assertThat(dailySalesRollupRepository.findAll()).hasSize(1);
+        assertThat(dailySalesRollupService.getProductSales(LocalDate.of(2023, 3, 5), PAYMENY_COMPLETED))
+                .extracting("productNumber", "quantity", "amount")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2L, 2000L),
+                        tuple("002", 1L, 3000L)
+                );
+    }
+
+    @DisplayName("오늘 날짜는 아직 주문이 쌓이는 중이므로 계산만 하고 저장하지 않는다.")
+    @Test
+    void getOrBackfillToday() {
+        // given
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+        createPaymentCompletedOrder(LocalDateTime.now(), List.of(product));
+
+        // when
+        DailySalesRollup rollup = dailySalesRollupService.getOrBackfill(LocalDate.now(), PAYMENY_COMPLETED);
+
+        // then
+        assertThat(rollup.getTotalAmount()).isEqualTo(1000L);
+        assertThat(dailySalesRollupRepository.findAll()).isEmpty();
+    }
+
+    @DisplayName("결제완료 매출 backfill 은 주문접수/처리완료로 넘어간 주문까지 포함하고, 취소/미결제 주문은 뺀다.")
+    @Test
+    void getOrBackfillWithLaterStatuses() {
+        // given
+        Product product = createProduct("001", 1000);
+        productRepository.save(product);
+
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        createOrder(registeredDateTime, PAYMENY_COMPLETED, List.of(product));
+        createOrder(registeredDateTime, RECEIVED, List.of(product));
+        createOrder(registeredDateTime, COMPLETED, List.of(product));
+        createOrder(registeredDateTime, CANCELED, List.of(product));
+        createOrder(registeredDateTime, INIT, List.of(product));
+
+        // when
+        DailySalesRollup rollup = dailySalesRollupService.getOrBackfill(LocalDate.of(2023, 3, 5), PAYMENY_COMPLETED);
+
+        // then
+        assertThat(rollup)
+                .extracting("totalAmount", "orderCount")
+                .containsExactly(3000L, 3L);
+        assertThat(dailySalesRollupService.getProductSales(LocalDate.of(2023, 3, 5), PAYMENY_COMPLETED))
+                .extracting("productNumber", "quantity", "amount")
+                .containsExactly(tuple("001", 3L, 3000L));
+    }
+
+    @DisplayName("집계 row 가 없는 날짜의 주문을 결제완료 하면 그날 먼저 결제된 주문까지 backfill 하고 누적한다.")
+    @Test
+    void recordWithoutRollup() {
+        // given
+        Product product1 = createProduct("001", 1000);
+        Product product2 = createProduct("002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        createOrder(registeredDateTime, RECEIVED, List.of(product1));
+        Order lateOrder = createOrder(registeredDateTime, INIT, List.of(product1, product2));
+
+        // when
+        orderLifecycleService.changeStatus(lateOrder.getId(), PAYMENY_COMPLETED, null);
+
+        // then
+        assertThat(dailySalesRollupService.getOrBackfill(LocalDate.of(2023, 3, 5), PAYMENY_COMPLETED))
+                .extracting("totalAmount", "orderCount")
+                .containsExactly(5000L, 2L);
+        assertThat(dailySalesRollupService.getProductSales(LocalDate.of(2023, 3, 5), PAYMENY_COMPLETED))
+                .extracting("productNumber", "quantity", "amount")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2L, 2000L),
+                        tuple("002", 1L, 3000L)
+                );
+    }
+
+    private void createPaymentCompletedOrder(LocalDateTime registeredDateTime, List<Product> products) {
+        createOrder(registeredDateTime, PAYMENY_COMPLETED, products);
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus, List<Product> products) {
+        return orderRepository.save(Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build());
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .type(HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
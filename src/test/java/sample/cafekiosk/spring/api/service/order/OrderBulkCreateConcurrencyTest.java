@@ -0,0 +1,112 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.stock.deduction-mode=pessimistic-lock")
+class OrderBulkCreateConcurrencyTest {
+
+    private static final int STOCK_QUANTITY = 100;
+    private static final int BULK_COUNT = 20;
+    private static final int ORDERS_PER_BULK = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @AfterEach
+    void tearDown() {
+        productCache.invalidateAll();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("pessimistic-lock 모드에서 일괄 주문이 동시에 들어와도 등록된 주문 수만큼만 재고가 차감된다.")
+    @Test
+    void createOrdersConcurrently() throws InterruptedException {
+        // given
+        productRepository.save(Product.builder()
+                .productNumber("001")
+                .type(BOTTLE)
+                .sellingStatus(SELLING)
+                .name("병 음료")
+                .price(1000)
+                .build());
+        stockRepository.save(Stock.create("001", STOCK_QUANTITY));
+
+        List<OrderCreateServiceRequest> requests = IntStream.range(0, ORDERS_PER_BULK)
+                .mapToObj(i -> OrderCreateServiceRequest.builder().productNumbers(List.of("001")).build())
+                .collect(Collectors.toList());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(BULK_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(BULK_COUNT);
+        for (int i = 0; i < BULK_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    orderService.createOrders(requests, LocalDateTime.now());
+                } catch (IllegalArgumentException ignored) {
+                    // 스냅샷 이후 재고가 모자라면 일괄 주문 전체가 롤백된다.
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        // when
+        startLatch.countDown();
+        boolean completed = doneLatch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(completed).isTrue();
+        int remainingQuantity = stockRepository.findAll().get(0).getQuantity();
+        assertThat(remainingQuantity).isGreaterThanOrEqualTo(0);
+        assertThat(orderRepository.count()).isEqualTo(STOCK_QUANTITY - remainingQuantity);
+    }
+}
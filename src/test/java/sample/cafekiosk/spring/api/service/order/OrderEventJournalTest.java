@@ -0,0 +1,275 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderLineServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderEventBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderevent.OrderEventType;
+import sample.cafekiosk.spring.domain.orderevent.OrderProjection;
+import sample.cafekiosk.spring.domain.orderevent.OrderSnapshot;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollupRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderEventJournalTest {
+
+    @Autowired
+    private OrderEventJournal orderEventJournal;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderLifecycleService orderLifecycleService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 다른 테스트에서 만든 주문의 이벤트도 journal 에 남아 있으므로 비우고 시작한다.
+    @BeforeEach
+    void setUp() {
+        clearJournal();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productCache.invalidateAll();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        dailySalesRollupRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+        clearJournal();
+    }
+
+    private void clearJournal() {
+        jdbcTemplate.update("delete from order_event");
+        jdbcTemplate.update("delete from order_snapshot");
+        jdbcTemplate.update("delete from order_event_cursor");
+    }
+
+    @DisplayName("주문을 만들고 상태를 바꾸면 주문생성, 재고차감, 상태변경 이벤트가 순서대로 남는다.")
+    @Test
+    void appendOnOrderLifecycle() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct(BOTTLE, "001", 1000),
+                createProduct(HANDMADE, "002", 3000)
+        ));
+        stockRepository.save(Stock.create("001", 5));
+
+        // when
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 2), OrderLineServiceRequest.of("002", 1));
+        orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+
+        // then
+        OrderEventBatchResponse response = orderEventJournal.read(0L, 10);
+        assertThat(response.getEvents())
+                .extracting("orderId", "eventType", "previousStatus", "orderStatus", "totalPrice", "detail")
+                .containsExactly(
+                        tuple(order.getId(), OrderEventType.ORDER_CREATED, null, OrderStatus.INIT, 5000, "001:2:1000,002:1:3000"),
+                        tuple(order.getId(), OrderEventType.STOCK_DEDUCTED, null, null, null, "001:2"),
+                        tuple(order.getId(), OrderEventType.STATUS_CHANGED, OrderStatus.INIT, OrderStatus.PAYMENY_COMPLETED, null, null)
+                );
+        assertThat(response.getNextCursor()).isEqualTo(response.getEvents().get(2).getId());
+    }
+
+    @DisplayName("cursor 다음 이벤트를 size 개씩 이어서 읽는다.")
+    @Test
+    void readWithCursor() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        for (int i = 0; i < 5; i++) {
+            createOrder(OrderLineServiceRequest.of("001", 1));
+        }
+
+        // when
+        OrderEventBatchResponse first = orderEventJournal.read(0L, 2);
+        OrderEventBatchResponse second = orderEventJournal.read(first.getNextCursor(), 2);
+        OrderEventBatchResponse third = orderEventJournal.read(second.getNextCursor(), 2);
+        OrderEventBatchResponse last = orderEventJournal.read(third.getNextCursor(), 2);
+
+        // then
+        assertThat(List.of(first, second, third, last))
+                .extracting(response -> response.getEvents().size())
+                .containsExactly(2, 2, 1, 0);
+        assertThat(last.getNextCursor()).isEqualTo(third.getNextCursor());
+    }
+
+    @DisplayName("한 번에 읽을 수 있는 이벤트 수를 넘으면 예외가 발생한다.")
+    @Test
+    void readOverMaxSize() {
+        // when // then
+        assertThatThrownBy(() -> orderEventJournal.read(0L, 1001))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("한 번에 읽을 수 있는 이벤트는 1 ~ 1000개입니다.");
+    }
+
+    @DisplayName("주문 트랜잭션이 롤백되면 이벤트도 남지 않는다.")
+    @Test
+    void rollback() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            createOrder(OrderLineServiceRequest.of("001", 1));
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(orderEventJournal.read(0L, 10).getEvents()).isEmpty();
+    }
+
+    @DisplayName("트랜잭션 밖에서는 이벤트를 append 할 수 없다.")
+    @Test
+    void appendWithoutTransaction() {
+        // when // then
+        assertThatThrownBy(() -> orderEventJournal.appendStatusChanged(List.of(1L), OrderStatus.INIT, OrderStatus.CANCELED))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @DisplayName("일괄 상태 변경은 실제로 바뀐 주문의 이벤트만 남긴다.")
+    @Test
+    void appendOnBulkChange() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse paid = createOrder(OrderLineServiceRequest.of("001", 1));
+        OrderResponse notPaid = createOrder(OrderLineServiceRequest.of("001", 1));
+        orderLifecycleService.changeStatus(paid.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+
+        // when
+        orderLifecycleService.changeStatuses(List.of(paid.getId(), notPaid.getId()), OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED);
+
+        // then
+        assertThat(orderEventJournal.read(0L, 10).getEvents())
+                .filteredOn(event -> event.getEventType() == OrderEventType.STATUS_CHANGED)
+                .extracting("orderId", "previousStatus", "orderStatus")
+                .containsExactly(
+                        tuple(paid.getId(), OrderStatus.INIT, OrderStatus.PAYMENY_COMPLETED),
+                        tuple(paid.getId(), OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED)
+                );
+    }
+
+    @DisplayName("snapshot 이후 이벤트만 replay 해도 처음부터 replay 한 결과와 같다.")
+    @Test
+    void replayFromSnapshot() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse first = createOrder(OrderLineServiceRequest.of("001", 1));
+        OrderResponse second = createOrder(OrderLineServiceRequest.of("001", 2));
+        orderLifecycleService.changeStatus(first.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+        long snapshotted = orderEventJournal.snapshot();
+
+        orderLifecycleService.changeStatus(first.getId(), OrderStatus.RECEIVED, null);
+        orderLifecycleService.changeStatus(second.getId(), OrderStatus.CANCELED, null);
+
+        // when
+        OrderProjection fromSnapshot = orderEventJournal.replayAll();
+        OrderProjection fromStart = orderEventJournal.replayAllFromStart();
+
+        // then
+        assertThat(snapshotted).isEqualTo(3L);
+        assertThat(fromSnapshot.getAppliedEventCount()).isEqualTo(2L);
+        assertThat(fromStart.getAppliedEventCount()).isEqualTo(5L);
+        assertThat(List.of(fromSnapshot.get(first.getId()), fromSnapshot.get(second.getId())))
+                .extracting("orderStatus", "totalPrice")
+                .containsExactly(
+                        tuple(OrderStatus.RECEIVED, 1000),
+                        tuple(OrderStatus.CANCELED, 2000)
+                );
+        assertThat(fromSnapshot.countByStatus()).isEqualTo(fromStart.countByStatus());
+        assertThat(fromSnapshot.getLastEventId()).isEqualTo(fromStart.getLastEventId());
+    }
+
+    @DisplayName("주문 한 건은 snapshot 과 그 이후 이벤트로 현재 상태를 만든다.")
+    @Test
+    void replayOrder() {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 1));
+        orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+        orderEventJournal.snapshot();
+        orderLifecycleService.changeStatus(order.getId(), OrderStatus.RECEIVED, null);
+
+        // when
+        OrderSnapshot snapshot = orderEventJournal.replay(order.getId());
+
+        // then
+        assertThat(snapshot.getOrderStatus()).isEqualByComparingTo(OrderStatus.RECEIVED);
+        assertThat(snapshot.getLastEventId()).isEqualTo(orderEventJournal.read(0L, 10).getNextCursor());
+    }
+
+    private OrderResponse createOrder(OrderLineServiceRequest... lines) {
+        return orderService.createOrder(OrderCreateServiceRequest.builder()
+                .lines(List.of(lines))
+                .build(), LocalDateTime.now());
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
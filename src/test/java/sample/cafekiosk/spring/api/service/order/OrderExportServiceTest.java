@@ -0,0 +1,145 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+// 페이지 경계를 넘나들도록 페이지 크기를 작게 잡는다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.order.export.page-size=2")
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("기간 내 주문을 등록일시, id 순서로 한 줄에 하나씩 NDJSON 으로 내보낸다. 같은 등록일시의 주문도 페이지 경계에서 빠지거나 중복되지 않는다.")
+    @Test
+    void exportNdjson() throws Exception {
+        // given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        LocalDateTime sameDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        Order order1 = createOrder(sameDateTime, OrderStatus.INIT, List.of(product1));
+        Order order2 = createOrder(sameDateTime, OrderStatus.INIT, List.of(product1, product2));
+        Order order3 = createOrder(sameDateTime, OrderStatus.INIT, List.of(product2));
+        Order order4 = createOrder(LocalDateTime.of(2023, 3, 6, 9, 0), OrderStatus.INIT, List.of(product1));
+        Order order5 = createOrder(LocalDateTime.of(2023, 3, 7, 0, 0), OrderStatus.INIT, List.of(product1));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        orderExportService.export(OrderExportFormat.NDJSON, LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 7), null, out);
+
+        // then
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+
+        assertThat(lines).hasSize(4)
+                .extracting(node -> node.get("id").asLong(), node -> node.get("totalPrice").asInt(), node -> node.get("lines").size())
+                .containsExactly(
+                        tuple(order1.getId(), 1000, 1),
+                        tuple(order2.getId(), 4000, 2),
+                        tuple(order3.getId(), 3000, 1),
+                        tuple(order4.getId(), 1000, 1)
+                );
+        assertThat(lines.get(1).get("lines").get(1).get("productNumber").asText()).isEqualTo("002");
+    }
+
+    @DisplayName("주문 상품 한 줄당 한 행으로 CSV 를 내보낸다. 주문 상태를 지정하면 해당 상태의 주문만 내보낸다.")
+    @Test
+    void exportCsv() {
+        // given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        Order order1 = createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), OrderStatus.PAYMENY_COMPLETED, List.of(product1, product2));
+        createOrder(LocalDateTime.of(2023, 3, 5, 11, 0), OrderStatus.INIT, List.of(product1));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        orderExportService.export(OrderExportFormat.CSV, LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 6), OrderStatus.PAYMENY_COMPLETED, out);
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "orderId,registeredDateTime,orderStatus,totalPrice,productNumber,productName,productPrice,quantity",
+                order1.getId() + ",2023-03-05T10:00,PAYMENY_COMPLETED,4000,001,\"메뉴, 001\",1000,1",
+                order1.getId() + ",2023-03-05T10:00,PAYMENY_COMPLETED,4000,002,\"메뉴, 002\",3000,1"
+        );
+    }
+
+    @DisplayName("내보내기 종료일은 시작일 이후여야 한다.")
+    @Test
+    void exportWithInvalidPeriod() {
+        // when // then
+        assertThatThrownBy(() -> orderExportService.export(OrderExportFormat.CSV, LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 5), null, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("내보내기 종료일은 시작일 이후여야 합니다.");
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus, List<Product> products) {
+        Order order = Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+        return orderRepository.save(order);
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴, " + productNumber)
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderIdempotencyServiceTest {
+
+    private static final int THREAD_COUNT = 16;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @AfterEach
+    void tearDown() {
+        orderIdempotencyService.clearCache();
+        productCache.invalidateAll();
+        orderIdempotencyKeyRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다시 주문하면 처음 만든 주문으로 응답하고 재고는 한 번만 차감한다.")
+    @Test
+    void createOrderTwiceWithSameKey() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 10));
+        OrderCreateServiceRequest request = createRequest("001", "001");
+
+        // when
+        OrderResponse first = orderIdempotencyService.createOrder("key-1", request, LocalDateTime.now());
+        OrderResponse second = orderIdempotencyService.createOrder("key-1", request, LocalDateTime.now());
+
+        // then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll().get(0).getQuantity()).isEqualTo(8);
+    }
+
+    @DisplayName("메모리 캐시에서 밀려난 키는 저장된 키로 처음 만든 주문을 찾아서 응답한다.")
+    @Test
+    void createOrderWithStoredKey() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 10));
+        OrderCreateServiceRequest request = createRequest("001");
+        OrderResponse first = orderIdempotencyService.createOrder("key-1", request, LocalDateTime.now());
+        orderIdempotencyService.clearCache();
+
+        // when
+        OrderResponse second = orderIdempotencyService.createOrder("key-1", request, LocalDateTime.now());
+
+        // then
+        assertThat(second)
+                .extracting("id", "totalPrice")
+                .containsExactly(first.getId(), 1000);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll().get(0).getQuantity()).isEqualTo(9);
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 주문 라인 순서만 바꿔서 다시 보내면 같은 주문으로 응답한다.")
+    @Test
+    void createOrderWithSameKeyAndReorderedLines() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct(BOTTLE, "001", 1000),
+                createProduct(BOTTLE, "002", 2000)
+        ));
+        stockRepository.saveAll(List.of(Stock.create("001", 10), Stock.create("002", 10)));
+        OrderResponse first = orderIdempotencyService.createOrder("key-1", createRequest("001", "002"), LocalDateTime.now());
+
+        // when
+        OrderResponse second = orderIdempotencyService.createOrder("key-1", createRequest("002", "001"), LocalDateTime.now());
+
+        // then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @DisplayName("같은 Idempotency-Key 로 다른 주문 내용을 보내면 예외가 발생한다.")
+    @Test
+    void createOrderWithSameKeyAndDifferentRequest() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct(BOTTLE, "001", 1000),
+                createProduct(BOTTLE, "002", 2000)
+        ));
+        stockRepository.saveAll(List.of(Stock.create("001", 10), Stock.create("002", 10)));
+        orderIdempotencyService.createOrder("key-1", createRequest("001"), LocalDateTime.now());
+
+        // when // then
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder("key-1", createRequest("002"), LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("다른 주문에 이미 사용된 Idempotency-Key 입니다.");
+    }
+
+    @DisplayName("같은 Idempotency-Key 가 여러 스레드에서 동시에 들어와도 주문은 하나만 만들어지고 모두 같은 주문으로 응답한다.")
+    @Test
+    void createOrderConcurrentlyWithSameKey() throws InterruptedException {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 10));
+        OrderCreateServiceRequest request = createRequest("001");
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(THREAD_COUNT);
+        Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    orderIds.add(orderIdempotencyService.createOrder("key-1", request, LocalDateTime.now()).getId());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        // when
+        startLatch.countDown();
+        boolean completed = doneLatch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(completed).isTrue();
+        assertThat(orderIds).hasSize(1);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(orderIdempotencyKeyRepository.count()).isEqualTo(1);
+        assertThat(stockRepository.findAll().get(0).getQuantity()).isEqualTo(9);
+    }
+
+    private OrderCreateServiceRequest createRequest(String... productNumbers) {
+        return OrderCreateServiceRequest.builder()
+                .productNumbers(List.of(productNumbers))
+                .build();
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
@@ -0,0 +1,317 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderLineServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollupRepository;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderLifecycleServiceTest {
+
+    @Autowired
+    private OrderLifecycleService orderLifecycleService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @AfterEach
+    void tearDown() {
+        productCache.invalidateAll();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        dailySalesRollupRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("결제완료된 주문은 주문접수, 처리완료 순으로 바뀌고 바뀔 때마다 version 이 올라간다.")
+    @Test
+    void changeStatus() {
+        //given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 1));
+
+        //when
+        OrderResponse paid = orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, order.getVersion());
+        OrderResponse received = orderLifecycleService.changeStatus(order.getId(), OrderStatus.RECEIVED, null);
+        OrderResponse completed = orderLifecycleService.changeStatus(order.getId(), OrderStatus.COMPLETED, null);
+
+        //then
+        assertThat(List.of(paid, received, completed))
+                .extracting("orderStatus", "version")
+                .containsExactly(
+                        tuple(OrderStatus.PAYMENY_COMPLETED, 1L),
+                        tuple(OrderStatus.RECEIVED, 2L),
+                        tuple(OrderStatus.COMPLETED, 3L)
+                );
+        assertThat(orderRepository.findById(order.getId()).get().getVersion()).isEqualTo(3L);
+    }
+
+    @DisplayName("마지막으로 조회한 version 이 다르면 주문 상태를 바꾸지 않는다.")
+    @Test
+    void changeStatusWithStaleVersion() {
+        //given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 1));
+        orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+
+        //when //then
+        assertThatThrownBy(() -> orderLifecycleService.changeStatus(order.getId(), OrderStatus.CANCELED, order.getVersion()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("다른 요청에서 먼저 변경된 주문입니다. 주문을 다시 조회해주세요.");
+        assertThat(orderRepository.findById(order.getId()).get().getOrderStatus()).isEqualByComparingTo(OrderStatus.PAYMENY_COMPLETED);
+    }
+
+    @DisplayName("주문을 결제완료 하면 일자별 매출 집계에 금액과 상품별 수량이 누적된다.")
+    @Test
+    void changeStatusToPaymentCompleted() {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        productRepository.saveAll(List.of(
+                createProduct(HANDMADE, "001", 1000),
+                createProduct(HANDMADE, "002", 3000)
+        ));
+        OrderResponse order1 = orderService.createOrder(OrderCreateServiceRequest.builder()
+                .lines(List.of(OrderLineServiceRequest.of("001", 2), OrderLineServiceRequest.of("002", 1)))
+                .build(), registeredDateTime);
+        OrderResponse order2 = orderService.createOrder(OrderCreateServiceRequest.builder()
+                .lines(List.of(OrderLineServiceRequest.of("002", 1)))
+                .build(), registeredDateTime);
+
+        //when
+        orderLifecycleService.changeStatus(order1.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+        orderLifecycleService.changeStatus(order2.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+
+        //then
+        assertThat(dailySalesRollupRepository.findBySalesDateAndOrderStatus(LocalDate.of(2023, 3, 5), OrderStatus.PAYMENY_COMPLETED))
+                .get()
+                .extracting("totalAmount", "orderCount")
+                .containsExactly(8000L, 2L);
+        assertThat(dailyProductSalesRepository.findAllBySalesDateAndOrderStatus(LocalDate.of(2023, 3, 5), OrderStatus.PAYMENY_COMPLETED))
+                .extracting("productNumber", "quantity", "amount")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2L, 2000L),
+                        tuple("002", 2L, 6000L)
+                );
+    }
+
+    @DisplayName("이미 결제완료 된 주문은 다시 결제완료 할 수 없다.")
+    @Test
+    void changeStatusToPaymentCompletedTwice() {
+        //given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 1));
+        orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+
+        //when //then
+        assertThatThrownBy(() -> orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("결제완료 상태의 주문은 결제완료 상태로 바꿀 수 없습니다.");
+    }
+
+    @DisplayName("주문을 취소하면 재고 상품의 수량을 되돌린다.")
+    @Test
+    void cancelRestoresStock() {
+        //given
+        productRepository.saveAll(List.of(
+                createProduct(BOTTLE, "001", 1000),
+                createProduct(HANDMADE, "002", 3000)
+        ));
+        stockRepository.save(Stock.create("001", 5));
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 3), OrderLineServiceRequest.of("002", 1));
+
+        //when
+        OrderResponse canceled = orderLifecycleService.changeStatus(order.getId(), OrderStatus.CANCELED, null);
+
+        //then
+        assertThat(canceled.getOrderStatus()).isEqualByComparingTo(OrderStatus.CANCELED);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 5));
+    }
+
+    @DisplayName("결제완료된 주문을 취소하면 일자별 매출 집계에서 누적했던 금액과 수량을 뺀다.")
+    @Test
+    void cancelAfterPayment() {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.of(2023, 3, 5, 10, 0);
+        productRepository.saveAll(List.of(
+                createProduct(HANDMADE, "001", 1000),
+                createProduct(HANDMADE, "002", 3000)
+        ));
+        OrderResponse order1 = orderService.createOrder(OrderCreateServiceRequest.builder()
+                .lines(List.of(OrderLineServiceRequest.of("001", 2)))
+                .build(), registeredDateTime);
+        OrderResponse order2 = orderService.createOrder(OrderCreateServiceRequest.builder()
+                .lines(List.of(OrderLineServiceRequest.of("001", 1), OrderLineServiceRequest.of("002", 1)))
+                .build(), registeredDateTime);
+        orderLifecycleService.changeStatus(order1.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+        orderLifecycleService.changeStatus(order2.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+
+        //when
+        orderLifecycleService.changeStatus(order2.getId(), OrderStatus.CANCELED, null);
+
+        //then
+        assertThat(dailySalesRollupRepository.findBySalesDateAndOrderStatus(LocalDate.of(2023, 3, 5), OrderStatus.PAYMENY_COMPLETED))
+                .get()
+                .extracting("totalAmount", "orderCount")
+                .containsExactly(2000L, 1L);
+        assertThat(dailyProductSalesRepository.findAllBySalesDateAndOrderStatus(LocalDate.of(2023, 3, 5), OrderStatus.PAYMENY_COMPLETED))
+                .extracting("productNumber", "quantity", "amount")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 2L, 2000L),
+                        tuple("002", 0L, 0L)
+                );
+    }
+
+    @DisplayName("주문접수된 주문은 취소할 수 없다.")
+    @Test
+    void cancelAfterReceived() {
+        //given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 1));
+        orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+        orderLifecycleService.changeStatus(order.getId(), OrderStatus.RECEIVED, null);
+
+        //when //then
+        assertThatThrownBy(() -> orderLifecycleService.changeStatus(order.getId(), OrderStatus.CANCELED, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문접수 상태의 주문은 주문취소 상태로 바꿀 수 없습니다.");
+    }
+
+    @DisplayName("일괄 상태 변경은 from 상태인 주문만 바꾸고 version 을 올린다. 다른 상태의 주문은 건너뛴다.")
+    @Test
+    void changeStatuses() {
+        //given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 1));
+            orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+            orderIds.add(order.getId());
+        }
+        OrderResponse unpaid = createOrder(OrderLineServiceRequest.of("001", 1));
+        orderIds.add(unpaid.getId());
+        orderIds.add(orderIds.get(0));
+
+        //when
+        OrderStatusChangeResponse response = orderLifecycleService.changeStatuses(orderIds, OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED);
+
+        //then
+        assertThat(response)
+                .extracting("requestedCount", "changedCount", "skippedCount")
+                .containsExactly(6, 5, 1);
+        assertThat(orderRepository.findAllById(orderIds))
+                .extracting(Order::getId, Order::getOrderStatus, Order::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple(orderIds.get(0), OrderStatus.RECEIVED, 2L),
+                        tuple(orderIds.get(1), OrderStatus.RECEIVED, 2L),
+                        tuple(orderIds.get(2), OrderStatus.RECEIVED, 2L),
+                        tuple(orderIds.get(3), OrderStatus.RECEIVED, 2L),
+                        tuple(orderIds.get(4), OrderStatus.RECEIVED, 2L),
+                        tuple(unpaid.getId(), OrderStatus.INIT, 0L)
+                );
+    }
+
+    @DisplayName("일괄 상태 변경 뒤에는 이전 version 으로 한 건씩 바꿀 수 없다.")
+    @Test
+    void changeStatusAfterBulkChange() {
+        //given
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+        OrderResponse order = createOrder(OrderLineServiceRequest.of("001", 1));
+        OrderResponse paid = orderLifecycleService.changeStatus(order.getId(), OrderStatus.PAYMENY_COMPLETED, null);
+        orderLifecycleService.changeStatuses(List.of(order.getId()), OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED);
+
+        //when //then
+        assertThatThrownBy(() -> orderLifecycleService.changeStatus(order.getId(), OrderStatus.CANCELED, paid.getVersion()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("다른 요청에서 먼저 변경된 주문입니다. 주문을 다시 조회해주세요.");
+    }
+
+    @DisplayName("재고 복구나 매출 집계가 필요한 상태는 일괄로 바꿀 수 없다.")
+    @Test
+    void changeStatusesToCanceled() {
+        //when //then
+        assertThatThrownBy(() -> orderLifecycleService.changeStatuses(List.of(1L), OrderStatus.INIT, OrderStatus.CANCELED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문취소 상태는 주문별로 변경해야 합니다.");
+    }
+
+    @DisplayName("정의되지 않은 전이는 일괄로도 바꿀 수 없다.")
+    @Test
+    void changeStatusesWithIllegalTransition() {
+        //when //then
+        assertThatThrownBy(() -> orderLifecycleService.changeStatuses(List.of(1L), OrderStatus.INIT, OrderStatus.COMPLETED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문생성 상태의 주문은 처리완료 상태로 바꿀 수 없습니다.");
+    }
+
+    private OrderResponse createOrder(OrderLineServiceRequest... lines) {
+        return orderService.createOrder(OrderCreateServiceRequest.builder()
+                .lines(List.of(lines))
+                .build(), LocalDateTime.now());
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.config.QueryCountInspector;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.support.QueryCounter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderServiceQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private QueryCountInspector queryCountInspector;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = QueryCounter.of(queryCountInspector);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 조회할 때 주문 상품 수와 상관없이 쿼리는 1번 실행된다.")
+    @Test
+    void getOrder() {
+        // given
+        List<Product> products = productRepository.saveAll(createProducts(10));
+        Order order = createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), products);
+
+        // when
+        OrderResponse orderResponse = queryCounter.assertQueryCountAtMost(1, () -> orderService.getOrder(order.getId()));
+
+        // then
+        assertThat(orderResponse.getTotalPrice()).isEqualTo(55000);
+        assertThat(orderResponse.getLines()).hasSize(10)
+                .extracting("productNumber")
+                .containsExactlyInAnyOrderElementsOf(products.stream().map(Product::getProductNumber).collect(Collectors.toList()));
+    }
+
+    @DisplayName("일자별 주문을 조회할 때 주문 수, 주문 상품 수와 상관없이 쿼리는 1번 실행되고, 주문은 주문 상품 수만큼 중복되지 않는다.")
+    @Test
+    void getOrders() {
+        // given
+        List<Product> products = productRepository.saveAll(createProducts(5));
+        Order order1 = createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), products);
+        Order order2 = createOrder(LocalDateTime.of(2023, 3, 5, 11, 0), products.subList(0, 2));
+        Order order3 = createOrder(LocalDateTime.of(2023, 3, 5, 23, 59, 59), products.subList(4, 5));
+        createOrder(LocalDateTime.of(2023, 3, 6, 0, 0), products);
+
+        // when
+        List<OrderResponse> orderResponses = queryCounter.assertQueryCountAtMost(1, () -> orderService.getOrders(LocalDate.of(2023, 3, 5)));
+
+        // then
+        assertThat(orderResponses)
+                .extracting(OrderResponse::getId, OrderResponse::getTotalPrice, orderResponse -> orderResponse.getLines().size())
+                .containsExactly(
+                        tuple(order1.getId(), 15000, 5),
+                        tuple(order2.getId(), 3000, 2),
+                        tuple(order3.getId(), 5000, 1)
+                );
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, List<Product> products) {
+        Order order = Order.builder()
+                .products(products)
+                .orderStatus(OrderStatus.INIT)
+                .registeredDateTime(registeredDateTime)
+                .build();
+        return orderRepository.save(order);
+    }
+
+    private List<Product> createProducts(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> createProduct(HANDMADE, String.format("%03d", i), i * 1000))
+                .collect(Collectors.toList());
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
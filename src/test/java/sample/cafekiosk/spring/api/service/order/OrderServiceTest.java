@@ -7,15 +7,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderLineServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBulkCreateResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollupRepository;
 import sample.cafekiosk.spring.domain.stock.Stock;
 import sample.cafekiosk.spring.domain.stock.StockRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -43,12 +50,24 @@ class OrderServiceTest {
     @Autowired
     private OrderProductRepository orderProductRepository;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
     @AfterEach
     void tearDown() {
-        productRepository.deleteAllInBatch();
-        orderRepository.deleteAllInBatch();
+        productCache.invalidateAll();
         orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
         stockRepository.deleteAllInBatch();
+        dailySalesRollupRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
     }
 
     @DisplayName("주문번호 리스트를 받아 주문을 생성한다.")
@@ -73,11 +92,11 @@ class OrderServiceTest {
         assertThat(orderResponse)
                 .extracting("registeredDateTime", "totalPrice")
                 .contains(registeredDateTime, 4000);
-        assertThat(orderResponse.getProducts()).hasSize(2)
-                .extracting("productNumber", "price")
+        assertThat(orderResponse.getLines()).hasSize(2)
+                .extracting("productNumber", "unitPrice", "quantity")
                 .containsExactlyInAnyOrder( //순서 정확하지 않고 포함되어있기만 하면 true
-                        tuple("001", 1000),
-                        tuple("002", 3000)
+                        tuple("001", 1000, 1),
+                        tuple("002", 3000, 1)
                 );
     }
 
@@ -108,13 +127,12 @@ class OrderServiceTest {
         assertThat(orderResponse)
                 .extracting("registeredDateTime", "totalPrice")
                 .contains(registeredDateTime, 10000);
-        assertThat(orderResponse.getProducts()).hasSize(4)
-                .extracting("productNumber", "price")
+        assertThat(orderResponse.getLines()).hasSize(3)
+                .extracting("productNumber", "unitPrice", "quantity", "linePrice")
                 .containsExactlyInAnyOrder( //순서 정확하지 않고 포함되어있기만 하면 true
-                        tuple("001", 1000),
-                        tuple("001", 1000),
-                        tuple("002", 3000),
-                        tuple("003", 5000)
+                        tuple("001", 1000, 2, 2000),
+                        tuple("002", 3000, 1, 3000),
+                        tuple("003", 5000, 1, 5000)
                 );
 
         List<Stock> stocks = stockRepository.findAll();
@@ -176,13 +194,167 @@ class OrderServiceTest {
         assertThat(orderResponse)
                 .extracting("registeredDateTime", "totalPrice")
                 .contains(registeredDateTime, 2000);
-        assertThat(orderResponse.getProducts()).hasSize(2)
-                .extracting("productNumber", "price")
-                .containsExactlyInAnyOrder( //순서 정확하지 않고 포함되어있기만 하면 true
-                        tuple("001", 1000),
-                        tuple("001", 1000)
+        assertThat(orderResponse.getLines()).hasSize(1)
+                .extracting("productNumber", "unitPrice", "quantity", "linePrice")
+                .containsExactly(
+                        tuple("001", 1000, 2, 2000)
+                );
+        assertThat(orderProductRepository.findAll()).hasSize(1);
+
+    }
+
+    @DisplayName("상품번호와 수량으로 주문을 생성하면 주문 상품은 상품별로 한 줄만 저장된다.")
+    @Test
+    void createOrderWithLines() {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        stockRepository.save(Stock.create("001", 10));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .lines(List.of(
+                        OrderLineServiceRequest.of("001", 10),
+                        OrderLineServiceRequest.of("002", 3)
+                ))
+                .build();
+
+        //when
+        OrderResponse orderResponse = orderService.createOrder(request, registeredDateTime);
+
+        //then
+        assertThat(orderResponse.getTotalPrice()).isEqualTo(19000);
+        assertThat(orderResponse.getLines()).hasSize(2)
+                .extracting("productNumber", "unitPrice", "quantity", "linePrice")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 1000, 10, 10000),
+                        tuple("002", 3000, 3, 9000)
                 );
+        assertThat(orderProductRepository.findAll()).hasSize(2);
+        assertThat(stockRepository.findAll()).hasSize(1)
+                .extracting("productNumber", "quantity")
+                .containsExactly(
+                        tuple("001", 0)
+                );
+    }
 
+    @DisplayName("존재하지 않는 상품번호로 주문을 생성하려는 경우 예외가 발생한다.")
+    @Test
+    void createOrderWithUnknownProduct() {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .lines(List.of(
+                        OrderLineServiceRequest.of("001", 1),
+                        OrderLineServiceRequest.of("999", 1)
+                ))
+                .build();
+
+        //when //then
+        assertThatThrownBy(() -> orderService.createOrder(request, registeredDateTime))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("존재하지 않는 상품이 포함되어 있습니다.");
+    }
+
+    @DisplayName("일괄 주문은 주문별로 성공/실패를 기록하고, 성공한 주문의 재고만 한 번에 차감한다.")
+    @Test
+    void createOrders() {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product1 = createProduct(BOTTLE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+        stockRepository.save(Stock.create("001", 2));
+
+        List<OrderCreateServiceRequest> requests = List.of(
+                OrderCreateServiceRequest.builder().productNumbers(List.of("001", "001")).build(),
+                OrderCreateServiceRequest.builder().productNumbers(List.of("001")).build(),
+                OrderCreateServiceRequest.builder().productNumbers(List.of("999")).build(),
+                OrderCreateServiceRequest.builder().productNumbers(List.of("002", "002")).build()
+        );
+
+        //when
+        OrderBulkCreateResponse response = orderService.createOrders(requests, registeredDateTime);
+
+        //then
+        assertThat(response)
+                .extracting("successCount", "failureCount")
+                .containsExactly(2, 2);
+        assertThat(response.getResults())
+                .extracting("index", "success", "message")
+                .containsExactly(
+                        tuple(0, true, null),
+                        tuple(1, false, "재고가 부족한 상품이 있습니다."),
+                        tuple(2, false, "존재하지 않는 상품이 포함되어 있습니다."),
+                        tuple(3, true, null)
+                );
+        assertThat(response.getResults().get(3).getOrder().getTotalPrice()).isEqualTo(6000);
+
+        assertThat(orderRepository.findAll()).hasSize(2);
+        assertThat(orderProductRepository.findAll()).hasSize(4);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    @DisplayName("일괄 주문 중 수량이 0 이하인 주문은 그 주문만 실패로 기록하고 나머지는 등록한다.")
+    @Test
+    void createOrdersWithInvalidQuantity() {
+        //given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+        List<OrderCreateServiceRequest> requests = List.of(
+                OrderCreateServiceRequest.builder().lines(List.of(OrderLineServiceRequest.of("001", 0))).build(),
+                OrderCreateServiceRequest.builder().lines(List.of(OrderLineServiceRequest.of("001", 2))).build()
+        );
+
+        //when
+        OrderBulkCreateResponse response = orderService.createOrders(requests, registeredDateTime);
+
+        //then
+        assertThat(response.getResults())
+                .extracting("index", "success", "message")
+                .containsExactly(
+                        tuple(0, false, "주문 수량은 1개 이상이어야 합니다."),
+                        tuple(1, true, null)
+                );
+        assertThat(orderRepository.findAll()).hasSize(1);
+    }
+
+    @DisplayName("상품 캐시가 채워진 뒤에는 상품을 다시 조회하지 않고 주문을 생성한다.")
+    @Test
+    void createOrderWithWarmProductCache() {
+        //given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        productRepository.saveAll(List.of(product1, product2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "002"))
+                .build();
+
+        orderService.createOrder(request, LocalDateTime.now());
+        long missCount = productCache.getMissCount();
+        long hitCount = productCache.getHitCount();
+
+        //when
+        int warmOrderCount = 3;
+        for (int i = 0; i < warmOrderCount; i++) {
+            orderService.createOrder(request, LocalDateTime.now());
+        }
+
+        //then
+        assertThat(productCache.getMissCount()).isEqualTo(missCount);
+        assertThat(productCache.getHitCount() - hitCount).isGreaterThanOrEqualTo(warmOrderCount * 2L);
     }
 
     private Product createProduct(ProductType type, String productNumber, int price) {
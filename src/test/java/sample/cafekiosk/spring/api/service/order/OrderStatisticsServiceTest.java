@@ -8,9 +8,13 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxWorker;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
@@ -18,6 +22,9 @@ import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollup;
+import sample.cafekiosk.spring.domain.sales.DailySalesRollupRepository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -29,7 +36,8 @@ import static org.mockito.Mockito.*;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
-@SpringBootTest
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.mail.outbox.poll-interval-millis=600000")
 class OrderStatisticsServiceTest {
 
     @Autowired
@@ -47,15 +55,30 @@ class OrderStatisticsServiceTest {
     @Autowired
     private MailSendHistoryRepository mailSendHistoryRepository;
 
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailOutboxWorker mailOutboxWorker;
+
     @MockBean
     private MailSendClient mailSendClient;
 
+    @Autowired
+    private DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
     @AfterEach
     void tearDown() {
+        orderProductRepository.deleteAllInBatch();
         orderRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
-        orderProductRepository.deleteAllInBatch();
         mailSendHistoryRepository.deleteAllInBatch();
+        mailOutboxRepository.deleteAllInBatch();
+        dailySalesRollupRepository.deleteAllInBatch();
+        dailyProductSalesRepository.deleteAllInBatch();
     }
 
     @DisplayName("결제완료 주문들을 조회하여 매출 통계 메일을 전송한다.")
@@ -81,6 +104,7 @@ class OrderStatisticsServiceTest {
 
         // when
         boolean result = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxWorker.drainOnce();
 
         // then
         assertThat(result).isTrue();
@@ -92,6 +116,46 @@ class OrderStatisticsServiceTest {
 
     }
 
+    @DisplayName("매출 통계 메일은 메일 서버를 기다리지 않고 outbox 에 넣기만 한다.")
+    @Test
+    void sendOrderStatisticsMailThroughOutbox() {
+        // when
+        boolean result = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(mailOutboxRepository.findAll())
+                .extracting("toEmail", "content", "status")
+                .containsExactly(tuple("test@test.com", "총 매출 합계는 0원입니다.", MailOutboxStatus.PENDING));
+        verify(mailSendClient, never()).sendMail(any(String.class), any(String.class), any(String.class), any(String.class));
+        assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+    }
+
+    @DisplayName("매출 집계가 있는 날짜는 주문을 읽지 않고 집계 금액으로 매출 통계 메일을 전송한다.")
+    @Test
+    void sendOrderStatisticsMailWithRollup() {
+        // given
+        dailySalesRollupRepository.save(DailySalesRollup.builder()
+                .salesDate(LocalDate.of(2023, 3, 5))
+                .orderStatus(OrderStatus.PAYMENY_COMPLETED)
+                .totalAmount(25000)
+                .orderCount(3)
+                .build());
+
+        when(mailSendClient.sendMail(any(String.class), any(String.class), any(String.class), any(String.class)))
+                .thenReturn(true);
+
+        // when
+        boolean result = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxWorker.drainOnce();
+
+        // then
+        assertThat(result).isTrue();
+        assertThat(mailSendHistoryRepository.findAll()).hasSize(1)
+                .extracting("content")
+                .contains("총 매출 합계는 25000원입니다.");
+    }
+
     private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
         Order order = Order.builder()
                 .products(products)
@@ -0,0 +1,155 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.response.SalesStatisticsResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+// 하루치 주문도 여러 페이지로 나눠 읽도록 페이지 크기를 작게 잡는다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.order.statistics.page-size=2")
+class SalesStatisticsServiceTest {
+
+    @Autowired
+    private SalesStatisticsService salesStatisticsService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("기간 내 주문의 매출 합계, 시간대별 매출, 금액 순 상품별 매출과 상위 상품을 집계한다. 집계 방식과 상관없이 결과가 같다.")
+    @ParameterizedTest
+    @EnumSource(value = SalesAggregationMode.class, names = {"SQL", "PARALLEL"})
+    void getStatistics(SalesAggregationMode mode) {
+        // given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 3000);
+        Product product3 = createProduct(HANDMADE, "003", 500);
+        productRepository.saveAll(List.of(product1, product2, product3));
+
+        createOrder(LocalDateTime.of(2023, 3, 5, 10, 0), OrderStatus.PAYMENY_COMPLETED, List.of(product1, product2));
+        createOrder(LocalDateTime.of(2023, 3, 5, 10, 30), OrderStatus.PAYMENY_COMPLETED, List.of(product1));
+        createOrder(LocalDateTime.of(2023, 3, 5, 10, 45), OrderStatus.PAYMENY_COMPLETED, List.of(product1, product1));
+        createOrder(LocalDateTime.of(2023, 3, 6, 9, 0), OrderStatus.PAYMENY_COMPLETED, List.of(product3));
+        createOrder(LocalDateTime.of(2023, 3, 6, 9, 0), OrderStatus.INIT, List.of(product2));
+        createOrder(LocalDateTime.of(2023, 3, 7, 23, 59), OrderStatus.PAYMENY_COMPLETED, List.of(product2));
+        createOrder(LocalDateTime.of(2023, 3, 8, 0, 0), OrderStatus.PAYMENY_COMPLETED, List.of(product2));
+
+        // when
+        SalesStatisticsResponse response = salesStatisticsService.getStatistics(
+                LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 8), OrderStatus.PAYMENY_COMPLETED, 2, mode);
+
+        // then
+        assertThat(response.getMode()).isEqualByComparingTo(mode);
+        assertThat(response.getTotalAmount()).isEqualTo(10500);
+        assertThat(response.getOrderCount()).isEqualTo(5);
+
+        assertThat(response.getHourlySales()).hasSize(24)
+                .filteredOn(hourlySales -> hourlySales.getOrderCount() > 0)
+                .extracting("hour", "totalAmount", "orderCount")
+                .containsExactly(
+                        tuple(9, 500L, 1L),
+                        tuple(10, 7000L, 3L),
+                        tuple(23, 3000L, 1L)
+                );
+        assertThat(response.getProductSales())
+                .extracting("productNumber", "quantity", "amount")
+                .containsExactly(
+                        tuple("002", 2L, 6000L),
+                        tuple("001", 4L, 4000L),
+                        tuple("003", 1L, 500L)
+                );
+        assertThat(response.getTopProducts())
+                .extracting("productNumber")
+                .containsExactly("002", "001");
+    }
+
+    @DisplayName("집계 방식을 AUTO 로 하면 기간이 짧을 때는 병렬 집계, 길 때는 DB 집계를 한다.")
+    @Test
+    void getStatisticsWithAutoMode() {
+        // when
+        SalesStatisticsResponse shortRange = salesStatisticsService.getStatistics(
+                LocalDate.of(2023, 3, 1), LocalDate.of(2023, 4, 1), OrderStatus.PAYMENY_COMPLETED, 5, SalesAggregationMode.AUTO);
+        SalesStatisticsResponse longRange = salesStatisticsService.getStatistics(
+                LocalDate.of(2023, 3, 1), LocalDate.of(2023, 6, 1), OrderStatus.PAYMENY_COMPLETED, 5, SalesAggregationMode.AUTO);
+
+        // then
+        assertThat(shortRange.getMode()).isEqualByComparingTo(SalesAggregationMode.PARALLEL);
+        assertThat(longRange.getMode()).isEqualByComparingTo(SalesAggregationMode.SQL);
+        assertThat(longRange.getTotalAmount()).isZero();
+        assertThat(longRange.getProductSales()).isEmpty();
+    }
+
+    @DisplayName("통계 종료일은 시작일 이후여야 한다.")
+    @Test
+    void getStatisticsWithInvalidPeriod() {
+        // when // then
+        assertThatThrownBy(() -> salesStatisticsService.getStatistics(
+                LocalDate.of(2023, 3, 5), LocalDate.of(2023, 3, 5), OrderStatus.PAYMENY_COMPLETED, 5, SalesAggregationMode.AUTO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("통계 종료일은 시작일 이후여야 합니다.");
+    }
+
+    @DisplayName("통계 기간은 최대 조회 일수를 넘을 수 없다.")
+    @Test
+    void getStatisticsWithTooLongPeriod() {
+        // when // then
+        assertThatThrownBy(() -> salesStatisticsService.getStatistics(
+                LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 3), OrderStatus.PAYMENY_COMPLETED, 5, SalesAggregationMode.AUTO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("통계 기간은 최대 366일입니다.");
+    }
+
+    private Order createOrder(LocalDateTime registeredDateTime, OrderStatus orderStatus, List<Product> products) {
+        Order order = Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+        return orderRepository.save(order);
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
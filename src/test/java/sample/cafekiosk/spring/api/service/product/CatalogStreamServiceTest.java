@@ -0,0 +1,250 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.response.CatalogChangeResponse;
+import sample.cafekiosk.spring.config.ProductProperties;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 포트에 SSE 클라이언트 여러 개를 붙여서 변경분이 모두 도착하는지 확인한다. (도착 지연은 CatalogStreamFanOutBenchmark)
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CatalogStreamServiceTest {
+
+    private static final int CLIENT_COUNT = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CatalogStreamService catalogStreamService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductProperties productProperties;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<CompletableFuture<?>> connections = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        connections.forEach(connection -> connection.cancel(true));
+        productCache.invalidateAll();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("연결된 키오스크 모두에게 가격 변경분이 전달된다.")
+    @Test
+    void streamToManyClients() throws Exception {
+        // given
+        productRepository.save(createProduct("001", 4000));
+
+        CountDownLatch receivedLatch = new CountDownLatch(CLIENT_COUNT);
+        int subscriberCountBefore = catalogStreamService.getSubscriberCount();
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            connect(null, event -> {
+                if (event.name.equals("PRODUCT") && event.data.contains("\"price\":4500")) {
+                    receivedLatch.countDown();
+                }
+            });
+        }
+        awaitSubscribers(subscriberCountBefore + CLIENT_COUNT);
+
+        // when
+        productService.changePrice("001", 4500);
+        boolean allReceived = receivedLatch.await(30, TimeUnit.SECONDS);
+
+        // then
+        assertThat(allReceived).isTrue();
+    }
+
+    @DisplayName("Last-Event-ID 로 다시 연결하면 그 이후의 변경분부터 받는다.")
+    @Test
+    void resumeWithLastEventId() throws Exception {
+        // given
+        productRepository.save(createProduct("001", 4000));
+        productService.changeSellingStatus("001", ProductSellingStatus.HOLD);
+        String lastEventId = catalogStreamService.getLastEventId();
+        productService.changePrice("001", 4500);
+        productService.changePrice("001", 5000);
+
+        List<SseEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch receivedLatch = new CountDownLatch(2);
+
+        // when
+        connect(lastEventId, event -> {
+            received.add(event);
+            receivedLatch.countDown();
+        });
+
+        // then
+        assertThat(receivedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received)
+                .extracting(event -> event.name)
+                .containsExactly("PRODUCT", "PRODUCT");
+        assertThat(received.get(0).data).contains("\"price\":4500");
+        assertThat(received.get(1).data).contains("\"price\":5000");
+    }
+
+    @DisplayName("이어받을 수 없는 Last-Event-ID 로 연결하면 전체 목록을 다시 받으라는 RESET 을 받는다.")
+    @Test
+    void resumeWithUnknownLastEventId() throws Exception {
+        // given
+        List<SseEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch receivedLatch = new CountDownLatch(1);
+
+        // when
+        connect("restarted:10", event -> {
+            received.add(event);
+            receivedLatch.countDown();
+        });
+
+        // then
+        assertThat(receivedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received.get(0).name).isEqualTo(CatalogStreamService.RESET);
+    }
+
+    @DisplayName("밀린 이벤트가 구독자 큐보다 많은 Last-Event-ID 로 연결하면 끊지 않고 RESET 을 보낸다.")
+    @Test
+    void resumeWithLastEventIdTooFarBehind() throws Exception {
+        // given
+        Product product = productRepository.save(createProduct("001", 4000));
+        String lastEventId = catalogStreamService.getLastEventId();
+        int maxPendingEvents = productProperties.getStream().getMaxPendingEvents();
+        for (int i = 0; i <= maxPendingEvents; i++) {
+            catalogStreamService.publish(CatalogChangeResponse.ofProduct(product, LocalDateTime.now()));
+        }
+
+        List<SseEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch receivedLatch = new CountDownLatch(1);
+        int subscriberCountBefore = catalogStreamService.getSubscriberCount();
+
+        // when
+        connect(lastEventId, event -> {
+            received.add(event);
+            receivedLatch.countDown();
+        });
+
+        // then
+        assertThat(receivedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received)
+                .extracting(event -> event.name)
+                .containsExactly(CatalogStreamService.RESET);
+        awaitSubscribers(subscriberCountBefore + 1);
+    }
+
+    private void connect(String lastEventId, Consumer<SseEvent> listener) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products/stream"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        connections.add(httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.fromLineSubscriber(new SseLineSubscriber(listener))));
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (catalogStreamService.getSubscriberCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(catalogStreamService.getSubscriberCount()).isGreaterThanOrEqualTo(count);
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(price)
+                .build();
+    }
+
+    private static class SseEvent {
+        private final String name;
+        private final String data;
+
+        private SseEvent(String name, String data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    /**
+     * "event:..." / "data:..." 줄을 모았다가 빈 줄에서 이벤트 하나로 넘긴다. (heartbeat 주석 줄은 무시)
+     */
+    private static class SseLineSubscriber implements Flow.Subscriber<String> {
+
+        private final Consumer<SseEvent> listener;
+        private String name = "message";
+        private StringBuilder data = new StringBuilder();
+
+        private SseLineSubscriber(Consumer<SseEvent> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    listener.accept(new SseEvent(name, data.toString()));
+                }
+                name = "message";
+                data = new StringBuilder();
+                return;
+            }
+            if (line.startsWith("event:")) {
+                name = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring("data:".length()));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
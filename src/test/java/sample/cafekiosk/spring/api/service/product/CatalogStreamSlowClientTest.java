@@ -0,0 +1,141 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.response.CatalogChangeResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 읽지 않는 클라이언트가 dispatcher 스레드(1개)를 write 에서 붙잡아도 다른 구독자에게 이벤트가 전달되는지 확인한다.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "cafekiosk.product.stream.dispatcher-threads=1",
+        "cafekiosk.product.stream.max-pending-events=100000",
+        "cafekiosk.product.stream.write-timeout=500ms",
+        "server.tomcat.connection-timeout=2s"
+})
+class CatalogStreamSlowClientTest {
+
+    private static final int LARGE_EVENT_COUNT = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CatalogStreamService catalogStreamService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private CompletableFuture<?> connection;
+    private Socket stalledSocket;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (connection != null) {
+            connection.cancel(true);
+        }
+        if (stalledSocket != null) {
+            stalledSocket.close();
+        }
+    }
+
+    @DisplayName("write 가 writeTimeout 넘게 막힌 구독자는 끊기고, 다른 구독자는 이벤트를 계속 받는다.")
+    @Test
+    void disconnectStalledSubscriber() throws Exception {
+        // given
+        int subscriberCountBefore = catalogStreamService.getSubscriberCount();
+        connectWithoutReading();
+        awaitSubscribers(subscriberCountBefore + 1);
+
+        CountDownLatch receivedLatch = new CountDownLatch(1);
+        connect(line -> {
+            if (line.contains("\"price\":9999")) {
+                receivedLatch.countDown();
+            }
+        });
+        awaitSubscribers(subscriberCountBefore + 2);
+
+        // when
+        // 읽지 않는 클라이언트의 TCP 버퍼를 채워서 dispatcher 스레드를 write 에서 멈춘다.
+        Product largeProduct = createProduct("a".repeat(100_000), 4000);
+        for (int i = 0; i < LARGE_EVENT_COUNT; i++) {
+            catalogStreamService.publish(CatalogChangeResponse.ofProduct(largeProduct, LocalDateTime.now()));
+        }
+
+        // writeTimeout 이 지난 뒤 발행하는 이벤트에서 멈춘 구독자가 끊긴다.
+        Product product = createProduct("아메리카노", 4000);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (catalogStreamService.getSubscriberCount() > subscriberCountBefore + 1 && System.currentTimeMillis() < deadline) {
+            catalogStreamService.publish(CatalogChangeResponse.ofProduct(product, LocalDateTime.now()));
+            Thread.sleep(100);
+        }
+        catalogStreamService.publish(CatalogChangeResponse.ofProduct(createProduct("아메리카노", 9999), LocalDateTime.now()));
+
+        // then
+        assertThat(catalogStreamService.getSubscriberCount()).isEqualTo(subscriberCountBefore + 1);
+        assertThat(receivedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void connectWithoutReading() throws IOException {
+        stalledSocket = new Socket();
+        stalledSocket.setReceiveBufferSize(1024);
+        stalledSocket.connect(new InetSocketAddress("localhost", port));
+
+        OutputStream outputStream = stalledSocket.getOutputStream();
+        outputStream.write(("GET /api/v1/products/stream HTTP/1.1\r\n" +
+                "Host: localhost\r\n" +
+                "Accept: text/event-stream\r\n" +
+                "\r\n").getBytes(StandardCharsets.US_ASCII));
+        outputStream.flush();
+    }
+
+    private void connect(Consumer<String> lineListener) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+        connection = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(lineListener));
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (catalogStreamService.getSubscriberCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(catalogStreamService.getSubscriberCount()).isGreaterThanOrEqualTo(count);
+    }
+
+    private Product createProduct(String name, int price) {
+        return Product.builder()
+                .productNumber("001")
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductChangedEvent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+class ProductCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final List<List<String>> loadedProductNumbers = new ArrayList<>();
+
+    @DisplayName("캐시에 없는 상품번호만 모아서 한 번에 조회하고, 이후에는 캐시에서 꺼낸다.")
+    @Test
+    void getAll() {
+        // given
+        ProductCache productCache = new ProductCache(10, Duration.ofMinutes(10), clock);
+        productCache.getAll(List.of("001"), this::load);
+
+        // when
+        Map<String, Product> products = productCache.getAll(List.of("001", "001", "002"), this::load);
+
+        // then
+        assertThat(products).containsOnlyKeys("001", "002");
+        assertThat(loadedProductNumbers).containsExactly(List.of("001"), List.of("002"));
+        assertThat(productCache.getHitCount()).isEqualTo(1);
+        assertThat(productCache.getMissCount()).isEqualTo(2);
+    }
+
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 상품부터 제거한다.")
+    @Test
+    void evictLeastRecentlyUsed() {
+        // given
+        ProductCache productCache = new ProductCache(2, Duration.ofMinutes(10), clock);
+        productCache.getAll(List.of("001", "002"), this::load);
+        productCache.getAll(List.of("001"), this::load);
+
+        // when
+        productCache.getAll(List.of("003"), this::load);
+        productCache.getAll(List.of("001", "002"), this::load);
+
+        // then
+        assertThat(productCache.getEvictionCount()).isEqualTo(2);
+        assertThat(loadedProductNumbers).containsExactly(List.of("001", "002"), List.of("003"), List.of("002"));
+    }
+
+    @DisplayName("TTL 이 지난 상품은 다시 조회한다.")
+    @Test
+    void expire() {
+        // given
+        ProductCache productCache = new ProductCache(10, Duration.ofMinutes(10), clock);
+        productCache.getAll(List.of("001"), this::load);
+
+        // when
+        clock.advance(Duration.ofMinutes(10));
+        productCache.getAll(List.of("001"), this::load);
+
+        // then
+        assertThat(loadedProductNumbers).containsExactly(List.of("001"), List.of("001"));
+        assertThat(productCache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @DisplayName("상품 변경 이벤트를 받으면 캐시의 상품을 새 상품으로 바꾼다.")
+    @Test
+    void onProductChanged() {
+        // given
+        ProductCache productCache = new ProductCache(10, Duration.ofMinutes(10), clock);
+        productCache.getAll(List.of("001"), this::load);
+
+        // when
+        productCache.onProductChanged(new ProductChangedEvent(createProduct("001", 5000)));
+
+        // then
+        Map<String, Product> products = productCache.getAll(List.of("001"), this::load);
+        assertThat(products.get("001").getPrice()).isEqualTo(5000);
+        assertThat(loadedProductNumbers).hasSize(1);
+    }
+
+    private List<Product> load(List<String> productNumbers) {
+        loadedProductNumbers.add(productNumbers);
+        return productNumbers.stream()
+                .map(productNumber -> createProduct(productNumber, 1000))
+                .collect(Collectors.toList());
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .type(HANDMADE)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2023-06-17T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductNumberAllocatorTest {
+
+    private static final int PRODUCT_COUNT = 500;
+    private static final int THREAD_COUNT = 16;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productCache.invalidateAll();
+        productNumberAllocator.reset();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("여러 스레드에서 동시에 수백 개의 상품을 등록해도 상품번호가 겹치지 않는다.")
+    @Test
+    void createProductsConcurrently() throws InterruptedException {
+        // given
+        Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch doneLatch = new CountDownLatch(PRODUCT_COUNT);
+
+        // when
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    ProductResponse productResponse = productService.createProduct(createRequest());
+                    productNumbers.add(productResponse.getProductNumber());
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        boolean completed = doneLatch.await(120, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(completed).isTrue();
+        assertThat(productNumbers).hasSize(PRODUCT_COUNT);
+        assertThat(productRepository.count()).isEqualTo(PRODUCT_COUNT);
+    }
+
+    @DisplayName("마지막 상품번호 + 1 방식은 동시에 등록하면 상품번호가 겹쳐서 unique 제약조건에 걸린다.")
+    @Test
+    void createProductsConcurrentlyWithLatestProductNumber() throws InterruptedException {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger duplicatedCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch doneLatch = new CountDownLatch(PRODUCT_COUNT);
+
+        // when
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        String latestProductNumber = productRepository.findLatestProductNumber();
+                        int nextProductNumber = latestProductNumber == null ? 1 : Integer.parseInt(latestProductNumber) + 1;
+                        productRepository.save(createRequest().toEntity(String.format("%03d", nextProductNumber)));
+                    });
+                } catch (DataIntegrityViolationException e) {
+                    duplicatedCount.incrementAndGet();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        boolean completed = doneLatch.await(120, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(completed).isTrue();
+        assertThat(productRepository.count() + duplicatedCount.get()).isEqualTo(PRODUCT_COUNT);
+    }
+
+    @DisplayName("상품번호는 마지막 상품번호 다음부터 발급되고, 자리수를 넘으면 그대로 늘어난다.")
+    @Test
+    void allocateAfterLatestProductNumber() {
+        // given
+        productRepository.save(Product.builder()
+                .productNumber("999")
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build());
+
+        // when
+        List<String> productNumbers = List.of(productNumberAllocator.allocate(), productNumberAllocator.allocate());
+
+        // then
+        assertThat(productNumbers).containsExactly("1000", "1001");
+    }
+
+    private ProductCreateServiceRequest createRequest() {
+        return ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+    }
+}
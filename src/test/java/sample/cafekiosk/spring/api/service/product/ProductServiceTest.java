@@ -14,8 +14,10 @@ import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.groups.Tuple.tuple;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
@@ -30,8 +32,16 @@ class ProductServiceTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
     @AfterEach
     void tearDown() {
+        productCache.invalidateAll();
+        productNumberAllocator.reset();
         productRepository.deleteAllInBatch();
     }
 
@@ -97,6 +107,59 @@ class ProductServiceTest {
                 );
     }
 
+    @DisplayName("신규 상품을 등록하면 커밋 이후 상품 캐시에 담긴다.")
+    @Test
+    void createProductPopulatesProductCache() {
+        // given
+        ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build();
+
+        // when
+        ProductResponse productResponse = productService.createProduct(request);
+
+        // then
+        Map<String, Product> cachedProducts = productCache.getAll(List.of(productResponse.getProductNumber()), productNumbers -> List.of());
+        assertThat(cachedProducts.get(productResponse.getProductNumber()))
+                .extracting("name", "price")
+                .contains("카푸치노", 5000);
+    }
+
+    @DisplayName("상품의 판매상태를 변경한다.")
+    @Test
+    void changeSellingStatus() {
+        // given
+        productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+
+        // when
+        ProductResponse productResponse = productService.changeSellingStatus("001", ProductSellingStatus.STOP_SELLING);
+
+        // then
+        assertThat(productResponse.getSellingStatus()).isEqualByComparingTo(ProductSellingStatus.STOP_SELLING);
+        assertThat(productRepository.findByProductNumber("001")).get()
+                .extracting("sellingStatus")
+                .isEqualTo(ProductSellingStatus.STOP_SELLING);
+    }
+
+    @DisplayName("상품의 가격을 변경한다. 가격은 양수여야 한다.")
+    @Test
+    void changePrice() {
+        // given
+        productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+
+        // when
+        ProductResponse productResponse = productService.changePrice("001", 4500);
+
+        // then
+        assertThat(productResponse.getPrice()).isEqualTo(4500);
+        assertThatThrownBy(() -> productService.changePrice("001", 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("상품 가격은 양수여야 합니다.");
+    }
+
     private Product createProduct(String productNumber, ProductType productType, ProductSellingStatus productSellingStatus, String name, int price) {
         return Product.builder()
                 .productNumber(productNumber)
@@ -0,0 +1,152 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.HOLD;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.STOP_SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SellingProductCatalogTest {
+
+    private static final int REQUEST_COUNT = 20;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SellingProductCatalog sellingProductCatalog;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        sellingProductCatalog.invalidate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sellingProductCatalog.invalidate();
+        productCache.invalidateAll();
+        productNumberAllocator.reset();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("판매 상품 목록은 한 번만 DB 에서 읽고, 목록이 같으면 같은 ETag 와 본문을 재사용한다.")
+    @Test
+    void get() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct("001", SELLING, "아메리카노"),
+                createProduct("002", HOLD, "카페라떼"),
+                createProduct("003", STOP_SELLING, "팥빙수")
+        ));
+
+        // when
+        SellingProductSnapshot first = sellingProductCatalog.get();
+        SellingProductSnapshot second = sellingProductCatalog.get();
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(sellingProductCatalog.getRebuildCount()).isEqualTo(1);
+        assertThat(first.getProducts())
+                .extracting("productNumber")
+                .containsExactlyInAnyOrder("001", "002");
+        assertThat(first.matches(first.getEtag())).isTrue();
+        assertThat(first.matches("W/" + first.getEtag())).isTrue();
+    }
+
+    @DisplayName("상품이 등록되면 다음 조회 때 판매 상품 목록을 다시 만들고 ETag 가 바뀐다.")
+    @Test
+    void getAfterProductCreated() {
+        // given
+        productRepository.save(createProduct("001", SELLING, "아메리카노"));
+        SellingProductSnapshot before = sellingProductCatalog.get();
+
+        // when
+        productService.createProduct(ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build());
+        SellingProductSnapshot after = sellingProductCatalog.get();
+
+        // then
+        assertThat(after.getEtag()).isNotEqualTo(before.getEtag());
+        assertThat(after.matches(before.getEtag())).isFalse();
+        assertThat(after.getProducts())
+                .extracting("name")
+                .containsExactlyInAnyOrder("아메리카노", "카푸치노");
+    }
+
+    @DisplayName("키오스크가 반복해서 polling 하면 매번 조회하는 방식은 요청마다 DB 를 읽고, 스냅샷 방식은 한 번만 읽는다.")
+    @Test
+    void queryOnceUnderPolling() throws Exception {
+        // given
+        for (int i = 1; i <= 30; i++) {
+            productRepository.save(createProduct(String.format("%03d", i), SELLING, "메뉴 " + i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        statistics.clear();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            objectMapper.writeValueAsBytes(ApiResponse.ok(productService.getSellingProducts()));
+        }
+        long beforeQueryCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            productService.getSellingProductCatalog().getJson();
+        }
+        long afterQueryCount = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(beforeQueryCount).isEqualTo(REQUEST_COUNT);
+        assertThat(afterQueryCount).isEqualTo(1);
+    }
+
+    private Product createProduct(String productNumber, ProductSellingStatus sellingStatus, String name) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(HANDMADE)
+                .sellingStatus(sellingStatus)
+                .name(name)
+                .price(4000)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.stock.LowStockAlert;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockDeduction;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.mail.outbox.poll-interval-millis=600000")
+class LowStockDigestTest {
+
+    @Autowired
+    private LowStockDigest lowStockDigest;
+
+    @Autowired
+    private StockDeductors stockDeductors;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+        mailOutboxRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("차감으로 재고가 기준 수량 이하가 되면 DETECTED 로 표시된다.")
+    @ParameterizedTest
+    @EnumSource(value = StockDeductionMode.class, names = {"CONDITIONAL_UPDATE", "PESSIMISTIC_LOCK"})
+    void detectOnDeduction(StockDeductionMode mode) {
+        // given
+        stockRepository.saveAll(List.of(
+                createStock("001", 10, 5),
+                createStock("002", 10, 5),
+                createStock("003", 10, null)
+        ));
+
+        // when
+        stockDeductors.get(mode).deduct(Map.of("001", 5, "002", 4, "003", 10));
+
+        // then
+        assertThat(stockRepository.findAll()).hasSize(3)
+                .extracting("productNumber", "quantity", "lowStockAlert")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 5, LowStockAlert.DETECTED),
+                        tuple("002", 6, LowStockAlert.ARMED),
+                        tuple("003", 0, LowStockAlert.ARMED)
+                );
+    }
+
+    @DisplayName("감지된 재고 부족은 주문 수와 상관없이 메일 한 통으로 묶이고, 재입고 전까지 다시 알리지 않는다.")
+    @Test
+    void sendDigest() {
+        // given
+        stockRepository.saveAll(List.of(
+                createStock("001", 10, 5),
+                createStock("002", 10, 5)
+        ));
+        StockDeductor stockDeductor = stockDeductors.get(StockDeductionMode.CONDITIONAL_UPDATE);
+        for (int i = 0; i < 8; i++) {
+            stockDeductor.deduct(Map.of("001", 1, "002", 1));
+        }
+
+        // when
+        int notified = lowStockDigest.send();
+        int notifiedAgain = lowStockDigest.send();
+
+        // then
+        assertThat(notified).isEqualTo(2);
+        assertThat(notifiedAgain).isZero();
+
+        List<MailOutbox> mails = mailOutboxRepository.findAll();
+        assertThat(mails).hasSize(1)
+                .extracting("subject")
+                .containsExactly("[재고부족] 2개 상품");
+        assertThat(mails.get(0).getContent())
+                .isEqualTo("001 : 남은 수량 2 (기준 5)\n002 : 남은 수량 2 (기준 5)");
+        assertThat(stockRepository.findAll())
+                .extracting("lowStockAlert")
+                .containsOnly(LowStockAlert.NOTIFIED);
+    }
+
+    @DisplayName("재입고로 기준 수량을 넘은 재고는 다음 부족 때 다시 알린다.")
+    @Test
+    void rearmAfterRestock() {
+        // given
+        stockRepository.save(createStock("001", 6, 5));
+        StockDeductor stockDeductor = stockDeductors.get(StockDeductionMode.CONDITIONAL_UPDATE);
+        stockDeductor.deduct(Map.of("001", 1));
+        lowStockDigest.send();
+
+        stockRepository.applyDeductions(List.of(new StockDeduction("001", -10))); // 재입고
+        lowStockDigest.send();
+
+        // when
+        stockDeductor.deduct(Map.of("001", 10));
+        int notified = lowStockDigest.send();
+
+        // then
+        assertThat(notified).isEqualTo(1);
+        assertThat(mailOutboxRepository.findAll()).hasSize(2);
+    }
+
+    @DisplayName("다른 서버가 일부 재고를 먼저 claim 했으면 이쪽이 claim 한 재고만 digest 에 담는다.")
+    @Test
+    void claimOnlyUnclaimed() {
+        // given
+        stockRepository.saveAll(List.of(
+                createStock("001", 10, 5),
+                createStock("002", 10, 5)
+        ));
+        stockDeductors.get(StockDeductionMode.CONDITIONAL_UPDATE).deduct(Map.of("001", 6, "002", 6));
+        List<Stock> detected = stockRepository.findAllByLowStockAlertOrderByProductNumber(LowStockAlert.DETECTED);
+        stockRepository.claimLowStockAlert(detected.get(0).getId()); // 다른 서버가 001 을 먼저 가져갔다.
+
+        // when
+        List<Stock> claimed = lowStockDigest.claim(detected);
+
+        // then
+        assertThat(claimed)
+                .extracting("productNumber")
+                .containsExactly("002");
+    }
+
+    private Stock createStock(String productNumber, int quantity, Integer lowWatermark) {
+        return Stock.builder()
+                .productNumber(productNumber)
+                .quantity(quantity)
+                .lowWatermark(lowWatermark)
+                .build();
+    }
+}
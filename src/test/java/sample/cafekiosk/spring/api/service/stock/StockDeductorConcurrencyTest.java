@@ -0,0 +1,84 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class StockDeductorConcurrencyTest {
+
+    private static final int STOCK_QUANTITY = 100;
+    private static final int ORDER_COUNT = 300;
+    private static final int THREAD_COUNT = 32;
+
+    @Autowired
+    private StockDeductors stockDeductors;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("하나의 재고에 수백 건의 주문이 동시에 들어와도 재고보다 많이 팔리지 않는다.")
+    @ParameterizedTest
+    @EnumSource(value = StockDeductionMode.class, names = {"CONDITIONAL_UPDATE", "PESSIMISTIC_LOCK"})
+    void deductConcurrently(StockDeductionMode mode) throws InterruptedException {
+        // given
+        stockRepository.save(Stock.create("001", STOCK_QUANTITY));
+        StockDeductor stockDeductor = stockDeductors.get(mode);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(ORDER_COUNT);
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failCount = new AtomicInteger();
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    startLatch.await();
+                    stockDeductor.deduct(Map.of("001", 1));
+                    successCount.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    failCount.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        // when
+        startLatch.countDown();
+        boolean completed = doneLatch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // then
+        assertThat(completed).isTrue();
+        assertThat(successCount.get()).isEqualTo(STOCK_QUANTITY);
+        assertThat(failCount.get()).isEqualTo(ORDER_COUNT - STOCK_QUANTITY);
+        assertThat(stockRepository.findAll()).hasSize(1)
+                .extracting("quantity")
+                .containsExactly(0);
+    }
+}
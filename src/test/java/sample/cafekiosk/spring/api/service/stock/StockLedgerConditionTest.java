@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class StockLedgerConditionTest {
+
+    @DisplayName("재고 차감 방식은 대소문자 / 구분자와 상관없이 ledger 일 때만 장부를 사용한다.")
+    @ParameterizedTest
+    @CsvSource({"ledger,true", "LEDGER,true", "Ledger,true", "conditional-update,false", "PESSIMISTIC_LOCK,false"})
+    void matches(String deductionMode, boolean expected) {
+        // given
+        ConditionContext context = mock(ConditionContext.class);
+        given(context.getEnvironment()).willReturn(new MockEnvironment().withProperty("cafekiosk.stock.deduction-mode", deductionMode));
+
+        // when
+        boolean matched = new StockLedgerCondition().matches(context, null);
+
+        // then
+        assertThat(matched).isEqualTo(expected);
+    }
+
+    @DisplayName("재고 차감 방식을 설정하지 않으면 장부를 사용하지 않는다.")
+    @Test
+    void matchesWithoutProperty() {
+        // given
+        ConditionContext context = mock(ConditionContext.class);
+        given(context.getEnvironment()).willReturn(new MockEnvironment());
+
+        // when
+        boolean matched = new StockLedgerCondition().matches(context, null);
+
+        // then
+        assertThat(matched).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockLedgerJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("마지막 반영 마커 이후에 기록된 예약만 상품번호별로 합산해서 읽는다.")
+    @Test
+    void readUnflushed() {
+        // given
+        StockLedgerJournal journal = new StockLedgerJournal(tempDir.resolve("stock.journal"), false);
+        long flushedSequence = journal.append(Map.of("001", 2));
+        journal.append(Map.of("001", 1, "002", 3));
+        journal.markFlushed(flushedSequence);
+        journal.append(Map.of("002", -1));
+        journal.close();
+
+        // when
+        Map<String, Integer> unflushed = new StockLedgerJournal(tempDir.resolve("stock.journal"), false).readUnflushed();
+
+        // then
+        assertThat(unflushed).containsOnly(
+                Map.entry("001", 1),
+                Map.entry("002", 2)
+        );
+    }
+
+    @DisplayName("journal 을 다시 열면 마지막 시퀀스 다음 번호부터 기록한다.")
+    @Test
+    void lastSequence() {
+        // given
+        StockLedgerJournal journal = new StockLedgerJournal(tempDir.resolve("stock.journal"), false);
+        journal.append(Map.of("001", 1));
+        journal.append(Map.of("001", 1));
+        journal.close();
+
+        // when
+        long sequence = new StockLedgerJournal(tempDir.resolve("stock.journal"), false).append(Map.of("001", 1));
+
+        // then
+        assertThat(sequence).isEqualTo(3);
+    }
+
+    @DisplayName("모든 예약이 반영된 journal 은 비워진다.")
+    @Test
+    void truncateIfFlushed() {
+        // given
+        StockLedgerJournal journal = new StockLedgerJournal(tempDir.resolve("stock.journal"), false);
+        long sequence = journal.append(Map.of("001", 1));
+
+        // when
+        journal.truncateIfFlushed(sequence);
+
+        // then
+        assertThat(journal.readUnflushed()).isEmpty();
+        assertThat(journal.lastSequence()).isEqualTo(sequence);
+    }
+}
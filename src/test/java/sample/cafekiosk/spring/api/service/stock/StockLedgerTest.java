@@ -0,0 +1,210 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.stock.response.StockReconciliationResponse;
+import sample.cafekiosk.spring.config.StockProperties;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockDeduction;
+import sample.cafekiosk.spring.domain.stock.StockQuantity;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.stock.deduction-mode=ledger",
+        "cafekiosk.stock.ledger.journal-path=build/stock-ledger-test.journal",
+        "cafekiosk.stock.ledger.flush-interval-millis=600000"
+})
+class StockLedgerTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        stockLedger.reload();
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("재고는 장부에서 바로 예약되고, flush 할 때 DB 에 모아서 반영된다.")
+    @Test
+    void deductAndFlush() {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 5)));
+
+        // when
+        stockLedger.deduct(Map.of("001", 2, "002", 1));
+        stockLedger.deduct(Map.of("001", 1));
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(tuple("001", 5), tuple("002", 5));
+
+        stockLedger.flush();
+
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(tuple("001", 2), tuple("002", 4));
+    }
+
+    @DisplayName("재고가 부족한 상품이 하나라도 있으면 예외가 발생하고 어떤 상품도 예약되지 않는다.")
+    @Test
+    void deductWithNoStock() {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 1)));
+
+        // when // then
+        assertThatThrownBy(() -> stockLedger.deduct(Map.of("001", 2, "002", 2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+
+        assertThat(stockLedger.reconcile())
+                .extracting("productNumber", "ledgerQuantity", "matched")
+                .containsExactlyInAnyOrder(tuple("001", 5, true), tuple("002", 1, true));
+    }
+
+    @DisplayName("하나의 재고에 수백 건의 예약이 동시에 들어와도 재고보다 많이 팔리지 않는다.")
+    @Test
+    void deductConcurrently() throws InterruptedException {
+        // given
+        stockRepository.save(Stock.create("001", 100));
+        int orderCount = 300;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(32);
+        CountDownLatch doneLatch = new CountDownLatch(orderCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < orderCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    stockLedger.deduct(Map.of("001", 1));
+                    successCount.incrementAndGet();
+                } catch (IllegalArgumentException ignored) {
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+        boolean completed = doneLatch.await(60, TimeUnit.SECONDS);
+        executorService.shutdown();
+        stockLedger.flush();
+
+        // then
+        assertThat(completed).isTrue();
+        assertThat(successCount.get()).isEqualTo(100);
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(0);
+    }
+
+    @DisplayName("재고 수량은 DB 가 아니라 아직 반영되지 않은 예약까지 빠진 장부 수량으로 조회한다.")
+    @Test
+    void getQuantities() {
+        // given
+        stockRepository.saveAll(List.of(Stock.create("001", 10), Stock.create("002", 5)));
+        stockLedger.deduct(Map.of("001", 3));
+
+        // when
+        List<StockQuantity> quantities = stockLedger.getQuantities(List.of("001", "002"));
+
+        // then
+        assertThat(quantities)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(tuple("001", 7), tuple("002", 5));
+    }
+
+    @DisplayName("장부 밖에서 DB 재고가 바뀌면 resync 후 장부 수량이 DB 수량에 맞춰진다.")
+    @Test
+    void resync() {
+        // given
+        stockRepository.save(Stock.create("001", 10));
+        stockLedger.deduct(Map.of("001", 4));
+
+        // 입고 (장부를 거치지 않고 DB 에 직접 반영)
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                stockRepository.restoreQuantities(List.of(new StockDeduction("001", 5))));
+
+        // when
+        stockLedger.resync();
+
+        // then
+        assertThat(stockLedger.getQuantities(List.of("001")))
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 11));
+        assertThat(stockLedger.reconcile())
+                .extracting("productNumber", "ledgerQuantity", "databaseQuantity", "matched")
+                .containsExactly(tuple("001", 11, 11, true));
+    }
+
+    @DisplayName("재시작 시 journal 에 남아있는 반영되지 않은 예약을 DB 에 반영한다.")
+    @Test
+    void recover() {
+        // given
+        stockRepository.save(Stock.create("001", 10));
+
+        Path journalPath = tempDir.resolve("stock.journal");
+        StockLedgerJournal journal = new StockLedgerJournal(journalPath, false);
+        journal.append(Map.of("001", 3));
+        journal.close();
+
+        StockProperties stockProperties = new StockProperties();
+        stockProperties.getLedger().setJournalPath(journalPath.toString());
+
+        // when
+        StockLedger restartedLedger = new StockLedger(stockRepository, transactionManager, stockProperties);
+        restartedLedger.recover();
+
+        // then
+        assertThat(stockRepository.findAll())
+                .extracting("quantity")
+                .containsExactly(7);
+        assertThat(new StockLedgerJournal(journalPath, false).readUnflushed()).isEmpty();
+    }
+
+    @DisplayName("장부 수량은 DB 수량에서 아직 반영되지 않은 예약 수량을 뺀 값과 같다.")
+    @Test
+    void reconcile() {
+        // given
+        stockRepository.save(Stock.create("001", 10));
+        stockLedger.deduct(Map.of("001", 4));
+
+        // when
+        List<StockReconciliationResponse> reconciliations = stockLedger.reconcile();
+
+        // then
+        assertThat(reconciliations).hasSize(1)
+                .extracting("productNumber", "ledgerQuantity", "databaseQuantity", "pendingQuantity", "matched")
+                .containsExactly(tuple("001", 6, 10, 4, true));
+    }
+}
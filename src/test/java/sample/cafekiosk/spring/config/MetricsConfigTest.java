@@ -0,0 +1,193 @@
+package sample.cafekiosk.spring.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.service.mail.MailService;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+// meter 는 컨텍스트가 살아있는 동안 누적되므로 테스트 전후 차이로 확인한다.
+@AutoConfigureMetrics
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@SpringBootTest
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MailService mailService;
+
+    @MockBean
+    private MailSendClient mailSendClient;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @AfterEach
+    void tearDown() {
+        productCache.invalidateAll();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("주문을 생성하면 단계별 시간과 요청당 쿼리 수가 기록되고, prometheus endpoint 로 노출된다.")
+    @Test
+    void createOrderMetrics() throws Exception {
+        // given
+        productRepository.save(createProduct(HANDMADE, "001", 4000));
+        List<String> phases = List.of("product_lookup", "stock_deduction", "persist", "response_mapping");
+        List<Long> before = phases.stream().map(this::phaseCount).collect(Collectors.toList());
+        long queriesBefore = queryCountSummary().count();
+
+        // when
+        mockMvc.perform(post("/api/v1/orders/new")
+                        .content("{\"productNumbers\":[\"001\"]}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // then
+        for (int i = 0; i < phases.size(); i++) {
+            assertThat(phaseCount(phases.get(i))).isEqualTo(before.get(i) + 1);
+        }
+        DistributionSummary queryCount = queryCountSummary();
+        assertThat(queryCount.count()).isEqualTo(queriesBefore + 1);
+        assertThat(queryCount.max()).isPositive();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cafekiosk_order_create_seconds_bucket")))
+                .andExpect(content().string(containsString("cafekiosk_http_db_queries_count")));
+    }
+
+    @DisplayName("재고가 부족해서 주문이 거절되면 재고 부족 카운터가 증가한다.")
+    @Test
+    void stockShortageMetrics() {
+        // given
+        productRepository.save(createProduct(BOTTLE, "001", 1000));
+        stockRepository.save(Stock.create("001", 0));
+        double before = stockShortageCounter().count();
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> orderService.createOrder(request, LocalDateTime.now()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+        assertThat(stockShortageCounter().count()).isEqualTo(before + 1);
+    }
+
+    @DisplayName("메일 전송 결과별로 전송 시간과 횟수가 기록된다.")
+    @Test
+    void mailSendMetrics() {
+        // given
+        given(mailSendClient.sendMail(anyString(), anyString(), anyString(), anyString()))
+                .willReturn(true, false);
+        long successBefore = mailSendCount("success");
+        long failureBefore = mailSendCount("failure");
+
+        // when
+        mailService.sendMail("from@test.com", "to@test.com", "제목", "내용");
+        mailService.sendMail("from@test.com", "to@test.com", "제목", "내용");
+
+        // then
+        assertThat(mailSendCount("success")).isEqualTo(successBefore + 1);
+        assertThat(mailSendCount("failure")).isEqualTo(failureBefore + 1);
+    }
+
+    private long phaseCount(String phase) {
+        Timer timer = meterRegistry.find("cafekiosk.order.create").tag("phase", phase).timer();
+        assertThat(timer).as("phase=%s timer", phase).isNotNull();
+        return timer.count();
+    }
+
+    private DistributionSummary queryCountSummary() {
+        return meterRegistry.summary("cafekiosk.http.db.queries", "method", "POST", "uri", "/api/v1/orders/new");
+    }
+
+    private Counter stockShortageCounter() {
+        return meterRegistry.counter("cafekiosk.stock.shortage", "source", "order");
+    }
+
+    private long mailSendCount(String result) {
+        Timer timer = meterRegistry.find("cafekiosk.mail.send").tags("channel", "direct", "result", result).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
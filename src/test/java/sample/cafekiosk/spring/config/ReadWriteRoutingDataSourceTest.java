@@ -0,0 +1,208 @@
+package sample.cafekiosk.spring.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductCache;
+import sample.cafekiosk.spring.api.service.product.ProductNumberAllocator;
+import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+// 두 번째 H2 를 replica 로 띄운다. 복제는 없으므로 replica 에만 있는 데이터로 어느 쪽에서 읽었는지 구분한다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.datasource.replica.enabled=true",
+        "cafekiosk.datasource.replica.url=jdbc:h2:mem:cafeKioskReplica;DB_CLOSE_DELAY=-1",
+        "cafekiosk.datasource.replica.username=sa",
+        "cafekiosk.datasource.replica.password=",
+        "cafekiosk.datasource.replica.driver-class-name=org.h2.Driver",
+        "cafekiosk.datasource.replica.migrate=true",
+        "cafekiosk.datasource.replica.max-lag=5s",
+        "cafekiosk.datasource.replica.lag-check-interval-millis=600000"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductNumberAllocator productNumberAllocator;
+
+    @Autowired
+    private ReadWriteRoutingDataSource readWriteRoutingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productCache.invalidateAll();
+        productNumberAllocator.reset();
+        orderIdempotencyService.clearCache();
+        orderIdempotencyKeyRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        replicaJdbcTemplate.update("delete from product");
+    }
+
+    @DisplayName("replica 지연이 허용치 이내이면 readOnly 트랜잭션은 replica 에서 읽는다.")
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        // given
+        productRepository.save(createProduct("001", "아메리카노"));
+        insertIntoReplica("901", "복제된 라떼");
+        replicateHeartbeat(LocalDateTime.now());
+        replicaLagMonitor.check();
+        long replicaCount = readWriteRoutingDataSource.getRoutedCount(DataSourceType.REPLICA);
+
+        // when
+        List<ProductResponse> products = productService.getSellingProducts();
+
+        // then
+        assertThat(readWriteRoutingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(products).extracting("name").containsExactly("복제된 라떼");
+        assertThat(readWriteRoutingDataSource.getRoutedCount(DataSourceType.REPLICA)).isEqualTo(replicaCount + 1);
+    }
+
+    @DisplayName("쓰기 트랜잭션은 replica 가 있어도 primary 로 간다.")
+    @Test
+    void writeTransactionGoesToPrimary() {
+        // given
+        replicateHeartbeat(LocalDateTime.now());
+        replicaLagMonitor.check();
+        long replicaCount = readWriteRoutingDataSource.getRoutedCount(DataSourceType.REPLICA);
+
+        ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name("카푸치노")
+                .price(5000)
+                .build();
+
+        // when
+        productService.createProduct(request);
+
+        // then
+        assertThat(productRepository.findAll()).extracting("name").containsExactly("카푸치노");
+        assertThat(replicaJdbcTemplate.queryForObject("select count(*) from product", Long.class)).isZero();
+        assertThat(readWriteRoutingDataSource.getRoutedCount(DataSourceType.REPLICA)).isEqualTo(replicaCount);
+    }
+
+    @DisplayName("replica 지연이 허용치를 넘으면 readOnly 트랜잭션도 primary 에서 읽는다.")
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhenReplicaLags() {
+        // given
+        productRepository.save(createProduct("001", "아메리카노"));
+        insertIntoReplica("901", "복제된 라떼");
+        replicateHeartbeat(LocalDateTime.now().minusMinutes(1));
+        replicaLagMonitor.check();
+        long fallbackCount = readWriteRoutingDataSource.getFallbackCount();
+
+        // when
+        List<ProductResponse> products = productService.getSellingProducts();
+
+        // then
+        assertThat(readWriteRoutingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(readWriteRoutingDataSource.getReplicaLag()).isGreaterThan(Duration.ofSeconds(5));
+        assertThat(products).extracting("name").containsExactly("아메리카노");
+        assertThat(readWriteRoutingDataSource.getFallbackCount()).isEqualTo(fallbackCount + 1);
+    }
+
+    @DisplayName("Idempotency-Key 로 저장된 주문은 아직 replica 에 없어도 primary 에서 찾아서 응답한다.")
+    @Test
+    void idempotentReplayReadsPrimary() {
+        // given
+        productRepository.save(createProduct("001", "아메리카노"));
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        OrderResponse first = orderIdempotencyService.createOrder("key-1", request, LocalDateTime.now());
+        orderIdempotencyService.clearCache();
+
+        replicateHeartbeat(LocalDateTime.now());
+        replicaLagMonitor.check();
+
+        // when
+        OrderResponse second = orderIdempotencyService.createOrder("key-1", request, LocalDateTime.now());
+
+        // then
+        assertThat(readWriteRoutingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    private void insertIntoReplica(String productNumber, String name) {
+        replicaJdbcTemplate.update("insert into product (product_number, type, selling_status, name, price) values (?, 'HANDMADE', 'SELLING', ?, 4500)",
+                productNumber, name);
+    }
+
+    // 복제가 있다면 primary 의 heartbeat 가 replica 로 넘어온 시각
+    private void replicateHeartbeat(LocalDateTime beatAt) {
+        replicaJdbcTemplate.update("update replication_heartbeat set beat_at = ? where id = 1", Timestamp.valueOf(beatAt));
+    }
+
+    private Product createProduct(String productNumber, String name) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(HANDMADE)
+                .sellingStatus(SELLING)
+                .name(name)
+                .price(4000)
+                .build();
+    }
+}
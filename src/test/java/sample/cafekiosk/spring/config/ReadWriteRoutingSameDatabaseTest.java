@@ -0,0 +1,38 @@
+package sample.cafekiosk.spring.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// replica.url 이 없으면 replica 풀도 primary 와 같은 DB 를 가리킨다. (로컬 설정)
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "cafekiosk.datasource.replica.enabled=true",
+        "cafekiosk.datasource.replica.max-lag=5s",
+        "cafekiosk.datasource.replica.lag-check-interval-millis=600000"
+})
+class ReadWriteRoutingSameDatabaseTest {
+
+    @Autowired
+    private ReadWriteRoutingDataSource readWriteRoutingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @DisplayName("replica.url 이 없으면 primary 에 쓴 heartbeat 를 replica 풀에서 바로 읽으므로 replica 를 계속 사용한다.")
+    @Test
+    void heartbeatAdvancesOnSameDatabase() {
+        // when
+        replicaLagMonitor.check();
+
+        // then
+        assertThat(readWriteRoutingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(readWriteRoutingDataSource.getReplicaLag()).isLessThan(Duration.ofSeconds(5));
+    }
+}
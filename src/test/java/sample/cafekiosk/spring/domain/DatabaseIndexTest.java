@@ -0,0 +1,105 @@
+package sample.cafekiosk.spring.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자주 쓰는 조회 쿼리가 Flyway 로 만든 인덱스를 타는지 H2 EXPLAIN 으로 확인한다.
+ * (인덱스를 타지 못하면 실행 계획에 tableScan 이 찍힌다.)
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+class DatabaseIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DisplayName("상품번호 리스트로 상품을 조회할 때 상품번호 unique 인덱스를 사용한다.")
+    @Test
+    void findProductsByProductNumbers() {
+        // when
+        String plan = explain("select * from product where product_number in ('001', '002')");
+
+        // then
+        assertThat(plan)
+                .containsIgnoringCase("uk_product_product_number")
+                .doesNotContain("tableScan");
+    }
+
+    @DisplayName("상품번호 리스트로 재고를 조회할 때 상품번호 unique 인덱스를 사용한다.")
+    @Test
+    void findStocksByProductNumbers() {
+        // when
+        String plan = explain("select * from stock where product_number in ('001', '002')");
+
+        // then
+        assertThat(plan)
+                .containsIgnoringCase("uk_stock_product_number")
+                .doesNotContain("tableScan");
+    }
+
+    @DisplayName("기간으로 주문을 조회할 때 등록일시 인덱스를 사용한다.")
+    @Test
+    void findOrdersByRegisteredDateTime() {
+        // when
+        String plan = explain("select * from orders " +
+                "where registered_date_time >= timestamp '2023-03-05 00:00:00' " +
+                "and registered_date_time < timestamp '2023-03-06 00:00:00' " +
+                "order by registered_date_time, id");
+
+        // then
+        assertThat(plan)
+                .containsIgnoringCase("idx_orders_registered_date_time")
+                .doesNotContain("tableScan");
+    }
+
+    @DisplayName("매출 통계를 조회할 때 (주문상태, 등록일시) 복합 인덱스를 사용한다.")
+    @Test
+    void sumSalesByOrderStatusAndRegisteredDateTime() {
+        // when
+        String plan = explain("select sum(total_price), count(*) from orders " +
+                "where registered_date_time >= timestamp '2023-03-05 00:00:00' " +
+                "and registered_date_time < timestamp '2023-03-06 00:00:00' " +
+                "and order_status = 'PAYMENY_COMPLETED'");
+
+        // then
+        assertThat(plan)
+                .containsIgnoringCase("idx_orders_order_status_registered_date_time")
+                .doesNotContain("tableScan");
+    }
+
+    @DisplayName("주문 id 리스트로 주문 상품을 조회할 때 주문 id 인덱스를 사용한다.")
+    @Test
+    void findOrderProductsByOrderIds() {
+        // when
+        String plan = explain("select * from order_product where order_id in (1, 2, 3)");
+
+        // then
+        assertThat(plan).doesNotContain("tableScan");
+    }
+
+    @DisplayName("받는 사람과 기간으로 메일 전송 이력을 조회할 때 (받는 사람, 생성일시) 복합 인덱스를 사용한다.")
+    @Test
+    void findMailSendHistoriesByToEmail() {
+        // when
+        String plan = explain("select * from mail_send_history " +
+                "where to_email = 'to@test.com' " +
+                "and created_date_time >= timestamp '2023-03-05 00:00:00' " +
+                "and created_date_time < timestamp '2023-03-06 00:00:00'");
+
+        // then
+        assertThat(plan)
+                .containsIgnoringCase("idx_mail_send_history_to_email")
+                .doesNotContain("tableScan");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+}
@@ -0,0 +1,64 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailOutboxTest {
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    @DisplayName("전송에 실패하면 재시도 간격을 두 배씩 늘려서 다시 전송 대기 상태가 된다.")
+    @Test
+    void markFailedWithBackoff() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+        MailOutbox mailOutbox = MailOutbox.create("from@test.com", "to@test.com", "제목", "내용", now);
+
+        // when
+        mailOutbox.markFailed(now, 5, INITIAL_BACKOFF, MAX_BACKOFF);
+        LocalDateTime firstRetry = mailOutbox.getNextAttemptAt();
+        mailOutbox.markFailed(now, 5, INITIAL_BACKOFF, MAX_BACKOFF);
+        LocalDateTime secondRetry = mailOutbox.getNextAttemptAt();
+        mailOutbox.markFailed(now, 5, INITIAL_BACKOFF, MAX_BACKOFF);
+        LocalDateTime thirdRetry = mailOutbox.getNextAttemptAt();
+
+        // then
+        assertThat(mailOutbox.getStatus()).isEqualByComparingTo(MailOutboxStatus.PENDING);
+        assertThat(mailOutbox.getAttempts()).isEqualTo(3);
+        assertThat(firstRetry).isEqualTo(now.plusSeconds(1));
+        assertThat(secondRetry).isEqualTo(now.plusSeconds(2));
+        assertThat(thirdRetry).isEqualTo(now.plusSeconds(4));
+    }
+
+    @DisplayName("재시도 간격은 최대 간격을 넘지 않는다.")
+    @Test
+    void backoffIsCappedByMaxBackoff() {
+        // when
+        Duration backoff = MailOutbox.backoff(40, INITIAL_BACKOFF, MAX_BACKOFF);
+
+        // then
+        assertThat(backoff).isEqualTo(MAX_BACKOFF);
+    }
+
+    @DisplayName("최대 시도 횟수만큼 실패하면 더 이상 재시도하지 않고 전송 실패 상태가 된다.")
+    @Test
+    void markFailedAfterMaxAttempts() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+        MailOutbox mailOutbox = MailOutbox.create("from@test.com", "to@test.com", "제목", "내용", now);
+
+        // when
+        mailOutbox.markFailed(now, 2, INITIAL_BACKOFF, MAX_BACKOFF);
+        mailOutbox.markFailed(now, 2, INITIAL_BACKOFF, MAX_BACKOFF);
+
+        // then
+        assertThat(mailOutbox.getStatus()).isEqualByComparingTo(MailOutboxStatus.FAILED);
+        assertThat(mailOutbox.getAttempts()).isEqualTo(2);
+    }
+}
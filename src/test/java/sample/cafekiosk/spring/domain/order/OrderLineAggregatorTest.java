@@ -0,0 +1,108 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
+import static sample.cafekiosk.spring.domain.product.ProductType.BAKERY;
+import static sample.cafekiosk.spring.domain.product.ProductType.BOTTLE;
+import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
+
+class OrderLineAggregatorTest {
+
+    @DisplayName("상품 리스트를 한 번 돌면서 총 금액과 재고 상품별 수량을 집계한다.")
+    @Test
+    void aggregate() {
+        // given
+        List<Product> products = List.of(
+                createProduct(BOTTLE, "001", 1000),
+                createProduct(BOTTLE, "001", 1000),
+                createProduct(BAKERY, "002", 3000),
+                createProduct(HANDMADE, "003", 5000)
+        );
+        OrderLineAggregator orderLineAggregator = new OrderLineAggregator();
+
+        // when
+        orderLineAggregator.aggregate(products);
+
+        // then
+        assertThat(orderLineAggregator.getTotalPrice()).isEqualTo(10000);
+        assertThat(orderLineAggregator.getLineCount()).isEqualTo(3);
+        assertThat(orderLineAggregator.getProductAt(0).getProductNumber()).isEqualTo("001");
+        assertThat(orderLineAggregator.getQuantityAt(0)).isEqualTo(2);
+        assertThat(orderLineAggregator.toStockQuantityMap())
+                .containsOnly(entry("001", 2), entry("002", 1));
+        assertThat(orderLineAggregator.getStockQuantity("003")).isZero();
+    }
+
+    @DisplayName("같은 상품을 수량과 함께 여러 번 더하면 한 라인의 수량으로 합친다.")
+    @Test
+    void addWithQuantity() {
+        // given
+        Product americano = createProduct(BOTTLE, "001", 1000);
+        OrderLineAggregator orderLineAggregator = new OrderLineAggregator();
+
+        // when
+        orderLineAggregator.add(americano, 10)
+                .add(createProduct(HANDMADE, "002", 3000), 2)
+                .add(americano, 5);
+
+        // then
+        assertThat(orderLineAggregator.getLineCount()).isEqualTo(2);
+        assertThat(orderLineAggregator.getQuantityAt(0)).isEqualTo(15);
+        assertThat(orderLineAggregator.getQuantityAt(1)).isEqualTo(2);
+        assertThat(orderLineAggregator.getTotalPrice()).isEqualTo(21000);
+        assertThat(orderLineAggregator.toStockQuantityMap())
+                .containsOnly(entry("001", 15));
+    }
+
+    @DisplayName("재사용하면 이전 주문의 집계가 남지 않는다.")
+    @Test
+    void aggregateAfterReuse() {
+        // given
+        OrderLineAggregator orderLineAggregator = new OrderLineAggregator();
+        orderLineAggregator.aggregate(List.of(createProduct(BOTTLE, "001", 1000)));
+
+        // when
+        orderLineAggregator.aggregate(List.of(createProduct(HANDMADE, "002", 3000)));
+
+        // then
+        assertThat(orderLineAggregator.getTotalPrice()).isEqualTo(3000);
+        assertThat(orderLineAggregator.hasStockProducts()).isFalse();
+    }
+
+    @DisplayName("재고 상품 종류가 초기 크기보다 많아도 모두 집계한다.")
+    @Test
+    void aggregateManyStockProducts() {
+        // given
+        List<Product> products = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> createProduct(BAKERY, String.format("%03d", i), 1000))
+                .collect(Collectors.toList());
+        OrderLineAggregator orderLineAggregator = new OrderLineAggregator();
+
+        // when
+        orderLineAggregator.aggregate(products);
+
+        // then
+        assertThat(orderLineAggregator.getStockProductCount()).isEqualTo(20);
+        assertThat(orderLineAggregator.getStockQuantity("020")).isEqualTo(1);
+    }
+
+    private Product createProduct(ProductType type, String productNumber, int price) {
+        return Product.builder()
+                .type(type)
+                .productNumber(productNumber)
+                .price(price)
+                .sellingStatus(SELLING)
+                .name("메뉴 이름")
+                .build();
+    }
+}
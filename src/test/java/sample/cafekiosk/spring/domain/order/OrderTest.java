@@ -2,12 +2,17 @@ package sample.cafekiosk.spring.domain.order;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
 import sample.cafekiosk.spring.domain.product.Product;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static sample.cafekiosk.spring.domain.order.OrderStatus.INIT;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
@@ -30,6 +35,26 @@ class OrderTest {
         assertThat(order.getTotalPrice()).isEqualTo(3000);
     }
 
+    @DisplayName("주문 생성 시 같은 상품은 주문 상품 한 줄의 수량으로 합치고, 주문 시점의 단가를 기록한다.")
+    @Test
+    void collapseDuplicateProducts() {
+        //given
+        Product americano = createProduct("001", 4000);
+        List<Product> products = List.of(americano, americano, americano, createProduct("002", 2000));
+
+        //when
+        Order order = Order.create(products, LocalDateTime.now());
+
+        //then
+        assertThat(order.getTotalPrice()).isEqualTo(14000);
+        assertThat(order.getOrderProducts()).hasSize(2)
+                .extracting(orderProduct -> orderProduct.getProduct().getProductNumber(), OrderProduct::getUnitPrice, OrderProduct::getQuantity)
+                .containsExactly(
+                        tuple("001", 4000, 3),
+                        tuple("002", 2000, 1)
+                );
+    }
+
     @DisplayName("주문 생성 시 주문의 상태는 INIT이다.")
     @Test
     void init() {
@@ -63,6 +88,59 @@ class OrderTest {
         assertThat(order.getRegisteredDateTime()).isEqualTo(registerdDateTime);
     }
 
+    @DisplayName("초기 상태의 주문을 결제완료 하면 주문 상태가 PAYMENY_COMPLETED 가 된다.")
+    @Test
+    void completePayment() {
+        //given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+
+        //when
+        order.completePayment();
+
+        //then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.PAYMENY_COMPLETED);
+    }
+
+    @DisplayName("결제완료된 주문은 주문접수, 처리완료 순으로 상태를 바꿀 수 있다.")
+    @Test
+    void changeStatus() {
+        //given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+        order.completePayment();
+
+        //when
+        order.changeStatus(OrderStatus.RECEIVED);
+        order.changeStatus(OrderStatus.COMPLETED);
+
+        //then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.COMPLETED);
+    }
+
+    @DisplayName("정의되지 않은 상태로 바꾸려고 하면 예외가 발생한다.")
+    @ParameterizedTest
+    @CsvSource({
+            "INIT, RECEIVED",
+            "INIT, COMPLETED",
+            "PAYMENY_COMPLETED, INIT",
+            "RECEIVED, CANCELED",
+            "CANCELED, PAYMENY_COMPLETED",
+            "COMPLETED, CANCELED"
+    })
+    void changeStatusWithIllegalTransition(OrderStatus current, OrderStatus next) {
+        //given
+        Order order = Order.builder()
+                .products(List.of(createProduct("001", 1000)))
+                .orderStatus(current)
+                .registeredDateTime(LocalDateTime.now())
+                .build();
+
+        //when //then
+        assertThatThrownBy(() -> order.changeStatus(next))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage(String.format("%s 상태의 주문은 %s 상태로 바꿀 수 없습니다.", current.getText(), next.getText()));
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(current);
+    }
+
     private Product createProduct(String productNumber, int price) {
         return Product.builder()
                 .type(HANDMADE)
@@ -0,0 +1,88 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderEventRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_event");
+    }
+
+    @DisplayName("두 인스턴스가 번갈아 append 해도 뒤에 id 를 받은 이벤트는 앞 트랜잭션이 커밋된 뒤에 보이므로 cursor 가 건너뛰지 않는다.")
+    @Test
+    void appendFromTwoAllocators() throws Exception {
+        // given
+        OrderEventRepository first = new OrderEventRepository(jdbcTemplate);
+        OrderEventRepository second = new OrderEventRepository(jdbcTemplate);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CountDownLatch appendedLatch = new CountDownLatch(1);
+        CountDownLatch commitLatch = new CountDownLatch(1);
+        CompletableFuture<Long> firstId = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            OrderEvent event = createEvent(1L);
+            first.append(List.of(event));
+            appendedLatch.countDown();
+            await(commitLatch);
+            return event.getId();
+        }));
+        assertThat(appendedLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CompletableFuture<Long> secondId = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            OrderEvent event = createEvent(2L);
+            second.append(List.of(event));
+            return event.getId();
+        }));
+        Thread.sleep(200);
+        boolean secondAppendedBeforeFirstCommit = secondId.isDone();
+        List<OrderEvent> eventsBeforeFirstCommit = first.findAfter(0L, 10);
+
+        commitLatch.countDown();
+
+        // then
+        assertThat(secondAppendedBeforeFirstCommit).isFalse();
+        assertThat(eventsBeforeFirstCommit).isEmpty();
+        assertThat(secondId.get(10, TimeUnit.SECONDS)).isGreaterThan(firstId.get(10, TimeUnit.SECONDS));
+        assertThat(first.findAfter(0L, 10))
+                .extracting("orderId")
+                .containsExactly(1L, 2L);
+    }
+
+    private static OrderEvent createEvent(Long orderId) {
+        return OrderEvent.statusChanged(orderId, OrderStatus.INIT, OrderStatus.CANCELED, LocalDateTime.now());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package sample.cafekiosk.spring.domain.orderevent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderProjectionTest {
+
+    private static final LocalDateTime RECORDED = LocalDateTime.of(2023, 3, 5, 10, 0);
+
+    @DisplayName("주문생성 이후 상태변경 이벤트를 순서대로 반영하면 마지막 상태가 된다.")
+    @Test
+    void apply() {
+        // given
+        OrderProjection projection = new OrderProjection();
+
+        // when
+        projection.apply(created(1L, 10L, 4000));
+        projection.apply(statusChanged(2L, 10L, OrderStatus.INIT, OrderStatus.PAYMENY_COMPLETED));
+        projection.apply(statusChanged(3L, 10L, OrderStatus.PAYMENY_COMPLETED, OrderStatus.RECEIVED));
+
+        // then
+        OrderSnapshot snapshot = projection.get(10L);
+        assertThat(snapshot.getOrderStatus()).isEqualByComparingTo(OrderStatus.RECEIVED);
+        assertThat(snapshot.getTotalPrice()).isEqualTo(4000);
+        assertThat(snapshot.getLastEventId()).isEqualTo(3L);
+        assertThat(projection.getAppliedEventCount()).isEqualTo(3L);
+    }
+
+    @DisplayName("snapshot 에 이미 반영된 이벤트는 다시 반영하지 않는다.")
+    @Test
+    void applyAlreadySnapshotted() {
+        // given
+        OrderProjection projection = new OrderProjection();
+        projection.load(OrderSnapshot.builder()
+                .orderId(10L)
+                .orderStatus(OrderStatus.RECEIVED)
+                .totalPrice(4000)
+                .lastEventId(3L)
+                .build());
+
+        // when
+        projection.apply(statusChanged(2L, 10L, OrderStatus.INIT, OrderStatus.PAYMENY_COMPLETED));
+
+        // then
+        assertThat(projection.get(10L).getOrderStatus()).isEqualByComparingTo(OrderStatus.RECEIVED);
+        assertThat(projection.get(10L).getLastEventId()).isEqualTo(3L);
+    }
+
+    @DisplayName("journal 에 주문생성 이벤트가 없는 주문의 이벤트는 건너뛴다.")
+    @Test
+    void applyWithoutCreated() {
+        // given
+        OrderProjection projection = new OrderProjection();
+
+        // when
+        projection.apply(statusChanged(1L, 10L, OrderStatus.INIT, OrderStatus.CANCELED));
+
+        // then
+        assertThat(projection.getOrderCount()).isZero();
+        assertThat(projection.getLastEventId()).isEqualTo(1L);
+    }
+
+    @DisplayName("주문생성 이벤트가 아니면 snapshot 을 시작할 수 없다.")
+    @Test
+    void snapshotOfNotCreated() {
+        // given
+        OrderEvent event = statusChanged(1L, 10L, OrderStatus.INIT, OrderStatus.CANCELED);
+
+        // when // then
+        assertThatThrownBy(() -> OrderSnapshot.of(event))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("주문생성 이벤트로만 snapshot 을 시작할 수 있습니다.");
+    }
+
+    private OrderEvent created(long id, long orderId, int totalPrice) {
+        return OrderEvent.builder()
+                .id(id)
+                .orderId(orderId)
+                .eventType(OrderEventType.ORDER_CREATED)
+                .orderStatus(OrderStatus.INIT)
+                .totalPrice(totalPrice)
+                .recordedDateTime(RECORDED)
+                .build();
+    }
+
+    private OrderEvent statusChanged(long id, long orderId, OrderStatus previous, OrderStatus next) {
+        return OrderEvent.builder()
+                .id(id)
+                .orderId(orderId)
+                .eventType(OrderEventType.STATUS_CHANGED)
+                .previousStatus(previous)
+                .orderStatus(next)
+                .recordedDateTime(RECORDED)
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.domain.order.HourlySalesSummary;
+import sample.cafekiosk.spring.domain.orderproduct.ProductSalesSummary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class SalesAggregateTest {
+
+    @DisplayName("따로 집계한 두 집계를 합치면 합계, 시간대별, 상품별 매출이 모두 더해진다.")
+    @Test
+    void merge() {
+        // given
+        SalesAggregate day1 = new SalesAggregate();
+        day1.addHourly(new HourlySalesSummary(10, 4000L, 2L));
+        day1.addProduct(new ProductSalesSummary("001", 1L, 1000L));
+        day1.addProduct(new ProductSalesSummary("002", 1L, 3000L));
+
+        SalesAggregate day2 = new SalesAggregate();
+        day2.addHourly(new HourlySalesSummary(10, 1000L, 1L));
+        day2.addHourly(new HourlySalesSummary(23, 6000L, 1L));
+        day2.addProduct(new ProductSalesSummary("001", 4L, 4000L));
+        day2.addProduct(new ProductSalesSummary("002", 1L, 3000L));
+
+        // when
+        SalesAggregate merged = day1.merge(day2);
+
+        // then
+        assertThat(merged.getTotalAmount()).isEqualTo(11000);
+        assertThat(merged.getOrderCount()).isEqualTo(4);
+        assertThat(merged.getHourlyAmount(10)).isEqualTo(5000);
+        assertThat(merged.getHourlyCount(10)).isEqualTo(3);
+        assertThat(merged.getHourlyAmount(23)).isEqualTo(6000);
+        assertThat(merged.getProductSales())
+                .extracting("productNumber", "quantity", "amount")
+                .containsExactly(
+                        tuple("002", 2L, 6000L),
+                        tuple("001", 5L, 5000L)
+                );
+    }
+
+    @DisplayName("상품별 매출은 금액이 같으면 수량이 많은 상품, 수량도 같으면 상품번호 순으로 정렬한다.")
+    @Test
+    void getProductSalesOrder() {
+        // given
+        SalesAggregate aggregate = new SalesAggregate();
+        aggregate.addProduct(new ProductSalesSummary("003", 1L, 3000L));
+        aggregate.addProduct(new ProductSalesSummary("002", 3L, 3000L));
+        aggregate.addProduct(new ProductSalesSummary("001", 1L, 3000L));
+
+        // when // then
+        assertThat(aggregate.getProductSales())
+                .extracting("productNumber")
+                .containsExactly("002", "001", "003");
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import javax.persistence.EntityManager;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -16,6 +17,9 @@ class StockRepositoryTest {
     @Autowired
     private StockRepository stockRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @DisplayName("상품번호 리스트로 재고를 조회한다.")
     @Test
     void findAllByProductNumberIn() {
@@ -38,4 +42,51 @@ class StockRepositoryTest {
                 );
     }
 
-}
\ No newline at end of file
+    @DisplayName("상품번호 리스트로 재고를 조회할 때 상품번호 순으로 락을 걸고 조회한다.")
+    @Test
+    void findAllByProductNumberInForUpdate() {
+        //given
+        Stock stock1 = Stock.create("003", 3);
+        Stock stock2 = Stock.create("001", 1);
+        Stock stock3 = Stock.create("002", 2);
+        stockRepository.saveAll(List.of(stock1, stock2, stock3));
+
+        //when
+        List<Stock> stocks = stockRepository.findAllByProductNumberInForUpdate(List.of("003", "001"));
+
+        //then
+        assertThat(stocks).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactly(
+                        tuple("001", 1),
+                        tuple("003", 3)
+                );
+    }
+
+    @DisplayName("재고가 충분한 상품만 조건부 update 로 차감하고, 상품별 변경된 row 수를 반환한다.")
+    @Test
+    void deductQuantitiesIfSufficient() {
+        //given
+        Stock stock1 = Stock.create("001", 1);
+        Stock stock2 = Stock.create("002", 2);
+        stockRepository.saveAll(List.of(stock1, stock2));
+
+        //when
+        int[] updatedCounts = stockRepository.deductQuantitiesIfSufficient(List.of(
+                new StockDeduction("001", 2),
+                new StockDeduction("002", 2)
+        ));
+
+        //then
+        assertThat(updatedCounts).containsExactly(0, 1);
+
+        entityManager.clear();
+        assertThat(stockRepository.findAll()).hasSize(2)
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 1),
+                        tuple("002", 0)
+                );
+    }
+
+}
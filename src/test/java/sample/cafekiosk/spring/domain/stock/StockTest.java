@@ -49,4 +49,41 @@ class StockTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("차감할 재고 수량이 없습니다.");
     }
-}
\ No newline at end of file
+
+    @DisplayName("차감 후 재고가 기준 수량 이하가 되면 재고 부족을 감지한다.")
+    @Test
+    void detectLowStock() {
+        // given
+        Stock stock = createStock(10, 5);
+
+        // when
+        stock.deductQuantity(5);
+
+        // then
+        assertThat(stock.getLowStockAlert()).isEqualByComparingTo(LowStockAlert.DETECTED);
+    }
+
+    @DisplayName("차감 후에도 재고가 기준 수량보다 많거나 기준 수량이 없으면 재고 부족을 감지하지 않는다.")
+    @Test
+    void detectLowStockAboveWatermark() {
+        // given
+        Stock stock = createStock(10, 5);
+        Stock stockWithoutWatermark = createStock(10, null);
+
+        // when
+        stock.deductQuantity(4);
+        stockWithoutWatermark.deductQuantity(10);
+
+        // then
+        assertThat(stock.getLowStockAlert()).isEqualByComparingTo(LowStockAlert.ARMED);
+        assertThat(stockWithoutWatermark.getLowStockAlert()).isEqualByComparingTo(LowStockAlert.ARMED);
+    }
+
+    private Stock createStock(int quantity, Integer lowWatermark) {
+        return Stock.builder()
+                .productNumber("001")
+                .quantity(quantity)
+                .lowWatermark(lowWatermark)
+                .build();
+    }
+}
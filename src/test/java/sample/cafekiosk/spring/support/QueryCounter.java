@@ -0,0 +1,60 @@
+package sample.cafekiosk.spring.support;
+
+import sample.cafekiosk.spring.config.QueryCountInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * action 을 실행한 스레드에서 Hibernate 가 준비한 SQL 수를 센다. (QueryCountInspector)
+ * 주문 상품 수를 늘려도 쿼리 수가 그대로인지 확인해서 N+1 으로 돌아가는 것을 잡는다.
+ * 스레드별로 세므로 측정하는 동안 스케줄러(메일 outbox, 재고 digest, replica lag 등)가 날리는 쿼리는 섞이지 않는다.
+ */
+public class QueryCounter {
+
+    private final QueryCountInspector queryCountInspector;
+
+    private QueryCounter(QueryCountInspector queryCountInspector) {
+        this.queryCountInspector = queryCountInspector;
+    }
+
+    public static QueryCounter of(QueryCountInspector queryCountInspector) {
+        return new QueryCounter(queryCountInspector);
+    }
+
+    public <T> Counted<T> count(Supplier<T> action) {
+        queryCountInspector.reset();
+        T result = action.get();
+        return new Counted<>(result, queryCountInspector.getCount());
+    }
+
+    /**
+     * action 이 maxQueryCount 보다 많은 쿼리를 실행하면 실패한다. (캐시 등으로 더 적게 실행하는 것은 허용)
+     */
+    public <T> T assertQueryCountAtMost(long maxQueryCount, Supplier<T> action) {
+        Counted<T> counted = count(action);
+        if (counted.getQueryCount() > maxQueryCount) {
+            throw new AssertionError(String.format("쿼리 수가 너무 많습니다. (최대 %d, 실제 %d) N+1 조회가 생겼는지 확인하세요.",
+                    maxQueryCount, counted.getQueryCount()));
+        }
+        return counted.getResult();
+    }
+
+    public static class Counted<T> {
+
+        private final T result;
+        private final long queryCount;
+
+        private Counted(T result, long queryCount) {
+            this.result = result;
+            this.queryCount = queryCount;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        public long getQueryCount() {
+            return queryCount;
+        }
+    }
+}